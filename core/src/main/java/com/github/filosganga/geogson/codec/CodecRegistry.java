@@ -1,20 +1,37 @@
 package com.github.filosganga.geogson.codec;
 
 import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.LazyGeometry;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
 /**
  * A registry of codecs used as façade to convert to and from different geometry systems.
+ *
+ * A geometry is converted by the codec registered for the most specific of its classes: its own class, then its
+ * superclasses, then its interfaces. So a subclass of a registered class, as the JTS LinearRing of a LineString, is
+ * converted by the codec of its superclass unless it has its own. The codec of each class is resolved once, then it
+ * is read from a {@link ClassValue}. A {@link LazyGeometry} is converted as the Geometry it decodes to.
+ *
+ * The codecs registered with their classes, by {@link #addCodec(Class, Class, Codec)}, do not need any reflection.
  */
 public class CodecRegistry<T, S extends Geometry<?>> implements Codec<T, S> {
 
-    private final Map<Type, Codec<T,S>> codecsByS = new ConcurrentHashMap<>();
-    private final Map<Type, Codec<T,S>> codecsByT = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Codec<T,S>> codecsByS = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Codec<T,S>> codecsByT = new ConcurrentHashMap<>();
+
+    // Replaced on each registration, so that the classes are resolved again
+    private volatile ClassValue<Codec<T, S>> dispatchByS = dispatch(codecsByS);
+    private volatile ClassValue<Codec<T, S>> dispatchByT = dispatch(codecsByT);
 
     public CodecRegistry() {
         this(new ArrayList<>());
@@ -26,25 +43,107 @@ public class CodecRegistry<T, S extends Geometry<?>> implements Codec<T, S> {
         }
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Registers the given codec for the classes given by the type arguments of its class, or of its closest generic
+     * superclass. Use {@link #addCodec(Class, Class, Codec)} where the reflection is not available.
+     *
+     * @param codec The codec to register.
+     * @throws IllegalArgumentException if the type arguments of the codec cannot be resolved.
+     */
     public void addCodec(Codec<? extends T, ? extends S> codec) {
 
-        ParameterizedType type = (ParameterizedType) codec.getClass().getGenericSuperclass();
+        Type superclass = checkNotNull(codec, "The codec cannot be null").getClass().getGenericSuperclass();
+        while (!(superclass instanceof ParameterizedType) && superclass instanceof Class && superclass != Object.class) {
+            superclass = ((Class<?>) superclass).getGenericSuperclass();
+        }
+        if (!(superclass instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("The types of the codec cannot be resolved, register it with its classes: " + codec);
+        }
 
-        Type t = type.getActualTypeArguments()[0];
-        Type s = type.getActualTypeArguments()[1];
+        ParameterizedType type = (ParameterizedType) superclass;
+        register(rawClass(type.getActualTypeArguments()[0], codec), rawClass(type.getActualTypeArguments()[1], codec), codec);
+    }
+
+    /**
+     * Registers the given codec for the given classes.
+     *
+     * @param type The class of the geometries of the other geometry system.
+     * @param geometryType The class of the geogson geometries.
+     * @param codec The codec converting them.
+     * @param <A> The type of the geometries of the other geometry system.
+     * @param <B> The type of the geogson geometries.
+     */
+    public <A extends T, B extends S> void addCodec(Class<A> type, Class<B> geometryType, Codec<A, B> codec) {
+        register(checkNotNull(type, "The type cannot be null"),
+                checkNotNull(geometryType, "The geometryType cannot be null"),
+                checkNotNull(codec, "The codec cannot be null"));
+    }
 
+    @SuppressWarnings("unchecked")
+    private synchronized void register(Class<?> t, Class<?> s, Codec<? extends T, ? extends S> codec) {
         codecsByS.put(s, (Codec<T, S>) codec);
         codecsByT.put(t, (Codec<T, S>) codec);
+        dispatchByS = dispatch(codecsByS);
+        dispatchByT = dispatch(codecsByT);
+    }
+
+    private static Class<?> rawClass(Type type, Codec<?, ?> codec) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else {
+            throw new IllegalArgumentException("The types of the codec cannot be resolved, register it with its classes: " + codec);
+        }
+    }
+
+    /**
+     * Resolves the codec of the most specific registered class: the class itself, then its superclasses, then the
+     * interfaces of all of them, breadth first.
+     */
+    private static <T, S extends Geometry<?>> ClassValue<Codec<T, S>> dispatch(Map<Class<?>, Codec<T, S>> codecs) {
+        return new ClassValue<Codec<T, S>>() {
+            @Override
+            protected Codec<T, S> computeValue(Class<?> type) {
+                for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                    Codec<T, S> codec = codecs.get(c);
+                    if (codec != null) {
+                        return codec;
+                    }
+                }
+                Deque<Class<?>> interfaces = new ArrayDeque<>();
+                for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                    Collections.addAll(interfaces, c.getInterfaces());
+                }
+                while (!interfaces.isEmpty()) {
+                    Class<?> c = interfaces.poll();
+                    Codec<T, S> codec = codecs.get(c);
+                    if (codec != null) {
+                        return codec;
+                    }
+                    Collections.addAll(interfaces, c.getInterfaces());
+                }
+                return null;
+            }
+        };
+    }
+
+    private static <C> C checkCodec(C codec, Object src) {
+        if (codec == null) {
+            throw new IllegalArgumentException("No codec registered for: " + src.getClass());
+        }
+        return codec;
     }
 
     @Override
     public S toGeometry(T src) {
-        return codecsByT.get(src.getClass()).toGeometry(src);
+        return checkCodec(dispatchByT.get(src.getClass()), src).toGeometry(src);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public T fromGeometry(S src) {
-        return codecsByS.get(src.getClass()).fromGeometry(src);
+        S geometry = src instanceof LazyGeometry ? (S) ((LazyGeometry<?>) src).geometry() : src;
+        return checkCodec(dispatchByS.get(geometry.getClass()), geometry).fromGeometry(geometry);
     }
 }
@@ -0,0 +1,58 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Gson TypeAdapter to serialize/de-serialize {@link BoundingBox} instances. The altitudes of a three
+ * dimensional bbox are ignored.
+ */
+public final class BoundingBoxAdapter extends TypeAdapter<BoundingBox> {
+
+    public static final String BBOX_NAME = "bbox";
+
+    @Override
+    public void write(JsonWriter out, BoundingBox value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            out.value(value.minLon());
+            out.value(value.minLat());
+            out.value(value.maxLon());
+            out.value(value.maxLat());
+            out.endArray();
+        }
+    }
+
+    @Override
+    public BoundingBox read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            throw new IllegalArgumentException("The given json is not a valid bbox: " + in.peek());
+        }
+
+        List<Double> values = new ArrayList<>(6);
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(in.nextDouble());
+        }
+        in.endArray();
+
+        int dimensions = values.size() / 2;
+        if (dimensions < 2 || values.size() % 2 != 0) {
+            throw new IllegalArgumentException("The given json is not a valid bbox, it has " + values.size() + " values");
+        }
+
+        return BoundingBox.of(values.get(0), values.get(1), values.get(dimensions), values.get(dimensions + 1));
+    }
+}
@@ -1,18 +1,25 @@
 package com.github.filosganga.geogson.gson;
 
+import com.github.filosganga.geogson.model.BoundingBox;
 import com.github.filosganga.geogson.model.Feature;
 import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.PropertyShape;
+import com.github.filosganga.geogson.model.PropertyValues;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -31,24 +38,84 @@ public final class FeatureAdapter extends TypeAdapter<Feature> {
 
     private final Gson gson;
     private final TypeAdapter<Geometry> geometryAdapter;
+    private final boolean lazyProperties;
+    private final Set<String> propertyNames;
+    private final boolean skipGeometry;
+    private final BoundingBox boundingBoxFilter;
+    private final boolean rawPassthrough;
+    private final boolean rawJsonWritten;
+
+    private final GeometryAdapterFactory options;
 
     public FeatureAdapter(Gson gson) {
+        this(gson, new GeometryAdapterFactory());
+    }
+
+    FeatureAdapter(Gson gson, GeometryAdapterFactory options) {
 
         this.gson = gson;
         this.geometryAdapter = gson.getAdapter(Geometry.class);
+        this.lazyProperties = options.isLazyProperties();
+        this.propertyNames = options.getPropertyNames();
+        this.skipGeometry = options.isSkipGeometry();
+        this.boundingBoxFilter = options.getBoundingBoxFilter();
+        this.rawPassthrough = options.isRawPassthrough();
+        this.rawJsonWritten = options.isRawJsonWritten();
+        this.options = options;
+    }
+
+    /**
+     * A new dictionary for the string property values of a read session, null if they are not looked up in one.
+     */
+    StringDictionary newStringDictionary() {
+        return options.newStringDictionary();
+    }
+
+    /**
+     * A new root for the shapes of the properties of a read session: the Features with the same properties names
+     * share them.
+     */
+    PropertyShape newPropertyShapes() {
+        return PropertyShape.newRoot();
+    }
+
+    /**
+     * The BoundingBox the features of a FeatureCollection have to intersect, null to read all of them.
+     */
+    BoundingBox getBoundingBoxFilter() {
+        return boundingBoxFilter;
     }
 
     @Override
     public void write(JsonWriter out, Feature value) throws IOException {
+        write(out, value, null);
+    }
+
+    /**
+     * Writes a Feature with the given properties in place of its own. Each property value is written by the Gson
+     * TypeAdapter of its class straight to the JsonWriter, without building a JsonElement tree.
+     *
+     * @param out The JsonWriter to write to.
+     * @param value The Feature to write.
+     * @param properties The properties to write, null to write the Feature ones.
+     */
+    void write(JsonWriter out, Feature value, Map<String, ?> properties) throws IOException {
         if (value == null) {
             out.nullValue();
+        } else if (properties == null && rawJsonWritten && value.rawJson().isPresent()) {
+            RawJson.write(out, value.rawJson().get());
         } else {
             out.beginObject();
             if(value.id().isPresent()) {
                 out.name(ID_NAME).value(value.id().get());
             }
             out.name(TYPE_NAME).value(FEATURE_TYPE);
-            writeProperties(out, value);
+            out.name(PROPERTIES_NAME);
+            if (properties == null) {
+                writeProperties(out, value);
+            } else {
+                writeProperties(out, properties);
+            }
             writeGeometry(out, value);
             out.endObject();
         }
@@ -60,64 +127,241 @@ public final class FeatureAdapter extends TypeAdapter<Feature> {
     }
 
     private void writeProperties(JsonWriter out, Feature value) throws IOException {
-        out.name(PROPERTIES_NAME);
-        out.beginObject();
-        for(String key : value.properties().keySet()) {
-            out.name(key);
-            JsonElement propertyValue = gson.toJsonTree(value.properties().get(key));
-            gson.toJson(propertyValue, out);
+        Optional<String> rawProperties = value.rawProperties();
+        if (rawProperties.isPresent()) {
+            RawJson.write(out, rawProperties.get());
+        } else {
+            writeProperties(out, value.properties());
+        }
+    }
+
+    private void writeProperties(JsonWriter out, Map<String, ?> properties) throws IOException {
+        boolean lenient = out.isLenient();
+        boolean htmlSafe = out.isHtmlSafe();
+        boolean serializeNulls = out.getSerializeNulls();
+        setGsonSettings(out);
+        try {
+            out.beginObject();
+            for (Map.Entry<String, ?> property : properties.entrySet()) {
+                out.name(property.getKey());
+                writeObject(out, property.getValue());
+            }
+            out.endObject();
+        } finally {
+            out.setLenient(lenient);
+            out.setHtmlSafe(htmlSafe);
+            out.setSerializeNulls(serializeNulls);
+        }
+    }
+
+    /**
+     * Applies the settings Gson applies writing a value, the properties are written as Gson would write them.
+     */
+    private void setGsonSettings(JsonWriter out) {
+        out.setLenient(true);
+        out.setHtmlSafe(gson.htmlSafe());
+        out.setSerializeNulls(gson.serializeNulls());
+    }
+
+    private static void writeElement(JsonWriter out, JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            out.nullValue();
+        } else if (element.isJsonObject()) {
+            out.beginObject();
+            for (Map.Entry<String, JsonElement> member : element.getAsJsonObject().entrySet()) {
+                out.name(member.getKey());
+                writeElement(out, member.getValue());
+            }
+            out.endObject();
+        } else if (element.isJsonArray()) {
+            out.beginArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                writeElement(out, item);
+            }
+            out.endArray();
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isNumber()) {
+                out.value(primitive.getAsNumber());
+            } else if (primitive.isBoolean()) {
+                out.value(primitive.getAsBoolean());
+            } else {
+                out.value(primitive.getAsString());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeObject(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof String) {
+            out.value((String) value);
+        } else if (value instanceof Boolean) {
+            out.value((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            out.value(((Number) value).longValue());
+        } else if (value instanceof JsonElement) {
+            writeElement(out, (JsonElement) value);
+        } else {
+            ((TypeAdapter<Object>) gson.getAdapter(value.getClass())).write(out, value);
         }
-        out.endObject();
     }
 
     @Override
     public Feature read(JsonReader in) throws IOException {
+        return read(in, null, null, newPropertyShapes());
+    }
+
+    /**
+     * Reads a Feature, rejecting it as soon as it is known not to intersect the given filter: by its bbox, if it
+     * comes before the geometry, otherwise by the coordinates of its geometry. The remaining members of a rejected
+     * Feature are skipped without being parsed.
+     *
+     * @param in The JsonReader positioned on the Feature.
+     * @param filter The BoundingBox the Feature has to intersect, null to accept any Feature.
+     * @param dictionary The dictionary of the read session to look the string property values up, or null.
+     * @param shapes The root of the properties shapes of the read session.
+     * @return the Feature, or null if it does not intersect the filter.
+     */
+    Feature read(JsonReader in, BoundingBox filter, StringDictionary dictionary, PropertyShape shapes) throws IOException {
         Feature.Builder builder = Feature.builder();
+        if (skipGeometry) {
+            builder.withoutGeometry();
+        }
+        boolean rejected = false;
         if (in.peek() == JsonToken.NULL) {
             in.nextNull();
         } else if (in.peek() == JsonToken.BEGIN_OBJECT) {
             in.beginObject();
 
+            // The json text of each member is captured while the member is read
+            StringWriter rawJson = null;
+            JsonWriter raw = null;
+            if (rawPassthrough) {
+                rawJson = new StringWriter();
+                raw = new JsonWriter(rawJson);
+                raw.setLenient(true);
+                raw.beginObject();
+            }
+
+            boolean geometryRead = false;
             while (in.hasNext()) {
                 String name = in.nextName();
+                if (rejected) {
+                    in.skipValue();
+                    continue;
+                }
+
+                JsonReader member = in;
+                StringWriter memberJson = null;
+                if (raw != null) {
+                    memberJson = new StringWriter();
+                    member = RawJson.tee(in, memberJson);
+                }
+
                 if (TYPE_NAME.equals(name)) {
-                    String value = in.nextString();
+                    String value = member.nextString();
                     if(!value.equalsIgnoreCase(FEATURE_TYPE)) {
                         throw new IllegalArgumentException("The given json is not a valid Feature, the type must be Feature, current type=" + value);
                     }
                 } else if (PROPERTIES_NAME.equals(name)) {
-                    readProperties(in, builder);
+                    readProperties(member, builder, dictionary, shapes);
                 } else if (GEOMETRY_NAME.equals(name)) {
-                    builder.withGeometry(gson.fromJson(in, Geometry.class));
+                    geometryRead = true;
+                    if (skipGeometry) {
+                        member.skipValue();
+                    } else {
+                        Geometry<?> geometry = readGeometry(member, filter);
+                        rejected = filter != null && geometry == null;
+                        builder.withGeometry(geometry != null && memberJson != null ? geometry.withRawJson(memberJson.toString()) : geometry);
+                    }
+                } else if (BoundingBoxAdapter.BBOX_NAME.equals(name) && filter != null && !geometryRead) {
+                    BoundingBox bbox = gson.getAdapter(BoundingBox.class).read(member);
+                    rejected = bbox != null && !bbox.intersects(filter);
                 } else if (ID_NAME.equals(name)) {
-                    builder.withId(Optional.ofNullable(in.nextString()));
+                    builder.withId(Optional.ofNullable(member.nextString()));
                 } else {
                     // Skip unknown value.
-                    in.skipValue();
+                    member.skipValue();
+                }
+
+                if (memberJson != null) {
+                    raw.name(name).jsonValue(memberJson.toString());
                 }
             }
 
             in.endObject();
 
+            // The json text is the one of the Feature only if nothing has been skipped
+            if (raw != null && propertyNames == null && !skipGeometry) {
+                raw.endObject();
+                raw.flush();
+                builder.withRawJson(rawJson.toString());
+            }
+
         } else {
             throw new IllegalArgumentException("The given json is not a valid Feature: " + in.peek());
         }
 
-        return builder.build();
+        return rejected ? null : builder.build();
+    }
+
+    private Geometry<?> readGeometry(JsonReader in, BoundingBox filter) throws IOException {
+        if (geometryAdapter instanceof GeometryAdapterFactory.GeometryAdapter) {
+            // The json text of the geometry, if needed, is captured with the one of the Feature
+            return ((GeometryAdapterFactory.GeometryAdapter) geometryAdapter).read(in, filter);
+        } else {
+            Geometry<?> geometry = geometryAdapter.read(in);
+            return filter == null || BoundingBox.builder().add(geometry).intersects(filter) ? geometry : null;
+        }
     }
 
-    private void readProperties(JsonReader in, Feature.Builder builder) throws IOException {
+    private void readProperties(JsonReader in, Feature.Builder builder, StringDictionary dictionary, PropertyShape shapes) throws IOException {
         if(in.peek() == JsonToken.NULL) {
             in.nextNull();
             builder.withProperties(Collections.emptyMap());
+        } else if (propertyNames != null && propertyNames.isEmpty()) {
+            in.skipValue();
+        } else if (lazyProperties) {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new IllegalArgumentException("The given json is not a valid Feature, the properties must be an object: " + in.peek());
+            }
+            builder.withRawProperties(propertyNames == null ? RawJson.read(in) : RawJson.readObject(in, propertyNames));
         } else {
+            PropertyShape.Builder shape = shapes.builder();
+            PropertyValues values = new PropertyValues();
             in.beginObject();
             while (in.hasNext()) {
                 String name = in.nextName();
-                JsonElement value = jsonParser.parse(in);
-                builder.withProperty(name, value);
+                if (propertyNames == null || propertyNames.contains(name)) {
+                    readPropertyValue(in, values, shape.add(name), dictionary);
+                } else {
+                    in.skipValue();
+                }
             }
             in.endObject();
+            builder.withProperties(shape.build(), values);
+        }
+    }
+
+    /**
+     * Reads a property value, keeping the numbers and the booleans as primitives.
+     */
+    private static void readPropertyValue(JsonReader in, PropertyValues values, int index, StringDictionary dictionary) throws IOException {
+        switch (in.peek()) {
+            case NUMBER:
+                values.setNumber(index, in.nextString());
+                break;
+            case BOOLEAN:
+                values.setBoolean(index, in.nextBoolean());
+                break;
+            case STRING:
+                String value = in.nextString();
+                values.set(index, dictionary != null ? dictionary.primitive(value) : new JsonPrimitive(value));
+                break;
+            default:
+                values.set(index, jsonParser.parse(in));
         }
     }
 
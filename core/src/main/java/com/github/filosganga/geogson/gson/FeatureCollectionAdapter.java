@@ -9,7 +9,8 @@ import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -17,11 +18,9 @@ import java.util.LinkedList;
  */
 public final class FeatureCollectionAdapter extends TypeAdapter<FeatureCollection> {
 
-    private final Gson gson;
     private final TypeAdapter<Feature> featureAdapter;
 
     public FeatureCollectionAdapter(Gson gson) {
-        this.gson = gson;
         this.featureAdapter = gson.getAdapter(Feature.class);
     }
 
@@ -30,15 +29,9 @@ public final class FeatureCollectionAdapter extends TypeAdapter<FeatureCollectio
         if (value == null) {
             out.nullValue();
         } else {
-            out.beginObject();
-            out.name("type").value("FeatureCollection");
-            out.name("features");
-            out.beginArray();
-            for(Feature feature : value.features()) {
-                featureAdapter.write(out, feature);
-            }
-            out.endArray();
-            out.endObject();
+            FeatureCollectionWriter writer = new FeatureCollectionWriter(featureAdapter, out);
+            writer.writeAll(value.features());
+            writer.finish();
         }
     }
 
@@ -49,30 +42,13 @@ public final class FeatureCollectionAdapter extends TypeAdapter<FeatureCollectio
         if (in.peek() == JsonToken.NULL) {
             in.nextNull();
         } else if (in.peek() == JsonToken.BEGIN_OBJECT) {
-            in.beginObject();
-            LinkedList<Feature> features = null;
-
-            while (in.hasNext()) {
-                String name = in.nextName();
-                if ("features".equalsIgnoreCase(name)) {
-                    in.beginArray();
-                    features = new LinkedList<>();
-                    while(in.peek() == JsonToken.BEGIN_OBJECT) {
-                        Feature feature = gson.fromJson(in, Feature.class);
-                        features.add(feature);
-                    }
-                    in.endArray();
-                } else {
-                    in.skipValue();
-                }
-            }
-
-            if (features == null) {
-                throw new IllegalArgumentException("Required field 'features' is missing");
+            FeatureCollectionReader reader = new FeatureCollectionReader(featureAdapter, in);
+            List<Feature> features = new ArrayList<>();
+            while (reader.fetch()) {
+                features.add(reader.nextFeature());
             }
 
             featureCollection = new FeatureCollection(features);
-            in.endObject();
 
         } else {
             throw new IllegalArgumentException("The given json is not a valid FeatureCollection: " + in.peek());
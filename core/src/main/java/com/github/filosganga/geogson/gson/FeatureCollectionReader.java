@@ -0,0 +1,256 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.PropertyShape;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Reads the {@link Feature}s of a {@link FeatureCollection} one at a time, without holding the whole collection in
+ * memory. The members of the FeatureCollection other than the features are skipped, wherever they are.
+ *
+ * eg: {@code
+ *     try (FeatureCollectionReader features = new FeatureCollectionReader(gson, reader)) {
+ *         features.stream().filter(...).forEach(...);
+ *     }
+ * }
+ */
+public final class FeatureCollectionReader implements Iterator<Feature>, Closeable {
+
+    static final String FEATURES_NAME = "features";
+
+    private final JsonReader in;
+    private final TypeAdapter<Feature> featureAdapter;
+    private final StringDictionary dictionary;
+    private final PropertyShape shapes;
+
+    private BoundingBox filter;
+
+    private boolean started = false;
+    private boolean finished = false;
+    private Feature next = null;
+
+    /**
+     * Creates a FeatureCollectionReader reading from the given Reader.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param reader The Reader to read the FeatureCollection from.
+     */
+    public FeatureCollectionReader(Gson gson, Reader reader) {
+        this(gson.getAdapter(Feature.class), gson.newJsonReader(checkNotNull(reader, "The reader cannot be null")));
+    }
+
+    /**
+     * Creates a FeatureCollectionReader reading UTF-8 json from the given InputStream.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param input The InputStream to read the FeatureCollection from.
+     */
+    public FeatureCollectionReader(Gson gson, InputStream input) {
+        this(gson, new InputStreamReader(checkNotNull(input, "The input cannot be null"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a FeatureCollectionReader reading from the given JsonReader, that has to be positioned on a
+     * FeatureCollection.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param in The JsonReader to read the FeatureCollection from.
+     */
+    public FeatureCollectionReader(Gson gson, JsonReader in) {
+        this(gson.getAdapter(Feature.class), in);
+    }
+
+    FeatureCollectionReader(TypeAdapter<Feature> featureAdapter, JsonReader in) {
+        this.featureAdapter = featureAdapter;
+        this.in = checkNotNull(in, "The JsonReader cannot be null");
+        this.filter = featureAdapter instanceof FeatureAdapter
+                ? ((FeatureAdapter) featureAdapter).getBoundingBoxFilter()
+                : null;
+        this.dictionary = featureAdapter instanceof FeatureAdapter
+                ? ((FeatureAdapter) featureAdapter).newStringDictionary()
+                : null;
+        this.shapes = featureAdapter instanceof FeatureAdapter
+                ? ((FeatureAdapter) featureAdapter).newPropertyShapes()
+                : null;
+    }
+
+    /**
+     * Reads only the features intersecting the given BoundingBox, overriding the one eventually configured on the
+     * {@link GeometryAdapterFactory}. The other features are skipped, most of them without building their geometry.
+     *
+     * @param filter The BoundingBox the read features have to intersect.
+     * @return this reader.
+     * @throws IllegalStateException if the reading has already started.
+     */
+    public FeatureCollectionReader withBoundingBoxFilter(BoundingBox filter) {
+        if (started) {
+            throw new IllegalStateException("The filter cannot be changed once the reading has started");
+        }
+        this.filter = checkNotNull(filter, "The filter cannot be null");
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return fetch();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public Feature next() {
+        try {
+            return nextFeature();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Returns a sequential Stream of the remaining features. Closing the Stream closes this reader.
+     *
+     * @return {@code Stream<Feature>}
+     */
+    public Stream<Feature> stream() {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads the next feature.
+     *
+     * @return the next Feature
+     * @throws NoSuchElementException if there are no more features.
+     */
+    Feature nextFeature() throws IOException {
+        if (!fetch()) {
+            throw new NoSuchElementException("There are no more features");
+        }
+        Feature feature = next;
+        next = null;
+        return feature;
+    }
+
+    /**
+     * Reads ahead the next feature intersecting the filter, if it has not been read yet.
+     *
+     * @return true if there is a next feature.
+     */
+    boolean fetch() throws IOException {
+        while (next == null && advance()) {
+            next = readFeature();
+        }
+        return next != null;
+    }
+
+    /**
+     * Reads the feature the JsonReader is positioned on.
+     *
+     * @return the Feature, or null if it does not intersect the filter.
+     */
+    private Feature readFeature() throws IOException {
+        if (featureAdapter instanceof FeatureAdapter) {
+            return ((FeatureAdapter) featureAdapter).read(in, filter, dictionary, shapes);
+        } else if (filter == null) {
+            return featureAdapter.read(in);
+        } else {
+            Feature feature = featureAdapter.read(in);
+            return BoundingBox.builder().add(feature.geometry()).intersects(filter) ? feature : null;
+        }
+    }
+
+    /**
+     * Moves the JsonReader on the next feature, or at the end of the FeatureCollection if there are no more features.
+     *
+     * @return true if the JsonReader is positioned on a feature.
+     */
+    boolean advance() throws IOException {
+        if (finished) {
+            return false;
+        }
+
+        if (!started) {
+            started = true;
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new IllegalArgumentException("The given json is not a valid FeatureCollection: " + in.peek());
+            }
+            in.beginObject();
+            if (!skipToFeatures()) {
+                finish();
+                throw new IllegalArgumentException("Required field 'features' is missing");
+            }
+        }
+
+        if (in.hasNext()) {
+            return true;
+        }
+
+        in.endArray();
+        while (in.hasNext()) {
+            in.nextName();
+            in.skipValue();
+        }
+        finish();
+        return false;
+    }
+
+    /**
+     * Skips the members of the FeatureCollection up to the features array, that will be opened.
+     *
+     * @return true if the features array has been found, false if the end of the object has been reached.
+     */
+    private boolean skipToFeatures() throws IOException {
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (FEATURES_NAME.equalsIgnoreCase(name)) {
+                in.beginArray();
+                return true;
+            } else {
+                in.skipValue();
+            }
+        }
+        return false;
+    }
+
+    private void finish() throws IOException {
+        finished = true;
+        in.endObject();
+    }
+
+}
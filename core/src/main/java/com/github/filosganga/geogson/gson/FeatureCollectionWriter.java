@@ -0,0 +1,191 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Writes a {@link FeatureCollection} one {@link Feature} at a time, without holding the whole collection in memory.
+ * The FeatureCollection is opened by the first written feature and closed by {@link #close()}.
+ *
+ * eg: {@code
+ *     try (FeatureCollectionWriter writer = new FeatureCollectionWriter(gson, out)) {
+ *         writer.write(feature);
+ *     }
+ * }
+ */
+public final class FeatureCollectionWriter implements Closeable, Flushable {
+
+    static final String FEATURE_COLLECTION_TYPE = "FeatureCollection";
+
+    private final JsonWriter out;
+    private final TypeAdapter<Feature> featureAdapter;
+
+    private boolean started = false;
+    private boolean finished = false;
+
+    /**
+     * Creates a FeatureCollectionWriter writing to the given Writer.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param writer The Writer to write the FeatureCollection to.
+     */
+    public FeatureCollectionWriter(Gson gson, Writer writer) throws IOException {
+        this(gson.getAdapter(Feature.class), gson.newJsonWriter(checkNotNull(writer, "The writer cannot be null")));
+    }
+
+    /**
+     * Creates a FeatureCollectionWriter writing UTF-8 json to the given OutputStream.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param output The OutputStream to write the FeatureCollection to.
+     */
+    public FeatureCollectionWriter(Gson gson, OutputStream output) throws IOException {
+        this(gson, new OutputStreamWriter(checkNotNull(output, "The output cannot be null"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a FeatureCollectionWriter writing to the given JsonWriter.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param out The JsonWriter to write the FeatureCollection to.
+     */
+    public FeatureCollectionWriter(Gson gson, JsonWriter out) {
+        this(gson.getAdapter(Feature.class), out);
+    }
+
+    FeatureCollectionWriter(TypeAdapter<Feature> featureAdapter, JsonWriter out) {
+        this.featureAdapter = featureAdapter;
+        this.out = checkNotNull(out, "The JsonWriter cannot be null");
+    }
+
+    /**
+     * Writes the given feature in the FeatureCollection.
+     *
+     * @param feature The Feature to write.
+     * @return this writer.
+     */
+    public FeatureCollectionWriter write(Feature feature) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("The FeatureCollection has already been closed");
+        }
+        start();
+        featureAdapter.write(out, feature);
+        return this;
+    }
+
+    /**
+     * Writes the given feature in the FeatureCollection, with the given properties in place of its own. The property
+     * values can be any object Gson can serialize, they are streamed to the json without building a JsonElement tree.
+     *
+     * eg: {@code
+     *     writer.write(Feature.of(point), row);
+     * }
+     *
+     * @param feature The Feature to write.
+     * @param properties The properties of the Feature.
+     * @return this writer.
+     * @throws IllegalStateException if the features are not written by the {@link FeatureAdapter}.
+     */
+    public FeatureCollectionWriter write(Feature feature, Map<String, ?> properties) throws IOException {
+        checkNotNull(properties, "The properties cannot be null");
+        if (!(featureAdapter instanceof FeatureAdapter)) {
+            throw new IllegalStateException("The properties can be written only by the FeatureAdapter, not by " + featureAdapter);
+        }
+        if (finished) {
+            throw new IllegalStateException("The FeatureCollection has already been closed");
+        }
+        start();
+        ((FeatureAdapter) featureAdapter).write(out, feature, properties);
+        return this;
+    }
+
+    /**
+     * Writes all the given features in the FeatureCollection.
+     *
+     * @param features The Features to write.
+     * @return this writer.
+     */
+    public FeatureCollectionWriter writeAll(Iterable<Feature> features) throws IOException {
+        for (Feature feature : features) {
+            write(feature);
+        }
+        return this;
+    }
+
+    /**
+     * Writes all the given features in the FeatureCollection.
+     *
+     * @param features The Features to write.
+     * @return this writer.
+     */
+    public FeatureCollectionWriter writeAll(Stream<Feature> features) throws IOException {
+        try {
+            features.forEachOrdered(feature -> {
+                try {
+                    write(feature);
+                } catch (IOException e) {
+                    throw new JsonIOException(e);
+                }
+            });
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Closes the FeatureCollection and the underlying writer.
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    /**
+     * Closes the FeatureCollection, leaving the underlying writer open.
+     */
+    void finish() throws IOException {
+        if (!finished) {
+            start();
+            finished = true;
+            out.endArray();
+            out.endObject();
+        }
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            out.beginObject();
+            out.name(FeatureAdapter.TYPE_NAME).value(FEATURE_COLLECTION_TYPE);
+            out.name(FeatureCollectionReader.FEATURES_NAME);
+            out.beginArray();
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+package com.github.filosganga.geogson.gson;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * The byte offset and length of each {@link com.github.filosganga.geogson.model.Feature} of a FeatureCollection
+ * file, by ordinal and by id, to read a single Feature without scanning the file, see {@link IndexedFeatureReader}.
+ *
+ * An index is built with one pass over the file, that tracks only braces, brackets and strings as the
+ * {@link ParallelFeatureCollectionReader} pre-scan does. It can be saved in a sidecar file: the offsets are stored as
+ * variable length gaps from the end of the previous feature, so that a feature takes a few bytes plus its id. The
+ * index records the size and the modification time of the file, so that a stale index is detected.
+ *
+ * eg: {@code
+ *     FeatureIndex index = FeatureIndex.build(path);
+ *     index.writeTo(sidecar);
+ * }
+ */
+public final class FeatureIndex {
+
+    private static final int MAGIC = 0x474a4958;
+    private static final byte VERSION = 1;
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private final long fileSize;
+    private final long fileModified;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final String[] ids;
+    private final Map<String, Integer> ordinals;
+
+    private FeatureIndex(long fileSize, long fileModified, long[] offsets, int[] lengths, String[] ids) {
+        this.fileSize = fileSize;
+        this.fileModified = fileModified;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.ids = ids;
+        this.ordinals = new HashMap<>();
+        for (int i = ids.length - 1; i >= 0; i--) {
+            // With duplicated ids, the first feature wins
+            if (ids[i] != null) {
+                ordinals.put(ids[i], i);
+            }
+        }
+    }
+
+    /**
+     * Builds the index of the given FeatureCollection file.
+     *
+     * @param file The UTF-8 GeoJson file.
+     * @return FeatureIndex instance.
+     * @throws IllegalArgumentException if the file is not a FeatureCollection or a feature is larger than 2GB.
+     */
+    public static FeatureIndex build(Path file) throws IOException {
+        checkNotNull(file, "The file cannot be null");
+        // Taken before the scan, so that a file changing meanwhile makes the index stale
+        long fileModified = Files.getLastModifiedTime(file).toMillis();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            Builder builder = new Builder();
+            ParallelFeatureCollectionReader.FeatureScanner scanner = new ParallelFeatureCollectionReader.FeatureScanner(Integer.MAX_VALUE, builder);
+            ByteBuffer block = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+            long offset = 0;
+            while (channel.read(block) != -1) {
+                ((Buffer) block).flip();
+                scanner.scan(block, offset);
+                offset += block.limit();
+                ((Buffer) block).clear();
+            }
+            scanner.finish();
+            return builder.build(fileSize, fileModified);
+        }
+    }
+
+    /**
+     * Reads an index from the given sidecar file.
+     *
+     * @param sidecar The file written by {@link #writeTo(Path)}.
+     * @return FeatureIndex instance.
+     * @throws IllegalArgumentException if the file is not a FeatureIndex.
+     */
+    public static FeatureIndex readFrom(Path sidecar) throws IOException {
+        try (InputStream input = Files.newInputStream(checkNotNull(sidecar, "The sidecar cannot be null"))) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IllegalArgumentException("The given file is not a FeatureIndex: " + sidecar);
+            }
+            long fileSize = in.readLong();
+            long fileModified = in.readLong();
+            int size = in.readInt();
+
+            long[] offsets = new long[size];
+            int[] lengths = new int[size];
+            String[] ids = new String[size];
+            long end = 0;
+            for (int i = 0; i < size; i++) {
+                offsets[i] = end + readVarLong(in);
+                lengths[i] = (int) readVarLong(in);
+                end = offsets[i] + lengths[i];
+                int idLength = (int) readVarLong(in);
+                if (idLength > 0) {
+                    byte[] id = new byte[idLength - 1];
+                    in.readFully(id);
+                    ids[i] = new String(id, StandardCharsets.UTF_8);
+                }
+            }
+            return new FeatureIndex(fileSize, fileModified, offsets, lengths, ids);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("The given FeatureIndex is truncated: " + sidecar, e);
+        }
+    }
+
+    /**
+     * Writes this index to the given sidecar file, replacing it if it exists.
+     *
+     * @param sidecar The file to write the index to.
+     */
+    public void writeTo(Path sidecar) throws IOException {
+        try (OutputStream output = Files.newOutputStream(checkNotNull(sidecar, "The sidecar cannot be null"))) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(fileModified);
+            out.writeInt(size());
+            long end = 0;
+            for (int i = 0; i < size(); i++) {
+                writeVarLong(out, offsets[i] - end);
+                writeVarLong(out, lengths[i]);
+                end = offsets[i] + lengths[i];
+                if (ids[i] == null) {
+                    writeVarLong(out, 0);
+                } else {
+                    byte[] id = ids[i].getBytes(StandardCharsets.UTF_8);
+                    writeVarLong(out, id.length + 1);
+                    out.write(id);
+                }
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * The number of indexed features.
+     *
+     * @return int
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * The byte offset of the feature with the given ordinal.
+     *
+     * @param ordinal The position of the feature in the FeatureCollection, from 0.
+     * @return the offset in the file of the first byte of the feature.
+     */
+    public long offset(int ordinal) {
+        return offsets[checkOrdinal(ordinal)];
+    }
+
+    /**
+     * The length in bytes of the feature with the given ordinal.
+     *
+     * @param ordinal The position of the feature in the FeatureCollection, from 0.
+     * @return the length of the feature json text.
+     */
+    public int length(int ordinal) {
+        return lengths[checkOrdinal(ordinal)];
+    }
+
+    /**
+     * The ordinal of the feature with the given id. If many features share the id, it is the one of the first.
+     *
+     * @param id The id of the feature, as the {@link FeatureAdapter} reads it.
+     * @return OptionalInt.empty if no feature has the given id.
+     */
+    public OptionalInt ordinalOf(String id) {
+        Integer ordinal = ordinals.get(checkNotNull(id, "The id cannot be null"));
+        return ordinal == null ? OptionalInt.empty() : OptionalInt.of(ordinal);
+    }
+
+    /**
+     * Returns if this index has been built from the given file as it is now, by its size and modification time.
+     *
+     * @param file The indexed file.
+     * @return true if the file has not changed since it has been indexed, false otherwise.
+     */
+    public boolean isUpToDate(Path file) throws IOException {
+        return Files.size(file) == fileSize && Files.getLastModifiedTime(file).toMillis() == fileModified;
+    }
+
+    private int checkOrdinal(int ordinal) {
+        return checkArgument(ordinal, x -> x >= 0 && x < offsets.length, "The ordinal must be between 0 and " + (offsets.length - 1));
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("The given FeatureIndex is corrupted, a number is too long");
+    }
+
+    /**
+     * Collects the features found by the scanner.
+     */
+    private static final class Builder implements ParallelFeatureCollectionReader.FeatureConsumer {
+
+        private long[] offsets = new long[1024];
+        private int[] lengths = new int[1024];
+        private String[] ids = new String[1024];
+        private int size = 0;
+
+        @Override
+        public void accept(long start, long end, String id) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            offsets[size] = start;
+            lengths[size] = checkArgument(end - start, x -> x <= Integer.MAX_VALUE, "The feature at byte " + start + " is larger than 2GB").intValue();
+            ids[size] = id;
+            size++;
+        }
+
+        FeatureIndex build(long fileSize, long fileModified) {
+            return new FeatureIndex(fileSize, fileModified, Arrays.copyOf(offsets, size), Arrays.copyOf(lengths, size), Arrays.copyOf(ids, size));
+        }
+    }
+}
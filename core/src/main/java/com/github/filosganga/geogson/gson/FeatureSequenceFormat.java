@@ -0,0 +1,24 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+
+/**
+ * The formats of a sequence of {@link Feature}s, one json text each.
+ */
+public enum FeatureSequenceFormat {
+
+    /**
+     * GeoJSON Text Sequences, each record starts with a record separator and ends with a line feed.
+     *
+     * GeoJson reference: @see https://tools.ietf.org/html/rfc8142.
+     */
+    GEOJSON_SEQ,
+
+    /**
+     * Newline-delimited GeoJson, each record is a single line.
+     */
+    NEWLINE_DELIMITED;
+
+    static final char RECORD_SEPARATOR = '\u001E';
+
+}
@@ -0,0 +1,355 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.PropertyShape;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Reads a sequence of {@link Feature}s, one json text each, in one of the {@link FeatureSequenceFormat}s. Empty
+ * records are skipped, and so are the malformed ones, like the truncated record left by a crashed writer: as RFC 7464
+ * recommends, the reading goes on with the next record, and the skipped ones are counted by
+ * {@link #malformedRecordCount()}. The well-formed records that are not valid Features still raise an exception.
+ *
+ * The records can be decoded in parallel on an {@link Executor}, with the features returned in the input order or in
+ * the order they are decoded. The records are read ahead up to a fixed number of pending ones.
+ *
+ * eg: {@code
+ *     try (FeatureSequenceReader features = new FeatureSequenceReader(gson, input, FeatureSequenceFormat.GEOJSON_SEQ)
+ *             .withParallelDecoding(executor, FeatureSequenceReader.Order.INPUT)) {
+ *         features.stream().forEach(...);
+ *     }
+ * }
+ */
+public final class FeatureSequenceReader implements Iterator<Feature>, Closeable {
+
+    /**
+     * The order the features are returned in when they are decoded in parallel.
+     */
+    public enum Order {
+        /**
+         * The order of the records in the input.
+         */
+        INPUT,
+        /**
+         * The order the records have been decoded in.
+         */
+        COMPLETION
+    }
+
+    static final int MAX_PENDING_RECORDS = 256;
+
+    private final Reader reader;
+    private final TypeAdapter<Feature> featureAdapter;
+    private final FeatureSequenceFormat format;
+    private final BoundingBox filter;
+    private final StringDictionary dictionary;
+    private final PropertyShape shapes;
+
+    private final char[] buffer = new char[8192];
+    private int bufferPos = 0;
+    private int bufferLimit = 0;
+    private final StringBuilder record = new StringBuilder();
+    private boolean finished = false;
+
+    private Executor executor = null;
+    private Order order = null;
+    private Deque<Future<Feature>> pendingInInputOrder;
+    private CompletionService<Feature> pendingInCompletionOrder;
+    // The tasks of the CompletionService, to cancel them
+    private Set<Future<Feature>> submittedInCompletionOrder;
+    private int pending = 0;
+
+    private final AtomicLong malformedRecords = new AtomicLong();
+
+    private boolean started = false;
+    private Feature next = null;
+
+    /**
+     * Creates a FeatureSequenceReader reading from the given Reader.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param reader The Reader to read the features from.
+     * @param format The format of the sequence.
+     */
+    public FeatureSequenceReader(Gson gson, Reader reader, FeatureSequenceFormat format) {
+        this(gson.getAdapter(Feature.class), reader, format);
+    }
+
+    /**
+     * Creates a FeatureSequenceReader reading UTF-8 json from the given InputStream.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param input The InputStream to read the features from.
+     * @param format The format of the sequence.
+     */
+    public FeatureSequenceReader(Gson gson, InputStream input, FeatureSequenceFormat format) {
+        this(gson, new InputStreamReader(checkNotNull(input, "The input cannot be null"), StandardCharsets.UTF_8), format);
+    }
+
+    FeatureSequenceReader(TypeAdapter<Feature> featureAdapter, Reader reader, FeatureSequenceFormat format) {
+        this.featureAdapter = featureAdapter;
+        this.reader = checkNotNull(reader, "The reader cannot be null");
+        this.format = checkNotNull(format, "The format cannot be null");
+        this.filter = featureAdapter instanceof FeatureAdapter
+                ? ((FeatureAdapter) featureAdapter).getBoundingBoxFilter()
+                : null;
+        this.dictionary = featureAdapter instanceof FeatureAdapter
+                ? ((FeatureAdapter) featureAdapter).newStringDictionary()
+                : null;
+        this.shapes = featureAdapter instanceof FeatureAdapter
+                ? ((FeatureAdapter) featureAdapter).newPropertyShapes()
+                : null;
+    }
+
+    /**
+     * Decodes the records on the given Executor, returning the features in the given order.
+     *
+     * @param executor The Executor to decode the records on.
+     * @param order The order to return the features in.
+     * @return this reader.
+     * @throws IllegalStateException if the reading has already started.
+     */
+    public FeatureSequenceReader withParallelDecoding(Executor executor, Order order) {
+        if (started) {
+            throw new IllegalStateException("The decoding cannot be changed once the reading has started");
+        }
+        this.executor = checkNotNull(executor, "The executor cannot be null");
+        this.order = checkNotNull(order, "The order cannot be null");
+        if (order == Order.INPUT) {
+            this.pendingInInputOrder = new ArrayDeque<>();
+        } else {
+            this.pendingInCompletionOrder = new ExecutorCompletionService<>(executor);
+            this.submittedInCompletionOrder = new HashSet<>();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return fetch();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public Feature next() {
+        try {
+            if (!fetch()) {
+                throw new NoSuchElementException("There are no more features");
+            }
+            Feature feature = next;
+            next = null;
+            return feature;
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * The number of the malformed records skipped so far.
+     *
+     * @return long
+     */
+    public long malformedRecordCount() {
+        return malformedRecords.get();
+    }
+
+    /**
+     * Returns a sequential Stream of the remaining features. Closing the Stream closes this reader.
+     *
+     * @return {@code Stream<Feature>}
+     */
+    public Stream<Feature> stream() {
+        Spliterator<Feature> spliterator = Spliterators.spliteratorUnknownSize(this,
+                order == Order.COMPLETION ? Spliterator.NONNULL : Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Closes the underlying reader, discarding the records still being decoded.
+     */
+    @Override
+    public void close() throws IOException {
+        if (pendingInInputOrder != null) {
+            pendingInInputOrder.forEach(future -> future.cancel(false));
+            pendingInInputOrder.clear();
+        }
+        if (submittedInCompletionOrder != null) {
+            submittedInCompletionOrder.forEach(future -> future.cancel(false));
+            submittedInCompletionOrder.clear();
+        }
+        pending = 0;
+        finished = true;
+        reader.close();
+    }
+
+    private boolean fetch() throws IOException {
+        started = true;
+        while (next == null) {
+            if (order == null) {
+                String json = nextRecord();
+                if (json == null) {
+                    return false;
+                }
+                next = decode(json);
+            } else {
+                submitRecords();
+                if (pending == 0) {
+                    return false;
+                }
+                next = awaitFeature();
+            }
+        }
+        return true;
+    }
+
+    private void submitRecords() throws IOException {
+        while (pending < MAX_PENDING_RECORDS) {
+            String json = nextRecord();
+            if (json == null) {
+                return;
+            }
+            if (order == Order.INPUT) {
+                FutureTask<Feature> task = new FutureTask<>(() -> decode(json));
+                executor.execute(task);
+                pendingInInputOrder.add(task);
+            } else {
+                submittedInCompletionOrder.add(pendingInCompletionOrder.submit(() -> decode(json)));
+            }
+            pending++;
+        }
+    }
+
+    private Feature awaitFeature() throws IOException {
+        try {
+            Future<Feature> future;
+            if (order == Order.INPUT) {
+                future = pendingInInputOrder.poll();
+            } else {
+                future = pendingInCompletionOrder.take();
+                submittedInCompletionOrder.remove(future);
+            }
+            pending--;
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while decoding the features");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new JsonIOException(e.getCause());
+        }
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @return the Feature, or null if it does not intersect the bounding box filter or it is malformed.
+     */
+    private Feature decode(String json) throws IOException {
+        JsonReader in = new JsonReader(new StringReader(json));
+        // As Gson.fromJson does, so that a second json text is reported below rather than as malformed json
+        in.setLenient(true);
+        Feature feature;
+        JsonToken after;
+        try {
+            feature = featureAdapter instanceof FeatureAdapter
+                    ? ((FeatureAdapter) featureAdapter).read(in, filter, dictionary, shapes)
+                    : featureAdapter.read(in);
+            after = in.peek();
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            // Reading from a String, an IOException is malformed json, as are the unexpected tokens
+            malformedRecords.incrementAndGet();
+            return null;
+        }
+        if (after != JsonToken.END_DOCUMENT) {
+            throw new IllegalArgumentException("The given record contains more than a json text: " + json);
+        }
+        return feature;
+    }
+
+    /**
+     * Reads the next non-empty record.
+     *
+     * @return the record, or null if there are no more records.
+     */
+    private String nextRecord() throws IOException {
+        record.setLength(0);
+        char delimiter = format == FeatureSequenceFormat.GEOJSON_SEQ ? FeatureSequenceFormat.RECORD_SEPARATOR : '\n';
+        while (!finished) {
+            if (bufferPos == bufferLimit) {
+                bufferLimit = reader.read(buffer);
+                bufferPos = 0;
+                if (bufferLimit == -1) {
+                    bufferLimit = 0;
+                    finished = true;
+                    break;
+                }
+            }
+            char c = buffer[bufferPos++];
+            if (c != delimiter) {
+                record.append(c);
+            } else if (!isBlank(record)) {
+                break;
+            }
+        }
+        return isBlank(record) ? null : record.toString();
+    }
+
+    private static boolean isBlank(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (!Character.isWhitespace(chars.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Writes a sequence of {@link Feature}s, one json text each, in one of the {@link FeatureSequenceFormat}s. Having no
+ * envelope, a sequence can be extended by appending features to it, see {@link #append(Gson, Path, FeatureSequenceFormat)}.
+ *
+ * eg: {@code
+ *     try (FeatureSequenceWriter writer = FeatureSequenceWriter.append(gson, path, FeatureSequenceFormat.NEWLINE_DELIMITED)) {
+ *         writer.write(feature);
+ *     }
+ * }
+ */
+public final class FeatureSequenceWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+    private final TypeAdapter<Feature> featureAdapter;
+    private final FeatureSequenceFormat format;
+
+    private boolean closed = false;
+
+    /**
+     * Creates a FeatureSequenceWriter writing to the given Writer.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param writer The Writer to write the features to.
+     * @param format The format of the sequence.
+     */
+    public FeatureSequenceWriter(Gson gson, Writer writer, FeatureSequenceFormat format) {
+        this(gson.getAdapter(Feature.class), writer, format);
+    }
+
+    /**
+     * Creates a FeatureSequenceWriter writing UTF-8 json to the given OutputStream.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param output The OutputStream to write the features to.
+     * @param format The format of the sequence.
+     */
+    public FeatureSequenceWriter(Gson gson, OutputStream output, FeatureSequenceFormat format) {
+        this(gson, new BufferedWriter(new OutputStreamWriter(checkNotNull(output, "The output cannot be null"), StandardCharsets.UTF_8)), format);
+    }
+
+    FeatureSequenceWriter(TypeAdapter<Feature> featureAdapter, Writer writer, FeatureSequenceFormat format) {
+        this.featureAdapter = featureAdapter;
+        this.writer = checkNotNull(writer, "The writer cannot be null");
+        this.format = checkNotNull(format, "The format cannot be null");
+    }
+
+    /**
+     * Creates a FeatureSequenceWriter appending UTF-8 json to the given file, created if it does not exist. If the
+     * last record of the file has been truncated, it is terminated before the first appended one.
+     *
+     * @param gson The Gson instance, with the {@link GeometryAdapterFactory} registered.
+     * @param file The file to append the features to.
+     * @param format The format of the sequence.
+     * @return FeatureSequenceWriter instance.
+     */
+    public static FeatureSequenceWriter append(Gson gson, Path file, FeatureSequenceFormat format) throws IOException {
+        boolean terminated = endsWithLineFeed(file);
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (!terminated) {
+            writer.write('\n');
+        }
+        return new FeatureSequenceWriter(gson, writer, format);
+    }
+
+    private static boolean endsWithLineFeed(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Writes the given feature as a record of the sequence.
+     *
+     * @param feature The Feature to write.
+     * @return this writer.
+     */
+    public FeatureSequenceWriter write(Feature feature) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The sequence has already been closed");
+        }
+        if (format == FeatureSequenceFormat.GEOJSON_SEQ) {
+            writer.write(FeatureSequenceFormat.RECORD_SEPARATOR);
+        }
+        featureAdapter.toJson(writer, feature);
+        writer.write('\n');
+        return this;
+    }
+
+    /**
+     * Writes all the given features as records of the sequence.
+     *
+     * @param features The Features to write.
+     * @return this writer.
+     */
+    public FeatureSequenceWriter writeAll(Iterable<Feature> features) throws IOException {
+        for (Feature feature : features) {
+            write(feature);
+        }
+        return this;
+    }
+
+    /**
+     * Writes all the given features as records of the sequence.
+     *
+     * @param features The Features to write.
+     * @return this writer.
+     */
+    public FeatureSequenceWriter writeAll(Stream<Feature> features) throws IOException {
+        try {
+            features.forEachOrdered(feature -> {
+                try {
+                    write(feature);
+                } catch (IOException e) {
+                    throw new JsonIOException(e);
+                }
+            });
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        writer.close();
+    }
+
+}
@@ -0,0 +1,1074 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.GeometryCollection;
+import com.github.filosganga.geogson.model.LazyGeometry;
+import com.github.filosganga.geogson.model.PropertyShape;
+import com.github.filosganga.geogson.model.PropertyValues;
+import com.github.filosganga.geogson.model.positions.PackedPositionsBuilder;
+import com.github.filosganga.geogson.model.positions.Positions;
+import com.github.filosganga.geogson.util.DoubleParser;
+import com.github.filosganga.geogson.util.LazyNumber;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.filosganga.geogson.model.positions.PackedPositionsBuilder.AREA_POSITIONS_DEPTH;
+import static com.github.filosganga.geogson.model.positions.PackedPositionsBuilder.LINEAR_POSITIONS_DEPTH;
+import static com.github.filosganga.geogson.model.positions.PackedPositionsBuilder.SINGLE_POSITION_DEPTH;
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Reads GeoJson straight from UTF-8 bytes, without decoding them into chars. It builds the same {@link Geometry},
+ * {@link Feature} and {@link FeatureCollection} instances the Gson adapters of the {@link GeometryAdapterFactory}
+ * build, honouring the factory options.
+ *
+ * The bytes come from a byte array, a ByteBuffer or a memory-mapped file region, that is limited to 2GB. The member
+ * names are matched against their UTF-8 bytes and the coordinates are parsed from the bytes, so neither allocates a
+ * String. A GeoJsonBytesReader reads the bytes from the current position onward and it is not thread safe. The
+ * lazy geometries it reads keep a view of their coordinates bytes, that must not change until they are decoded.
+ *
+ * eg: {@code
+ *     try (Stream<Feature> features = GeoJsonBytesReader.map(path, new GeometryAdapterFactory()).features()) {
+ *         features.filter(...).forEach(...);
+ *     }
+ * }
+ */
+public final class GeoJsonBytesReader {
+
+    private static final byte[] TYPE = ascii(FeatureAdapter.TYPE_NAME);
+    private static final byte[] COORDINATES = ascii("coordinates");
+    private static final byte[] GEOMETRIES = ascii("geometries");
+    private static final byte[] GEOMETRY = ascii(FeatureAdapter.GEOMETRY_NAME);
+    private static final byte[] PROPERTIES = ascii(FeatureAdapter.PROPERTIES_NAME);
+    private static final byte[] ID = ascii(FeatureAdapter.ID_NAME);
+    private static final byte[] BBOX = ascii(BoundingBoxAdapter.BBOX_NAME);
+    private static final byte[] FEATURES = ascii(FeatureCollectionReader.FEATURES_NAME);
+    private static final byte[] FEATURE_TYPE = ascii(FeatureAdapter.FEATURE_TYPE);
+
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+
+    private static final Geometry.Type[] GEOMETRY_TYPES = Geometry.Type.values();
+    private static final byte[][] GEOMETRY_TYPE_VALUES = new byte[GEOMETRY_TYPES.length][];
+
+    static {
+        for (int i = 0; i < GEOMETRY_TYPES.length; i++) {
+            GEOMETRY_TYPE_VALUES[i] = ascii(GEOMETRY_TYPES[i].getValue());
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final CharSequence chars;
+    private final int limit;
+
+    private final boolean lazyProperties;
+    private final Set<String> propertyNames;
+    private final boolean skipGeometry;
+    private final BoundingBox boundingBoxFilter;
+    private final boolean rawPassthrough;
+    private final boolean lazyGeometry;
+
+    // The Features with the same properties names share them
+    private final PropertyShape shapes;
+    private final StringDictionary dictionary;
+
+    private int pos;
+
+    private int nameStart;
+    private int nameEnd;
+    private String escapedName;
+    private boolean escaped;
+
+    /**
+     * Creates a GeoJsonBytesReader reading the given bytes, with the default options.
+     *
+     * @param bytes The UTF-8 GeoJson.
+     */
+    public GeoJsonBytesReader(byte[] bytes) {
+        this(ByteBuffer.wrap(checkNotNull(bytes, "The bytes cannot be null")));
+    }
+
+    /**
+     * Creates a GeoJsonBytesReader reading the bytes between the position and the limit of the given buffer, with
+     * the default options.
+     *
+     * @param buffer The UTF-8 GeoJson.
+     */
+    public GeoJsonBytesReader(ByteBuffer buffer) {
+        this(buffer, new GeometryAdapterFactory());
+    }
+
+    /**
+     * Creates a GeoJsonBytesReader reading the bytes between the position and the limit of the given buffer. The
+     * buffer position is not changed.
+     *
+     * @param buffer The UTF-8 GeoJson.
+     * @param options The GeometryAdapterFactory whose options apply.
+     */
+    public GeoJsonBytesReader(ByteBuffer buffer, GeometryAdapterFactory options) {
+        this(buffer, options, PropertyShape.newRoot(), options.newStringDictionary());
+    }
+
+    /**
+     * Creates a GeoJsonBytesReader sharing the given root of the properties shapes and the given dictionary, null for
+     * none, with other readers.
+     */
+    GeoJsonBytesReader(ByteBuffer buffer, GeometryAdapterFactory options, PropertyShape shapes, StringDictionary dictionary) {
+        this.shapes = shapes;
+        this.dictionary = dictionary;
+        this.buffer = checkNotNull(buffer, "The buffer cannot be null").duplicate();
+        this.chars = new AsciiChars(this.buffer);
+        this.limit = this.buffer.limit();
+        this.pos = this.buffer.position();
+
+        this.lazyProperties = options.isLazyProperties();
+        this.propertyNames = options.getPropertyNames();
+        this.skipGeometry = options.isSkipGeometry();
+        this.boundingBoxFilter = options.getBoundingBoxFilter();
+        this.rawPassthrough = options.isRawPassthrough();
+        this.lazyGeometry = options.isLazyGeometry();
+
+        // Skip the byte order mark
+        if (limit - pos >= 3 && this.buffer.get(pos) == (byte) 0xEF && this.buffer.get(pos + 1) == (byte) 0xBB && this.buffer.get(pos + 2) == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    /**
+     * Creates a GeoJsonBytesReader reading the given file, mapped in memory.
+     *
+     * @param file The UTF-8 GeoJson file, up to 2GB.
+     * @param options The GeometryAdapterFactory whose options apply.
+     * @return GeoJsonBytesReader instance.
+     */
+    public static GeoJsonBytesReader map(Path file, GeometryAdapterFactory options) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = checkArgument(channel.size(), s -> s <= Integer.MAX_VALUE, "The file " + file + " is larger than 2GB, map a region of it instead");
+            return new GeoJsonBytesReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), options);
+        }
+    }
+
+    /**
+     * Reads a Geometry.
+     *
+     * @return the Geometry, or null if the json is null.
+     */
+    public Geometry<?> readGeometry() {
+        skipWhitespace();
+        int start = pos;
+        Geometry<?> geometry = readGeometry(null);
+        return rawPassthrough && geometry != null ? geometry.withRawJson(utf8(start, pos)) : geometry;
+    }
+
+    /**
+     * Reads a Feature.
+     *
+     * @return the Feature.
+     */
+    public Feature readFeature() {
+        return readFeature(null);
+    }
+
+    /**
+     * Reads a whole FeatureCollection, dropping the features outside the bounding box filter of the options.
+     *
+     * @return the FeatureCollection, or null if the json is null.
+     */
+    public FeatureCollection readFeatureCollection() {
+        if (tryNull()) {
+            return null;
+        }
+        List<Feature> features = new ArrayList<>();
+        new FeatureIterator().forEachRemaining(features::add);
+        return new FeatureCollection(features);
+    }
+
+    /**
+     * Returns a sequential Stream reading the features of a FeatureCollection one at a time, dropping the features
+     * outside the bounding box filter of the options.
+     *
+     * @return {@code Stream<Feature>}
+     */
+    public Stream<Feature> features() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new FeatureIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Reads the given number of comma separated features, dropping the features outside the bounding box filter of
+     * the options.
+     *
+     * @param count The number of features to read.
+     * @return the read Features.
+     */
+    List<Feature> readFeatures(int count) {
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                expect(',');
+            }
+            Feature feature = readFeature(boundingBoxFilter);
+            if (feature != null) {
+                features.add(feature);
+            }
+        }
+        return features;
+    }
+
+    private Geometry<?> readGeometry(BoundingBox filter) {
+        if (tryNull()) {
+            return null;
+        } else if (peek() != '{') {
+            throw syntaxError("The given json is not a valid Geometry");
+        }
+        pos++;
+
+        Geometry.Type type = null;
+        Positions positions = null;
+        Geometry<?> geometries = null;
+        boolean rejected = false;
+
+        if (!tryConsume('}')) {
+            do {
+                readName();
+                if (rejected) {
+                    skipValue();
+                } else if (nameIs(TYPE)) {
+                    type = readGeometryType();
+                } else if (nameIs(COORDINATES)) {
+                    positions = readPositions(filter);
+                    rejected = filter != null && positions == null;
+                } else if (nameIs(GEOMETRIES)) {
+                    geometries = readGeometries();
+                    rejected = filter != null && !BoundingBox.builder().add(geometries).intersects(filter);
+                } else if (nameIs(BBOX) && filter != null && positions == null && geometries == null) {
+                    BoundingBox bbox = readBoundingBox();
+                    rejected = bbox != null && !bbox.intersects(filter);
+                } else {
+                    skipValue();
+                }
+            } while (tryConsume(','));
+            expect('}');
+        }
+
+        return rejected ? null : GeometryAdapterFactory.GeometryAdapter.buildGeometry(type, positions, geometries);
+    }
+
+    /**
+     * Reads a Geometry as a {@link LazyGeometry}, keeping the bytes of its coordinates to decode them later. A
+     * GeometryCollection is decoded straight away.
+     */
+    private Geometry<?> readLazyGeometry(BoundingBox filter) {
+        if (tryNull()) {
+            return null;
+        } else if (peek() != '{') {
+            throw syntaxError("The given json is not a valid Geometry");
+        }
+        pos++;
+
+        Geometry.Type type = null;
+        ByteBuffer coordinates = null;
+        Geometry<?> geometries = null;
+        BoundingBox bbox = null;
+        boolean rejected = false;
+
+        if (!tryConsume('}')) {
+            do {
+                readName();
+                if (rejected) {
+                    skipValue();
+                } else if (nameIs(TYPE)) {
+                    type = readGeometryType();
+                } else if (nameIs(COORDINATES)) {
+                    int start = pos;
+                    skipValue();
+                    coordinates = slice(start, pos);
+                } else if (nameIs(GEOMETRIES)) {
+                    geometries = readGeometries();
+                } else if (nameIs(BBOX)) {
+                    bbox = readBoundingBox();
+                    rejected = filter != null && bbox != null && !bbox.intersects(filter);
+                } else {
+                    skipValue();
+                }
+            } while (tryConsume(','));
+            expect('}');
+        }
+
+        if (rejected) {
+            return null;
+        } else if (type == null) {
+            throw new IllegalArgumentException("The given json is not a valid Geometry, the type is missing");
+        } else if (type == Geometry.Type.GEOMETRY_COLLECTION || coordinates == null) {
+            Geometry<?> geometry = GeometryAdapterFactory.GeometryAdapter.buildGeometry(type, null, geometries);
+            return filter == null || BoundingBox.builder().add(geometry).intersects(filter) ? geometry : null;
+        }
+
+        Geometry.Type geometryType = type;
+        ByteBuffer bytes = coordinates;
+        LazyGeometry<?> geometry = LazyGeometry.of(type, bbox, () -> GeometryAdapterFactory.GeometryAdapter.buildGeometry(geometryType,
+                new GeoJsonBytesReader(bytes.duplicate(), new GeometryAdapterFactory()).readPositions(null), null));
+        if (filter != null && bbox == null) {
+            // Without a bbox, the coordinates are the only extent to test
+            return BoundingBox.builder().add(geometry.geometry()).intersects(filter) ? geometry : null;
+        }
+        return geometry;
+    }
+
+    private Geometry.Type readGeometryType() {
+        int start = readStringBounds();
+        if (escaped) {
+            return Geometry.Type.forValue(decode(start, pos - 1));
+        }
+        for (int i = 0; i < GEOMETRY_TYPES.length; i++) {
+            if (equalsIgnoreCase(start, pos - 1, GEOMETRY_TYPE_VALUES[i])) {
+                return GEOMETRY_TYPES[i];
+            }
+        }
+        return Geometry.Type.forValue(utf8(start, pos - 1));
+    }
+
+    private Geometry<?> readGeometries() {
+        if (tryNull()) {
+            return null;
+        }
+        expect('[');
+        if (tryConsume(']')) {
+            return null;
+        }
+        List<Geometry<?>> geometries = new LinkedList<>();
+        do {
+            geometries.add(readGeometry(null));
+        } while (tryConsume(','));
+        expect(']');
+        return GeometryCollection.of(geometries);
+    }
+
+    private Positions readPositions(BoundingBox filter) {
+        if (tryNull()) {
+            return null;
+        } else if (peek() != '[') {
+            throw syntaxError("The json must be an array or null");
+        }
+
+        BoundingBox.Builder extent = filter == null ? null : BoundingBox.builder();
+        PackedPositionsBuilder builder = new PackedPositionsBuilder();
+        int depth = parsePositions(builder, extent);
+
+        return depth == 0 || (filter != null && !extent.intersects(filter)) ? null : builder.build(depth);
+    }
+
+    /**
+     * Parses the next array appending all its coordinates to the given builder and, if not null, to the given extent.
+     * It tolerates the same mix of dimensions the {@link PositionsAdapter} does.
+     *
+     * @return the nesting depth of the array, 0 if it is empty.
+     */
+    private int parsePositions(PackedPositionsBuilder builder, BoundingBox.Builder extent) {
+        expect('[');
+        if (tryConsume(']')) {
+            return 0;
+        }
+
+        int depth;
+        if (peek() == '[') {
+            int childrenDepth = 0;
+            int children = 0;
+            do {
+                int childDepth = parsePositions(builder, extent);
+                if (childDepth == 0) {
+                    throw new IllegalArgumentException("The given json is not a valid positions, it contains an empty array");
+                } else if (childrenDepth == 0 || childDepth == childrenDepth) {
+                    childrenDepth = childDepth;
+                } else if (childrenDepth == AREA_POSITIONS_DEPTH && childDepth == LINEAR_POSITIONS_DEPTH) {
+                    builder.endAreaPositions();
+                } else if (childrenDepth == LINEAR_POSITIONS_DEPTH && childDepth == AREA_POSITIONS_DEPTH) {
+                    builder.splitAreaPositions(children);
+                    childrenDepth = childDepth;
+                } else {
+                    throw new IllegalArgumentException("The given json is not a valid positions, it mixes different dimensions");
+                }
+                children++;
+            } while (tryConsume(','));
+
+            depth = childrenDepth + 1;
+            builder.end(depth);
+        } else {
+            double lon = readDouble();
+            expect(',');
+            double lat = readDouble();
+            double alt = Double.NaN;
+            if (tryConsume(',')) {
+                alt = readDouble();
+                // Skip eventual other dimensions
+                while (tryConsume(',')) {
+                    skipValue();
+                }
+            }
+            builder.addPosition(lon, lat, alt);
+            if (extent != null) {
+                extent.add(lon, lat);
+            }
+            depth = SINGLE_POSITION_DEPTH;
+        }
+
+        expect(']');
+        return depth;
+    }
+
+    private BoundingBox readBoundingBox() {
+        if (tryNull()) {
+            return null;
+        }
+        double[] values = new double[6];
+        int size = 0;
+        expect('[');
+        if (!tryConsume(']')) {
+            do {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = readDouble();
+            } while (tryConsume(','));
+            expect(']');
+        }
+
+        int dimensions = size / 2;
+        if (dimensions < 2 || size % 2 != 0) {
+            throw new IllegalArgumentException("The given json is not a valid bbox, it has " + size + " values");
+        }
+        return BoundingBox.of(values[0], values[1], values[dimensions], values[dimensions + 1]);
+    }
+
+    private Feature readFeature(BoundingBox filter) {
+        Feature.Builder builder = Feature.builder();
+        if (skipGeometry) {
+            builder.withoutGeometry();
+        }
+        boolean rejected = false;
+        if (tryNull()) {
+            return builder.build();
+        } else if (peek() != '{') {
+            throw syntaxError("The given json is not a valid Feature");
+        }
+        int featureStart = pos;
+        pos++;
+
+        boolean geometryRead = false;
+        if (!tryConsume('}')) {
+            do {
+                readName();
+                if (rejected) {
+                    skipValue();
+                } else if (nameIs(TYPE)) {
+                    int start = readStringBounds();
+                    if (escaped || !equalsIgnoreCase(start, pos - 1, FEATURE_TYPE)) {
+                        throw new IllegalArgumentException("The given json is not a valid Feature, the type must be Feature, current type=" + (escaped ? decode(start, pos - 1) : utf8(start, pos - 1)));
+                    }
+                } else if (nameIs(PROPERTIES)) {
+                    readProperties(builder);
+                } else if (nameIs(GEOMETRY)) {
+                    geometryRead = true;
+                    if (skipGeometry) {
+                        skipValue();
+                    } else {
+                        skipWhitespace();
+                        int geometryStart = pos;
+                        Geometry<?> geometry = lazyGeometry ? readLazyGeometry(filter) : readGeometry(filter);
+                        rejected = filter != null && geometry == null;
+                        builder.withGeometry(rawPassthrough && geometry != null ? geometry.withRawJson(utf8(geometryStart, pos)) : geometry);
+                    }
+                } else if (nameIs(BBOX) && filter != null && !geometryRead) {
+                    BoundingBox bbox = readBoundingBox();
+                    rejected = bbox != null && !bbox.intersects(filter);
+                } else if (nameIs(ID)) {
+                    builder.withId(Optional.of(readId()));
+                } else {
+                    skipValue();
+                }
+            } while (tryConsume(','));
+            expect('}');
+        }
+
+        // The json text is the one of the Feature only if nothing has been skipped
+        if (rawPassthrough && !rejected && propertyNames == null && !skipGeometry) {
+            builder.withRawJson(utf8(featureStart, pos));
+        }
+        return rejected ? null : builder.build();
+    }
+
+    private String readId() {
+        if (peek() == '"') {
+            return readString();
+        }
+        int start = scanNumber();
+        return chars.subSequence(start, pos).toString();
+    }
+
+    private void readProperties(Feature.Builder builder) {
+        if (tryNull()) {
+            builder.withProperties(Collections.emptyMap());
+        } else if (propertyNames != null && propertyNames.isEmpty()) {
+            skipValue();
+        } else if (lazyProperties) {
+            if (peek() != '{') {
+                throw syntaxError("The given json is not a valid Feature, the properties must be an object");
+            }
+            builder.withRawProperties(propertyNames == null ? readRaw() : readRawObject(propertyNames));
+        } else {
+            PropertyShape.Builder shape = shapes.builder();
+            PropertyValues values = new PropertyValues();
+            expect('{');
+            if (!tryConsume('}')) {
+                do {
+                    readName();
+                    String name = nameString();
+                    if (propertyNames == null || propertyNames.contains(name)) {
+                        readPropertyValue(values, shape.add(name));
+                    } else {
+                        skipValue();
+                    }
+                } while (tryConsume(','));
+                expect('}');
+            }
+            builder.withProperties(shape.build(), values);
+        }
+    }
+
+    /**
+     * Reads a property value, keeping the numbers and the booleans as primitives.
+     */
+    private void readPropertyValue(PropertyValues values, int index) {
+        switch (peek()) {
+            case '"':
+                String value = readString();
+                values.set(index, dictionary != null ? dictionary.primitive(value) : new JsonPrimitive(value));
+                break;
+            case 't':
+                expectLiteral(TRUE);
+                values.setBoolean(index, true);
+                break;
+            case 'f':
+                expectLiteral(FALSE);
+                values.setBoolean(index, false);
+                break;
+            case '{':
+            case '[':
+            case 'n':
+                values.set(index, readElement());
+                break;
+            default:
+                int start = scanNumber();
+                values.setNumber(index, chars, start, pos);
+        }
+    }
+
+    private JsonElement readElement() {
+        switch (peek()) {
+            case '{':
+                pos++;
+                JsonObject object = new JsonObject();
+                if (!tryConsume('}')) {
+                    do {
+                        readName();
+                        String name = nameString();
+                        object.add(name, readElement());
+                    } while (tryConsume(','));
+                    expect('}');
+                }
+                return object;
+            case '[':
+                pos++;
+                JsonArray array = new JsonArray();
+                if (!tryConsume(']')) {
+                    do {
+                        array.add(readElement());
+                    } while (tryConsume(','));
+                    expect(']');
+                }
+                return array;
+            case '"':
+                return new JsonPrimitive(readString());
+            case 't':
+                expectLiteral(TRUE);
+                return new JsonPrimitive(true);
+            case 'f':
+                expectLiteral(FALSE);
+                return new JsonPrimitive(false);
+            case 'n':
+                expectLiteral(NULL);
+                return JsonNull.INSTANCE;
+            default:
+                int start = scanNumber();
+                return new JsonPrimitive(new LazyNumber(chars.subSequence(start, pos).toString()));
+        }
+    }
+
+    private String readRaw() {
+        skipWhitespace();
+        int start = pos;
+        skipValue();
+        return utf8(start, pos);
+    }
+
+    private String readRawObject(Set<String> names) {
+        StringBuilder json = new StringBuilder("{");
+        expect('{');
+        if (!tryConsume('}')) {
+            do {
+                readName();
+                if (names.contains(nameString())) {
+                    if (json.length() > 1) {
+                        json.append(',');
+                    }
+                    json.append(utf8(nameStart - 1, nameEnd + 1)).append(':').append(readRaw());
+                } else {
+                    skipValue();
+                }
+            } while (tryConsume(','));
+            expect('}');
+        }
+        return json.append('}').toString();
+    }
+
+    // Lexer
+
+    private void skipWhitespace() {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private byte peek() {
+        skipWhitespace();
+        if (pos >= limit) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return buffer.get(pos);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw syntaxError("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private boolean tryConsume(char c) {
+        if (peek() == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean tryNull() {
+        if (peek() == 'n') {
+            expectLiteral(NULL);
+            return true;
+        }
+        return false;
+    }
+
+    private void expectLiteral(byte[] literal) {
+        if (!equals(pos, Math.min(pos + literal.length, limit), literal)) {
+            throw syntaxError("Expected '" + new String(literal, StandardCharsets.US_ASCII) + "'");
+        }
+        pos += literal.length;
+    }
+
+    /**
+     * Reads a member name and the following colon. The name is kept as bounds in the buffer, it is decoded only if
+     * it contains escapes.
+     */
+    private void readName() {
+        int start = readStringBounds();
+        nameStart = start;
+        nameEnd = pos - 1;
+        escapedName = escaped ? decode(start, nameEnd) : null;
+        expect(':');
+    }
+
+    private boolean nameIs(byte[] name) {
+        return escapedName == null
+                ? equals(nameStart, nameEnd, name)
+                : escapedName.equals(new String(name, StandardCharsets.US_ASCII));
+    }
+
+    private boolean nameIsIgnoreCase(byte[] name) {
+        return escapedName == null
+                ? equalsIgnoreCase(nameStart, nameEnd, name)
+                : escapedName.equalsIgnoreCase(new String(name, StandardCharsets.US_ASCII));
+    }
+
+    private String nameString() {
+        return escapedName == null ? utf8(nameStart, nameEnd) : escapedName;
+    }
+
+    private String readString() {
+        int start = readStringBounds();
+        return escaped ? decode(start, pos - 1) : utf8(start, pos - 1);
+    }
+
+    /**
+     * Moves after the next string, setting the escaped flag.
+     *
+     * @return the index of the first byte of the string content.
+     */
+    private int readStringBounds() {
+        expect('"');
+        int start = pos;
+        escaped = false;
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == '"') {
+                pos++;
+                return start;
+            } else if (b == '\\') {
+                escaped = true;
+                pos += 2;
+            } else {
+                pos++;
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    /**
+     * Scans a json number: an optional minus, an integer part without leading zeros, an optional fraction and an
+     * optional exponent.
+     *
+     * @return the index of the first byte of the number.
+     */
+    private int scanNumber() {
+        skipWhitespace();
+        int start = pos;
+        if (pos < limit && buffer.get(pos) == '-') {
+            pos++;
+        }
+        if (pos < limit && buffer.get(pos) == '0') {
+            pos++;
+        } else if (scanDigits() == 0) {
+            throw syntaxError("Expected a number");
+        }
+        if (pos < limit && buffer.get(pos) == '.') {
+            pos++;
+            if (scanDigits() == 0) {
+                throw syntaxError("Expected a digit after the decimal point");
+            }
+        }
+        if (pos < limit && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+            pos++;
+            if (pos < limit && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+                pos++;
+            }
+            if (scanDigits() == 0) {
+                throw syntaxError("Expected a digit in the exponent");
+            }
+        }
+        if (pos < limit && isNumberByte(buffer.get(pos))) {
+            throw syntaxError("Malformed number");
+        }
+        return start;
+    }
+
+    private int scanDigits() {
+        int start = pos;
+        while (pos < limit && buffer.get(pos) >= '0' && buffer.get(pos) <= '9') {
+            pos++;
+        }
+        return pos - start;
+    }
+
+    private double readDouble() {
+        int start = scanNumber();
+        return DoubleParser.parseDouble(chars, start, pos);
+    }
+
+    private void skipValue() {
+        switch (peek()) {
+            case '{':
+            case '[':
+                int depth = 0;
+                do {
+                    if (pos >= limit) {
+                        throw syntaxError("Unexpected end of input");
+                    }
+                    byte b = buffer.get(pos);
+                    if (b == '"') {
+                        readStringBounds();
+                    } else {
+                        if (b == '{' || b == '[') {
+                            depth++;
+                        } else if (b == '}' || b == ']') {
+                            depth--;
+                        }
+                        pos++;
+                    }
+                } while (depth > 0);
+                break;
+            case '"':
+                readStringBounds();
+                break;
+            case 't':
+                expectLiteral(TRUE);
+                break;
+            case 'f':
+                expectLiteral(FALSE);
+                break;
+            case 'n':
+                expectLiteral(NULL);
+                break;
+            default:
+                scanNumber();
+        }
+    }
+
+    /**
+     * Decodes the UTF-8 content of a string with escapes, between the given indexes.
+     */
+    private String decode(int from, int to) {
+        StringBuilder unescaped = null;
+        int runStart = from;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '\\') {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder(to - from);
+                }
+                unescaped.append(utf8(runStart, i));
+                i++;
+                byte escape = buffer.get(i);
+                switch (escape) {
+                    case 'b':
+                        unescaped.append('\b');
+                        break;
+                    case 'f':
+                        unescaped.append('\f');
+                        break;
+                    case 'n':
+                        unescaped.append('\n');
+                        break;
+                    case 'r':
+                        unescaped.append('\r');
+                        break;
+                    case 't':
+                        unescaped.append('\t');
+                        break;
+                    case 'u':
+                        if (i + 4 >= to) {
+                            throw syntaxError("Invalid unicode escape");
+                        }
+                        unescaped.append((char) Integer.parseInt(utf8(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default:
+                        unescaped.append((char) escape);
+                }
+                runStart = i + 1;
+            }
+        }
+        return unescaped == null ? utf8(from, to) : unescaped.append(utf8(runStart, to)).toString();
+    }
+
+    private String utf8(int from, int to) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[to - from];
+        ByteBuffer source = buffer.duplicate();
+        ((Buffer) source).position(from);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A view of the bytes between the given indexes, sharing them with the buffer.
+     */
+    private ByteBuffer slice(int from, int to) {
+        ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).limit(to);
+        ((Buffer) slice).position(from);
+        return slice.slice();
+    }
+
+    private boolean equals(int from, int to, byte[] expected) {
+        if (to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(from + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsIgnoreCase(int from, int to, byte[] expected) {
+        if (to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (Character.toLowerCase((char) buffer.get(from + i)) != Character.toLowerCase((char) expected[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumberByte(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException(message + " at byte " + pos);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads the features of a FeatureCollection, skipping its other members.
+     */
+    private final class FeatureIterator implements Iterator<Feature> {
+
+        private boolean started = false;
+        private boolean finished = false;
+        private boolean first = true;
+        private Feature next = null;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && advance()) {
+                next = readFeature(boundingBoxFilter);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Feature next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more features");
+            }
+            Feature feature = next;
+            next = null;
+            return feature;
+        }
+
+        private boolean advance() {
+            if (finished) {
+                return false;
+            }
+
+            if (!started) {
+                started = true;
+                if (peek() != '{') {
+                    throw syntaxError("The given json is not a valid FeatureCollection");
+                }
+                pos++;
+                if (!skipToFeatures()) {
+                    finished = true;
+                    throw new IllegalArgumentException("Required field 'features' is missing");
+                }
+            }
+
+            boolean hasNext = first ? peek() != ']' : tryConsume(',');
+            first = false;
+            if (!hasNext) {
+                expect(']');
+                while (tryConsume(',')) {
+                    readName();
+                    skipValue();
+                }
+                expect('}');
+                finished = true;
+            }
+            return hasNext;
+        }
+
+        private boolean skipToFeatures() {
+            if (tryConsume('}')) {
+                return false;
+            }
+            do {
+                readName();
+                if (nameIsIgnoreCase(FEATURES)) {
+                    expect('[');
+                    return true;
+                }
+                skipValue();
+            } while (tryConsume(','));
+            expect('}');
+            return false;
+        }
+    }
+
+    /**
+     * A view of the ascii bytes of the buffer as chars, to parse the numbers in place.
+     */
+    private static final class AsciiChars implements CharSequence {
+
+        private final ByteBuffer buffer;
+
+        private AsciiChars(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int length() {
+            return buffer.limit();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = charAt(start + i);
+            }
+            return new String(chars);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
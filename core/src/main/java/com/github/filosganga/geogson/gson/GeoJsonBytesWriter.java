@@ -0,0 +1,514 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.GeometryCollection;
+import com.github.filosganga.geogson.model.LazyGeometry;
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.github.filosganga.geogson.model.positions.Positions;
+import com.github.filosganga.geogson.model.positions.SinglePosition;
+import com.github.filosganga.geogson.util.DoubleFormatter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Writes GeoJson straight to UTF-8 bytes, in a growable byte array. It writes the same json the Gson adapters of the
+ * {@link GeometryAdapterFactory} write with the default Gson settings, so the null members of the objects are
+ * omitted, only without any whitespace and with the coordinates formatted as their shortest decimal by
+ * {@link DoubleFormatter}, so neither the numbers nor the member names allocate a String. The coordinate
+ * precision options of the factory apply. The json text kept with the Geometries and Features read with the raw
+ * passthrough is copied as it is.
+ *
+ * Each write appends a json text to the bytes written so far. A GeoJsonBytesWriter can be reused after a
+ * {@link #reset()} and it is not thread safe.
+ *
+ * eg: {@code
+ *     GeoJsonBytesWriter writer = new GeoJsonBytesWriter();
+ *     writer.writeFeatureCollection(collection).writeTo(output);
+ * }
+ */
+public final class GeoJsonBytesWriter {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private static final byte[] TYPE = name(FeatureAdapter.TYPE_NAME);
+    private static final byte[] COORDINATES = name("coordinates");
+    private static final byte[] GEOMETRIES = name("geometries");
+    private static final byte[] GEOMETRY = name(FeatureAdapter.GEOMETRY_NAME);
+    private static final byte[] PROPERTIES = name(FeatureAdapter.PROPERTIES_NAME);
+    private static final byte[] ID = name(FeatureAdapter.ID_NAME);
+    private static final byte[] FEATURES = name(FeatureCollectionReader.FEATURES_NAME);
+    private static final byte[] FEATURE_TYPE = quoted(FeatureAdapter.FEATURE_TYPE);
+    private static final byte[] FEATURE_COLLECTION_TYPE = quoted(FeatureCollectionWriter.FEATURE_COLLECTION_TYPE);
+
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+
+    private static final byte[][] GEOMETRY_TYPE_VALUES = new byte[Geometry.Type.values().length][];
+
+    private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+
+    static {
+        for (Geometry.Type type : Geometry.Type.values()) {
+            GEOMETRY_TYPE_VALUES[type.ordinal()] = quoted(type.getValue());
+        }
+    }
+
+    private final int coordinatePrecision;
+    private final int altitudePrecision;
+    private final boolean rawJsonWritten;
+
+    private byte[] bytes;
+    private int size = 0;
+
+    /**
+     * Creates a GeoJsonBytesWriter with the default initial capacity and options.
+     */
+    public GeoJsonBytesWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a GeoJsonBytesWriter with the given initial capacity and the default options.
+     *
+     * @param capacity The initial capacity in bytes.
+     */
+    public GeoJsonBytesWriter(int capacity) {
+        this(capacity, new GeometryAdapterFactory());
+    }
+
+    /**
+     * Creates a GeoJsonBytesWriter with the default initial capacity.
+     *
+     * @param options The GeometryAdapterFactory whose options apply.
+     */
+    public GeoJsonBytesWriter(GeometryAdapterFactory options) {
+        this(DEFAULT_CAPACITY, options);
+    }
+
+    /**
+     * Creates a GeoJsonBytesWriter with the given initial capacity.
+     *
+     * @param capacity The initial capacity in bytes.
+     * @param options The GeometryAdapterFactory whose options apply.
+     */
+    public GeoJsonBytesWriter(int capacity, GeometryAdapterFactory options) {
+        this.bytes = new byte[checkArgument(capacity, x -> x > 0, "The capacity must be positive")];
+        this.coordinatePrecision = checkNotNull(options, "The options cannot be null").getCoordinatePrecision();
+        this.altitudePrecision = options.getAltitudePrecision();
+        this.rawJsonWritten = options.isRawJsonWritten();
+    }
+
+    /**
+     * Writes the given Geometry.
+     *
+     * @param geometry The Geometry to write.
+     * @return this writer.
+     * @throws IllegalArgumentException if a coordinate is NaN or infinite.
+     */
+    public GeoJsonBytesWriter writeGeometry(Geometry<?> geometry) {
+        if (geometry == null) {
+            write(NULL);
+        } else {
+            geometry(geometry);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given Feature.
+     *
+     * @param feature The Feature to write.
+     * @return this writer.
+     * @throws IllegalArgumentException if a coordinate or a property number is NaN or infinite.
+     */
+    public GeoJsonBytesWriter writeFeature(Feature feature) {
+        if (feature == null) {
+            write(NULL);
+        } else {
+            feature(feature);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given FeatureCollection.
+     *
+     * @param featureCollection The FeatureCollection to write.
+     * @return this writer.
+     * @throws IllegalArgumentException if a coordinate or a property number is NaN or infinite.
+     */
+    public GeoJsonBytesWriter writeFeatureCollection(FeatureCollection featureCollection) {
+        if (featureCollection == null) {
+            write(NULL);
+            return this;
+        }
+
+        write('{');
+        write(TYPE);
+        write(FEATURE_COLLECTION_TYPE);
+        write(',');
+        write(FEATURES);
+        write('[');
+        boolean first = true;
+        for (Feature feature : featureCollection.features()) {
+            if (!first) {
+                write(',');
+            }
+            first = false;
+            writeFeature(feature);
+        }
+        write(']');
+        write('}');
+        return this;
+    }
+
+    /**
+     * The number of bytes written so far.
+     *
+     * @return the number of bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A copy of the bytes written so far.
+     *
+     * @return the UTF-8 GeoJson.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * A read-only view of the bytes written so far, valid until the next write or reset.
+     *
+     * @return the UTF-8 GeoJson, between position 0 and the limit.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, size).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the bytes written so far to the given OutputStream.
+     *
+     * @param output The OutputStream to write to.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        checkNotNull(output, "The output cannot be null").write(bytes, 0, size);
+    }
+
+    /**
+     * Discards the bytes written so far, keeping the allocated capacity.
+     *
+     * @return this writer.
+     */
+    public GeoJsonBytesWriter reset() {
+        size = 0;
+        return this;
+    }
+
+    private void feature(Feature feature) {
+        if (rawJsonWritten && feature.rawJson().isPresent()) {
+            utf8(feature.rawJson().get(), false);
+            return;
+        }
+        write('{');
+        Optional<String> id = feature.id();
+        if (id.isPresent()) {
+            write(ID);
+            string(id.get());
+            write(',');
+        }
+        write(TYPE);
+        write(FEATURE_TYPE);
+        write(',');
+
+        write(PROPERTIES);
+        Optional<String> rawProperties = feature.rawProperties();
+        if (rawProperties.isPresent()) {
+            utf8(rawProperties.get(), false);
+        } else {
+            object(feature.properties());
+        }
+
+        if (feature.geometry() != null) {
+            write(',');
+            write(GEOMETRY);
+            geometry(feature.geometry());
+        }
+        write('}');
+    }
+
+    private void geometry(Geometry<?> geometry) {
+        if (rawJsonWritten && geometry.rawJson().isPresent()) {
+            utf8(geometry.rawJson().get(), false);
+            return;
+        }
+        write('{');
+        write(TYPE);
+        write(GEOMETRY_TYPE_VALUES[geometry.type().ordinal()]);
+        write(',');
+        if (geometry.type() == Geometry.Type.GEOMETRY_COLLECTION) {
+            write(GEOMETRIES);
+            write('[');
+            boolean first = true;
+            Geometry<?> collection = geometry instanceof LazyGeometry ? ((LazyGeometry<?>) geometry).geometry() : geometry;
+            for (Geometry<?> child : ((GeometryCollection) collection).getGeometries()) {
+                if (!first) {
+                    write(',');
+                }
+                first = false;
+                writeGeometry(child);
+            }
+            write(']');
+        } else {
+            write(COORDINATES);
+            positions(geometry.positions());
+        }
+        write('}');
+    }
+
+    private void positions(Positions positions) {
+        if (positions instanceof SinglePosition) {
+            SinglePosition sp = (SinglePosition) positions;
+            position(sp.lon(), sp.lat(), sp.alt());
+        } else if (positions instanceof LinearPositions) {
+            LinearPositions lp = (LinearPositions) positions;
+            write('[');
+            for (int i = 0; i < lp.size(); i++) {
+                if (i > 0) {
+                    write(',');
+                }
+                position(lp.lon(i), lp.lat(i), lp.alt(i));
+            }
+            write(']');
+        } else {
+            write('[');
+            boolean first = true;
+            for (Positions child : positions.children()) {
+                if (!first) {
+                    write(',');
+                }
+                first = false;
+                positions(child);
+            }
+            write(']');
+        }
+    }
+
+    private void position(double lon, double lat, double alt) {
+        ensureCapacity(3 * DoubleFormatter.MAX_LENGTH + 4);
+        bytes[size++] = '[';
+        coordinate(lon, coordinatePrecision);
+        bytes[size++] = ',';
+        coordinate(lat, coordinatePrecision);
+        if (!Double.isNaN(alt)) {
+            bytes[size++] = ',';
+            coordinate(alt, altitudePrecision);
+        }
+        bytes[size++] = ']';
+    }
+
+    private void coordinate(double value, int precision) {
+        size = precision == GeometryAdapterFactory.FULL_PRECISION
+                ? DoubleFormatter.format(value, bytes, size)
+                : DoubleFormatter.format(value, precision, bytes, size);
+    }
+
+    private void object(Map<String, JsonElement> members) {
+        write('{');
+        boolean first = true;
+        for (Map.Entry<String, JsonElement> member : members.entrySet()) {
+            if (member.getValue() == null || member.getValue().isJsonNull()) {
+                continue;
+            }
+            if (!first) {
+                write(',');
+            }
+            first = false;
+            string(member.getKey());
+            write(':');
+            element(member.getValue());
+        }
+        write('}');
+    }
+
+    private void element(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            write(NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            write('{');
+            boolean first = true;
+            for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+                if (member.getValue().isJsonNull()) {
+                    continue;
+                }
+                if (!first) {
+                    write(',');
+                }
+                first = false;
+                string(member.getKey());
+                write(':');
+                element(member.getValue());
+            }
+            write('}');
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            write('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) {
+                    write(',');
+                }
+                element(array.get(i));
+            }
+            write(']');
+        } else {
+            primitive(element.getAsJsonPrimitive());
+        }
+    }
+
+    private void primitive(JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            write(primitive.getAsBoolean() ? TRUE : FALSE);
+        } else if (primitive.isString()) {
+            string(primitive.getAsString());
+        } else {
+            Number number = primitive.getAsNumber();
+            if (number instanceof Double || number instanceof Float) {
+                ensureCapacity(DoubleFormatter.MAX_LENGTH);
+                size = DoubleFormatter.format(number.doubleValue(), bytes, size);
+            } else {
+                // Integers and the lazily parsed numbers keep their text
+                utf8(number.toString(), false);
+            }
+        }
+    }
+
+    private void string(String value) {
+        write('"');
+        utf8(value, true);
+        write('"');
+    }
+
+    /**
+     * Writes the given chars as UTF-8, escaping them as the content of a json string if quoted.
+     */
+    private void utf8(String value, boolean quoted) {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 && (!quoted || (c >= 0x20 && c != '"' && c != '\\'))) {
+                if (size == bytes.length) {
+                    ensureCapacity(length - i);
+                }
+                bytes[size++] = (byte) c;
+            } else {
+                ensureCapacity(length - i + 6);
+                if (c < 0x80) {
+                    escape(c);
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | c >> 6);
+                    bytes[size++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[size++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[size++] = (byte) (0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(c) || (quoted && (c == '\u2028' || c == '\u2029'))) {
+                    // Unpaired surrogates cannot be encoded in UTF-8, the escape keeps them
+                    escape(c);
+                } else {
+                    bytes[size++] = (byte) (0xE0 | c >> 12);
+                    bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[size++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+    }
+
+    private void escape(char c) {
+        bytes[size++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                bytes[size++] = (byte) c;
+                break;
+            case '\n':
+                bytes[size++] = 'n';
+                break;
+            case '\r':
+                bytes[size++] = 'r';
+                break;
+            case '\t':
+                bytes[size++] = 't';
+                break;
+            case '\b':
+                bytes[size++] = 'b';
+                break;
+            case '\f':
+                bytes[size++] = 'f';
+                break;
+            default:
+                bytes[size++] = 'u';
+                bytes[size++] = HEX_DIGITS[c >> 12 & 0xF];
+                bytes[size++] = HEX_DIGITS[c >> 8 & 0xF];
+                bytes[size++] = HEX_DIGITS[c >> 4 & 0xF];
+                bytes[size++] = HEX_DIGITS[c & 0xF];
+        }
+    }
+
+    private void write(byte[] value) {
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    private void write(char c) {
+        if (size == bytes.length) {
+            ensureCapacity(1);
+        }
+        bytes[size++] = (byte) c;
+    }
+
+    private void ensureCapacity(int required) {
+        if (bytes.length - size < required) {
+            int capacity = Math.max(bytes.length * 2, size + required);
+            if (capacity < 0) {
+                throw new OutOfMemoryError("The GeoJson is larger than 2GB");
+            }
+            bytes = Arrays.copyOf(bytes, capacity);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] quoted(String value) {
+        return ascii('"' + value + '"');
+    }
+
+    private static byte[] name(String value) {
+        return ascii('"' + value + "\":");
+    }
+}
@@ -18,7 +18,9 @@ package com.github.filosganga.geogson.gson;
 
 import com.github.filosganga.geogson.model.*;
 import com.github.filosganga.geogson.model.positions.*;
+import com.github.filosganga.geogson.util.DoubleFormatter;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
@@ -27,45 +29,340 @@ import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Optional;
+import java.util.Set;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
 
 /**
  * The Gson TypeAdapterFactory responsible to serialize/de-serialize all the {@link Geometry}, {@link Feature}
- * and {@link FeatureCollection} instances.
+ * and {@link FeatureCollection} instances, and the {@link TypedFeature} and {@link TypedFeatureCollection} ones,
+ * whose properties are bound to the type given by their type argument.
  */
 public final class GeometryAdapterFactory implements TypeAdapterFactory {
 
+    static final int FULL_PRECISION = -1;
+
+    static final int DEFAULT_DICTIONARY_ENTRIES = 65536;
+    static final int DEFAULT_DICTIONARY_LENGTH = 64;
+
+    private boolean lazyProperties = false;
+    private Set<String> propertyNames = null;
+    private boolean skipGeometry = false;
+    private BoundingBox boundingBoxFilter = null;
+    private int coordinatePrecision = FULL_PRECISION;
+    private int altitudePrecision = FULL_PRECISION;
+    private boolean rawPassthrough = false;
+    private boolean lazyGeometry = false;
+    private int dictionaryEntries = 0;
+    private int dictionaryLength = 0;
+
+    /**
+     * Returns a copy of this factory that keeps the {@link Feature} properties as raw json, parsed only when they are
+     * first accessed, and written back as they are.
+     *
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withLazyProperties() {
+        GeometryAdapterFactory copy = copy();
+        copy.lazyProperties = true;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that reads only the {@link Feature} properties with the given names. The other
+     * properties values are skipped without being parsed.
+     *
+     * @param names The names of the properties to read.
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withOnlyProperties(String... names) {
+        return withOnlyProperties(new HashSet<>(Arrays.asList(names)));
+    }
+
+    /**
+     * Returns a copy of this factory that reads only the {@link Feature} properties with the given names. The other
+     * properties values are skipped without being parsed.
+     *
+     * @param names The names of the properties to read.
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withOnlyProperties(Set<String> names) {
+        GeometryAdapterFactory copy = copy();
+        copy.propertyNames = Collections.unmodifiableSet(new HashSet<>(checkNotNull(names, "The names cannot be null")));
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that skips the {@link Feature} properties, the read Features will have no
+     * properties.
+     *
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withoutProperties() {
+        return withOnlyProperties(Collections.emptySet());
+    }
+
+    /**
+     * Returns a copy of this factory that skips the {@link Feature} geometry, the read Features will have a null
+     * geometry. It is useful to scan the Features attributes only.
+     *
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withoutGeometry() {
+        GeometryAdapterFactory copy = copy();
+        copy.skipGeometry = true;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that reads, from a {@link FeatureCollection}, only the {@link Feature}s
+     * intersecting the given BoundingBox. A Feature is rejected by its bbox, when it comes before its geometry,
+     * otherwise by the extent of its coordinates, computed while they are parsed.
+     *
+     * @param filter The BoundingBox the read features have to intersect.
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withBoundingBoxFilter(BoundingBox filter) {
+        GeometryAdapterFactory copy = copy();
+        copy.boundingBoxFilter = checkNotNull(filter, "The filter cannot be null");
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that writes the longitudes and latitudes rounded to the given number of
+     * decimals, without trailing zeros. The altitudes keep their own precision, see
+     * {@link #withAltitudePrecision(int)}.
+     *
+     * @param decimals The number of decimals, from 0 to {@link DoubleFormatter#MAX_DECIMALS}.
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withCoordinatePrecision(int decimals) {
+        GeometryAdapterFactory copy = copy();
+        copy.coordinatePrecision = checkArgument(decimals, x -> x >= 0 && x <= DoubleFormatter.MAX_DECIMALS,
+                "The decimals must be between 0 and " + DoubleFormatter.MAX_DECIMALS);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that writes the altitudes rounded to the given number of decimals, without
+     * trailing zeros.
+     *
+     * @param decimals The number of decimals, from 0 to {@link DoubleFormatter#MAX_DECIMALS}.
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withAltitudePrecision(int decimals) {
+        GeometryAdapterFactory copy = copy();
+        copy.altitudePrecision = checkArgument(decimals, x -> x >= 0 && x <= DoubleFormatter.MAX_DECIMALS,
+                "The decimals must be between 0 and " + DoubleFormatter.MAX_DECIMALS);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that keeps the original json text of the read {@link Geometry} and
+     * {@link Feature} instances, so that they are written back as they are, as long as they are not rebuilt. The json
+     * text of a Feature is not kept if its properties or its geometry are skipped, and it is not written back if the
+     * coordinates precision is set. The Gson adapters re-emit the text token by token while reading, the
+     * {@link GeoJsonBytesReader} slices it straight out of the source bytes instead.
+     *
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withRawPassthrough() {
+        GeometryAdapterFactory copy = copy();
+        copy.rawPassthrough = true;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that reads the {@link Feature} geometries lazily with a {@link GeoJsonBytesReader}:
+     * only their type and bbox are read, the bytes of their coordinates are kept undecoded and decoded on the first
+     * access to them. The read geometries are {@link LazyGeometry} instances, but the GeometryCollections that are
+     * decoded straight away. With a bounding box filter, a geometry with a bbox is accepted by its bbox alone, the
+     * others are decoded to be tested. The Gson adapters decode the geometries straight away, as keeping the text of
+     * their coordinates would cost as much as decoding them.
+     *
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withLazyGeometry() {
+        GeometryAdapterFactory copy = copy();
+        copy.lazyGeometry = true;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this factory that reads the string values of the {@link Feature} properties through a
+     * dictionary, so that the same string is read as the same JsonPrimitive instance. The dictionary keeps up to
+     * {@value #DEFAULT_DICTIONARY_ENTRIES} strings of up to {@value #DEFAULT_DICTIONARY_LENGTH} chars.
+     *
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withStringDictionary() {
+        return withStringDictionary(DEFAULT_DICTIONARY_ENTRIES, DEFAULT_DICTIONARY_LENGTH);
+    }
+
+    /**
+     * Returns a copy of this factory that reads the string values of the {@link Feature} properties through a
+     * dictionary, so that the same string is read as the same JsonPrimitive instance. Only the top level values of
+     * the properties are looked up, and only the strings up to the given length, so that free text values do not
+     * fill the dictionary. Once full, the dictionary does not take new strings. Each read session has its own
+     * dictionary, dropped when the session ends: a FeatureCollection read, a {@link FeatureCollectionReader}, a
+     * {@link FeatureSequenceReader} or a {@link GeoJsonBytesReader}. A single Feature is read without a dictionary.
+     *
+     * @param maxEntries The maximum number of strings in the dictionary.
+     * @param maxLength The maximum length in chars of a string in the dictionary.
+     * @return a new GeometryAdapterFactory.
+     */
+    public GeometryAdapterFactory withStringDictionary(int maxEntries, int maxLength) {
+        GeometryAdapterFactory copy = copy();
+        copy.dictionaryEntries = checkArgument(maxEntries, x -> x > 0, "The max entries must be positive");
+        copy.dictionaryLength = checkArgument(maxLength, x -> x > 0, "The max length must be positive");
+        return copy;
+    }
+
+    boolean isLazyProperties() {
+        return lazyProperties;
+    }
+
+    /**
+     * The names of the properties to read, null to read all of them.
+     */
+    Set<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    boolean isSkipGeometry() {
+        return skipGeometry;
+    }
+
+    /**
+     * The BoundingBox the features of a FeatureCollection have to intersect, null to read all of them.
+     */
+    BoundingBox getBoundingBoxFilter() {
+        return boundingBoxFilter;
+    }
+
+    /**
+     * The number of decimals of the written longitudes and latitudes, {@link #FULL_PRECISION} to write them as they
+     * are.
+     */
+    int getCoordinatePrecision() {
+        return coordinatePrecision;
+    }
+
+    /**
+     * The number of decimals of the written altitudes, {@link #FULL_PRECISION} to write them as they are.
+     */
+    int getAltitudePrecision() {
+        return altitudePrecision;
+    }
+
+    boolean isRawPassthrough() {
+        return rawPassthrough;
+    }
+
+    boolean isLazyGeometry() {
+        return lazyGeometry;
+    }
+
+    /**
+     * A new dictionary of the string values of the properties, null if they are not looked up in a dictionary.
+     */
+    StringDictionary newStringDictionary() {
+        return dictionaryEntries == 0 ? null : new StringDictionary(dictionaryEntries, dictionaryLength);
+    }
+
+    /**
+     * Whether the json text kept with the Geometries and Features is written as it is, that is unless the coordinates
+     * have to be rounded.
+     */
+    boolean isRawJsonWritten() {
+        return coordinatePrecision == FULL_PRECISION && altitudePrecision == FULL_PRECISION;
+    }
+
+    private GeometryAdapterFactory copy() {
+        GeometryAdapterFactory copy = new GeometryAdapterFactory();
+        copy.lazyProperties = lazyProperties;
+        copy.propertyNames = propertyNames;
+        copy.skipGeometry = skipGeometry;
+        copy.boundingBoxFilter = boundingBoxFilter;
+        copy.coordinatePrecision = coordinatePrecision;
+        copy.altitudePrecision = altitudePrecision;
+        copy.rawPassthrough = rawPassthrough;
+        copy.lazyGeometry = lazyGeometry;
+        copy.dictionaryEntries = dictionaryEntries;
+        copy.dictionaryLength = dictionaryLength;
+        return copy;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
         if (Geometry.class.isAssignableFrom(type.getRawType())) {
-            return (TypeAdapter<T>) new GeometryAdapter(gson);
+            return (TypeAdapter<T>) new GeometryAdapter(gson, this);
         } else if (Positions.class.isAssignableFrom(type.getRawType())) {
-            return (TypeAdapter<T>) new PositionsAdapter();
+            return (TypeAdapter<T>) new PositionsAdapter(this);
+        } else if (BoundingBox.class.isAssignableFrom(type.getRawType())) {
+            return (TypeAdapter<T>) new BoundingBoxAdapter();
         } else if (Feature.class.isAssignableFrom(type.getRawType())) {
-            return (TypeAdapter<T>) new FeatureAdapter(gson);
+            return (TypeAdapter<T>) new FeatureAdapter(gson, this);
         } else if (FeatureCollection.class.isAssignableFrom(type.getRawType())) {
             return (TypeAdapter<T>) new FeatureCollectionAdapter(gson);
+        } else if (TypedFeature.class.isAssignableFrom(type.getRawType())) {
+            return (TypeAdapter<T>) new TypedFeatureAdapter<>(gson, gson.getAdapter(propertiesType(type)));
+        } else if (TypedFeatureCollection.class.isAssignableFrom(type.getRawType())) {
+            TypeToken<?> featureType = TypeToken.getParameterized(TypedFeature.class, propertiesType(type).getType());
+            return (TypeAdapter<T>) new TypedFeatureCollectionAdapter<>((TypeAdapter<TypedFeature<Object>>) gson.getAdapter(featureType));
         } else {
             return null;
         }
     }
 
-    private static class GeometryAdapter extends TypeAdapter<Geometry> {
+    /**
+     * The type of the properties of a TypedFeature or TypedFeatureCollection type, JsonElement if it is not given.
+     */
+    private static TypeToken<?> propertiesType(TypeToken<?> type) {
+        Type properties = JsonElement.class;
+        if (type.getType() instanceof ParameterizedType) {
+            properties = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+            if (properties instanceof WildcardType) {
+                properties = ((WildcardType) properties).getUpperBounds()[0];
+            }
+        }
+        return properties instanceof TypeVariable ? TypeToken.get(JsonElement.class) : TypeToken.get(properties);
+    }
+
+    static final class GeometryAdapter extends TypeAdapter<Geometry> {
 
         private final TypeAdapter<Geometry> geometryAdapter;
         private final TypeAdapter<Positions> positionsAdapter;
+        private final TypeAdapter<BoundingBox> boundingBoxAdapter;
+        private final boolean rawPassthrough;
+        private final boolean rawJsonWritten;
 
-        private GeometryAdapter(Gson gson) {
+        private GeometryAdapter(Gson gson, GeometryAdapterFactory options) {
             this.geometryAdapter = gson.getAdapter(Geometry.class);
             this.positionsAdapter = gson.getAdapter(Positions.class);
+            this.boundingBoxAdapter = gson.getAdapter(BoundingBox.class);
+            this.rawPassthrough = options.isRawPassthrough();
+            this.rawJsonWritten = options.isRawJsonWritten();
         }
 
         @Override
         public void write(JsonWriter out, Geometry value) throws IOException {
             if (value == null) {
                 out.nullValue();
+            } else if (rawJsonWritten && value.rawJson().isPresent()) {
+                RawJson.write(out, (String) value.rawJson().get());
             } else {
                 out.beginObject();
 
@@ -73,7 +370,7 @@ public final class GeometryAdapterFactory implements TypeAdapterFactory {
                 if (value.type() == Geometry.Type.GEOMETRY_COLLECTION) {
                     out.name("geometries");
                     out.beginArray();
-                    GeometryCollection geometries = (GeometryCollection) value;
+                    GeometryCollection geometries = (GeometryCollection) (value instanceof LazyGeometry ? ((LazyGeometry) value).geometry() : value);
                     for (Geometry<?> geometry : geometries.getGeometries()) {
                         geometryAdapter.write(out, geometry);
                     }
@@ -88,6 +385,23 @@ public final class GeometryAdapterFactory implements TypeAdapterFactory {
 
         @Override
         public Geometry<?> read(JsonReader in) throws IOException {
+            if (rawPassthrough && in.peek() == JsonToken.BEGIN_OBJECT) {
+                StringWriter json = new StringWriter();
+                Geometry<?> geometry = read(RawJson.tee(in, json), null);
+                return geometry == null ? null : geometry.withRawJson(json.toString());
+            }
+            return read(in, null);
+        }
+
+        /**
+         * Reads a Geometry, rejecting it as soon as it is known not to intersect the given filter: by its bbox, if it
+         * comes before the coordinates, otherwise by its coordinates, without building its Positions.
+         *
+         * @param in The JsonReader positioned on the Geometry.
+         * @param filter The BoundingBox the Geometry has to intersect, null to accept any Geometry.
+         * @return the Geometry, or null if it is null or it does not intersect the filter.
+         */
+        Geometry<?> read(JsonReader in, BoundingBox filter) throws IOException {
 
             Geometry<?> geometry = null;
             if (in.peek() == JsonToken.NULL) {
@@ -98,21 +412,31 @@ public final class GeometryAdapterFactory implements TypeAdapterFactory {
                 Geometry.Type type = null;
                 Positions positions = null;
                 Geometry<?> geometries = null;
+                boolean rejected = false;
 
                 while (in.hasNext()) {
                     String name = in.nextName();
-                    if ("type".equals(name)) {
+                    if (rejected) {
+                        in.skipValue();
+                    } else if ("type".equals(name)) {
                         type = Geometry.Type.forValue(in.nextString());
                     } else if ("coordinates".equals(name)) {
-                        positions = positionsAdapter.read(in);
+                        positions = filter == null ? positionsAdapter.read(in) : readPositions(in, filter);
+                        rejected = filter != null && positions == null;
                     } else if ("geometries".equals(name)) {
                         geometries = readGeometries(in);
+                        rejected = filter != null && !BoundingBox.builder().add(geometries).intersects(filter);
+                    } else if (BoundingBoxAdapter.BBOX_NAME.equals(name) && filter != null && positions == null && geometries == null) {
+                        BoundingBox bbox = boundingBoxAdapter.read(in);
+                        rejected = bbox != null && !bbox.intersects(filter);
                     } else {
                         in.skipValue();
                     }
                 }
 
-                geometry = buildGeometry(type, positions, geometries);
+                if (!rejected) {
+                    geometry = buildGeometry(type, positions, geometries);
+                }
 
                 in.endObject();
 
@@ -123,6 +447,15 @@ public final class GeometryAdapterFactory implements TypeAdapterFactory {
             return geometry;
         }
 
+        private Positions readPositions(JsonReader in, BoundingBox filter) throws IOException {
+            if (positionsAdapter instanceof PositionsAdapter) {
+                return ((PositionsAdapter) positionsAdapter).read(in, BoundingBox.builder(), filter);
+            } else {
+                Positions positions = positionsAdapter.read(in);
+                return BoundingBox.builder().add(positions).intersects(filter) ? positions : null;
+            }
+        }
+
 
         private Geometry<?> readGeometries(JsonReader in) throws IOException {
             Geometry<?> parsed;
@@ -152,8 +485,8 @@ public final class GeometryAdapterFactory implements TypeAdapterFactory {
             if (in.peek() == JsonToken.BEGIN_OBJECT) {
                 LinkedList<Geometry<?>> geometries = new LinkedList<>();
                 while (in.hasNext()) {
-                    @SuppressWarnings("rawtypes")
-                    Geometry geometry = geometryAdapter.read(in);
+                    // The json text of the collection is kept, not the one of its members
+                    Geometry<?> geometry = rawPassthrough ? read(in, null) : geometryAdapter.read(in);
                     geometries.add(geometry);
                 }
                 parsed = Optional.<Geometry<?>>of(GeometryCollection.of(geometries));
@@ -164,7 +497,7 @@ public final class GeometryAdapterFactory implements TypeAdapterFactory {
             return parsed.orElse(null);
         }
 
-        private Geometry<?> buildGeometry(final Geometry.Type type, final Positions positions, final Geometry<?> geometries) {
+        static Geometry<?> buildGeometry(final Geometry.Type type, final Positions positions, final Geometry<?> geometries) {
             switch (type) {
                 case GEOMETRY_COLLECTION:
                     return geometries;
@@ -0,0 +1,108 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Reads single {@link Feature}s of a FeatureCollection file on demand, by ordinal or by id, using a
+ * {@link FeatureIndex} of the file. Each Feature is read with a positional read of its bytes only, then decoded by a
+ * {@link GeoJsonBytesReader}, so the file is never scanned. The bounding box filter of the options does not apply.
+ *
+ * An IndexedFeatureReader is thread safe, the positional reads do not share a file position.
+ *
+ * eg: {@code
+ *     try (IndexedFeatureReader reader = new IndexedFeatureReader(path, FeatureIndex.readFrom(sidecar), options)) {
+ *         Optional<Feature> feature = reader.read("id");
+ *     }
+ * }
+ */
+public final class IndexedFeatureReader implements Closeable {
+
+    private final FileChannel channel;
+    private final FeatureIndex index;
+    private final GeometryAdapterFactory options;
+
+    /**
+     * Creates an IndexedFeatureReader reading the given file, with the default options.
+     *
+     * @param file The indexed UTF-8 GeoJson file.
+     * @param index The FeatureIndex of the file.
+     * @throws IllegalStateException if the file has changed since it has been indexed.
+     */
+    public IndexedFeatureReader(Path file, FeatureIndex index) throws IOException {
+        this(file, index, new GeometryAdapterFactory());
+    }
+
+    /**
+     * Creates an IndexedFeatureReader reading the given file.
+     *
+     * @param file The indexed UTF-8 GeoJson file.
+     * @param index The FeatureIndex of the file.
+     * @param options The GeometryAdapterFactory whose options apply.
+     * @throws IllegalStateException if the file has changed since it has been indexed.
+     */
+    public IndexedFeatureReader(Path file, FeatureIndex index, GeometryAdapterFactory options) throws IOException {
+        checkNotNull(file, "The file cannot be null");
+        this.index = checkNotNull(index, "The index cannot be null");
+        this.options = checkNotNull(options, "The options cannot be null");
+        if (!index.isUpToDate(file)) {
+            throw new IllegalStateException("The index is stale, the file " + file + " has changed since it has been indexed");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * The number of features of the file.
+     *
+     * @return int
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Reads the feature with the given ordinal.
+     *
+     * @param ordinal The position of the feature in the FeatureCollection, from 0.
+     * @return the Feature.
+     */
+    public Feature read(int ordinal) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(index.length(ordinal));
+        long position = index.offset(ordinal);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, position + bytes.position()) == -1) {
+                throw new EOFException("The file ends before the feature " + ordinal + ", the index is stale");
+            }
+        }
+        ((Buffer) bytes).flip();
+        return new GeoJsonBytesReader(bytes, options).readFeature();
+    }
+
+    /**
+     * Reads the feature with the given id. If many features share the id, it is the first of them.
+     *
+     * @param id The id of the feature.
+     * @return Optional.empty if no feature has the given id. A valued Optional otherwise.
+     */
+    public Optional<Feature> read(String id) throws IOException {
+        OptionalInt ordinal = index.ordinalOf(id);
+        return ordinal.isPresent() ? Optional.of(read(ordinal.getAsInt())) : Optional.empty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
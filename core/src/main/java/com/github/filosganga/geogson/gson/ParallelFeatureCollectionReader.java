@@ -0,0 +1,432 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.PropertyShape;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Reads a {@link FeatureCollection} using many cores. A structural pre-scan finds the boundaries of the features,
+ * then the features array is split in chunks of about the same size, decoded in parallel on a {@link ForkJoinPool}
+ * by a {@link GeoJsonBytesReader} each. The read FeatureCollection keeps the features in their original order.
+ *
+ * The pre-scan only tracks braces, brackets and strings, it does not validate the json outside the features.
+ *
+ * eg: {@code
+ *     FeatureCollection collection = new ParallelFeatureCollectionReader()
+ *         .withOptions(new GeometryAdapterFactory().withLazyProperties())
+ *         .read(path);
+ * }
+ */
+public final class ParallelFeatureCollectionReader {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private GeometryAdapterFactory options = new GeometryAdapterFactory();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Returns a copy of this reader decoding the features with the given options.
+     *
+     * @param options The GeometryAdapterFactory whose options apply.
+     * @return a new ParallelFeatureCollectionReader.
+     */
+    public ParallelFeatureCollectionReader withOptions(GeometryAdapterFactory options) {
+        ParallelFeatureCollectionReader copy = copy();
+        copy.options = checkNotNull(options, "The options cannot be null");
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this reader decoding the features on the given pool, the common pool by default.
+     *
+     * @param pool The ForkJoinPool to decode the features on.
+     * @return a new ParallelFeatureCollectionReader.
+     */
+    public ParallelFeatureCollectionReader withPool(ForkJoinPool pool) {
+        ParallelFeatureCollectionReader copy = copy();
+        copy.pool = checkNotNull(pool, "The pool cannot be null");
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this reader splitting the features in chunks of about the given size, 1MB by default.
+     *
+     * @param chunkSize The size in bytes of a chunk of features.
+     * @return a new ParallelFeatureCollectionReader.
+     */
+    public ParallelFeatureCollectionReader withChunkSize(int chunkSize) {
+        ParallelFeatureCollectionReader copy = copy();
+        copy.chunkSize = checkArgument(chunkSize, x -> x > 0, "The chunk size must be positive");
+        return copy;
+    }
+
+    /**
+     * Reads the FeatureCollection in the given UTF-8 bytes.
+     *
+     * @param bytes The UTF-8 GeoJson.
+     * @return the FeatureCollection.
+     */
+    public FeatureCollection read(byte[] bytes) {
+        return read(ByteBuffer.wrap(checkNotNull(bytes, "The bytes cannot be null")));
+    }
+
+    /**
+     * Reads the FeatureCollection between the position and the limit of the given buffer.
+     *
+     * @param buffer The UTF-8 GeoJson.
+     * @return the FeatureCollection.
+     */
+    public FeatureCollection read(ByteBuffer buffer) {
+        ByteBuffer source = checkNotNull(buffer, "The buffer cannot be null").duplicate();
+
+        FeatureScanner scanner = new FeatureScanner(chunkSize);
+        scanner.scan(source.duplicate(), source.position());
+        List<long[]> chunks = scanner.finish();
+
+        return decode(chunks, chunk -> {
+            ByteBuffer slice = source.duplicate();
+            ((Buffer) slice).limit((int) chunk[1]);
+            ((Buffer) slice).position((int) chunk[0]);
+            return slice;
+        });
+    }
+
+    /**
+     * Reads the FeatureCollection in the given file. The file is scanned sequentially, then each chunk is mapped in
+     * memory on its own, so the file can be larger than 2GB.
+     *
+     * @param file The UTF-8 GeoJson file.
+     * @return the FeatureCollection.
+     */
+    public FeatureCollection read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            FeatureScanner scanner = new FeatureScanner(chunkSize);
+            ByteBuffer block = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+            long offset = 0;
+            while (channel.read(block) != -1) {
+                ((Buffer) block).flip();
+                scanner.scan(block, offset);
+                offset += block.limit();
+                ((Buffer) block).clear();
+            }
+            List<long[]> chunks = scanner.finish();
+
+            try {
+                return decode(chunks, chunk -> {
+                    try {
+                        return channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private FeatureCollection decode(List<long[]> chunks, Function<long[], ByteBuffer> region) {
+        List<ForkJoinTask<List<Feature>>> tasks = new ArrayList<>(chunks.size());
+        PropertyShape shapes = PropertyShape.newRoot();
+        StringDictionary dictionary = options.newStringDictionary();
+        for (long[] chunk : chunks) {
+            tasks.add(pool.submit(() -> new GeoJsonBytesReader(region.apply(chunk), options, shapes, dictionary).readFeatures((int) chunk[2])));
+        }
+
+        List<Feature> features = new ArrayList<>();
+        for (ForkJoinTask<List<Feature>> task : tasks) {
+            features.addAll(task.join());
+        }
+        return new FeatureCollection(features);
+    }
+
+    private ParallelFeatureCollectionReader copy() {
+        ParallelFeatureCollectionReader copy = new ParallelFeatureCollectionReader();
+        copy.options = options;
+        copy.pool = pool;
+        copy.chunkSize = chunkSize;
+        return copy;
+    }
+
+    /**
+     * Receives the boundaries and the id of each feature found by a {@link FeatureScanner}.
+     */
+    interface FeatureConsumer {
+
+        /**
+         * @param start The offset of the first byte of the feature.
+         * @param end The offset after the last byte of the feature.
+         * @param id The id of the feature, null if it has none.
+         */
+        void accept(long start, long end, String id);
+    }
+
+    /**
+     * Finds the boundaries of the features of a FeatureCollection, tracking only braces, brackets and strings. The
+     * bytes are fed block by block, so the json does not need to be addressable at once. With a
+     * {@link FeatureConsumer}, the id member of each feature is captured too.
+     */
+    static final class FeatureScanner {
+
+        private static final byte[] FEATURES = FeatureCollectionReader.FEATURES_NAME.getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] ID = FeatureAdapter.ID_NAME.getBytes(StandardCharsets.US_ASCII);
+
+        private final int chunkSize;
+        private final List<long[]> chunks = new ArrayList<>();
+        private final FeatureConsumer consumer;
+
+        private int depth = 0;
+        private boolean inString = false;
+        private boolean escape = false;
+
+        private final byte[] key = new byte[FEATURES.length];
+        private int keyLength = 0;
+        private boolean featuresKey = false;
+        private boolean inFeatures = false;
+        private boolean featuresFound = false;
+
+        private long featureStart = -1;
+        private long chunkStart = -1;
+        private long chunkEnd = -1;
+        private int chunkCount = 0;
+
+        private boolean idKey = false;
+        private boolean inId = false;
+        private byte[] id = new byte[32];
+        private int idLength = 0;
+        private boolean idEscaped = false;
+        private String featureId = null;
+
+        FeatureScanner(int chunkSize) {
+            this(chunkSize, null);
+        }
+
+        FeatureScanner(int chunkSize, FeatureConsumer consumer) {
+            this.chunkSize = chunkSize;
+            this.consumer = consumer;
+        }
+
+        /**
+         * Scans the bytes between the position and the limit of the given block.
+         *
+         * @param block The bytes to scan.
+         * @param offset The offset in the json of the byte at the block position.
+         */
+        void scan(ByteBuffer block, long offset) {
+            int start = block.position();
+            int end = block.limit();
+            for (int i = start; i < end; i++) {
+                scan(block.get(i), offset + i - start);
+            }
+        }
+
+        private void scan(byte b, long at) {
+            if (inString) {
+                if (inId && (escape || b != '"')) {
+                    appendId(b);
+                    idEscaped |= b == '\\';
+                }
+                if (escape) {
+                    escape = false;
+                } else if (b == '\\') {
+                    escape = true;
+                } else if (b == '"') {
+                    inString = false;
+                    if (inId) {
+                        endId(true);
+                    }
+                } else if (isKeyDepth() && keyLength <= key.length) {
+                    if (keyLength < key.length) {
+                        key[keyLength] = b;
+                    }
+                    keyLength++;
+                }
+                return;
+            }
+
+            if (inId && !isNumberOrLiteralByte(b)) {
+                endId(false);
+            }
+
+            switch (b) {
+                case '"':
+                    inString = true;
+                    keyLength = 0;
+                    if (idKey && depth == 3) {
+                        inId = true;
+                    }
+                    break;
+                case ':':
+                    if (depth == 1) {
+                        featuresKey = !featuresFound && isFeaturesKey();
+                    } else if (depth == 3 && inFeatures && consumer != null) {
+                        idKey = isKey(ID);
+                    }
+                    break;
+                case ',':
+                    if (depth == 1) {
+                        featuresKey = false;
+                    } else if (depth == 3) {
+                        idKey = false;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    if (depth == 3) {
+                        idKey = false;
+                    }
+                    if (inFeatures && depth == 2) {
+                        if (b != '{') {
+                            throw new IllegalArgumentException("The given json is not a valid Feature at byte " + at);
+                        }
+                        featureStart = at;
+                    } else if (depth == 1 && b == '[' && featuresKey) {
+                        inFeatures = true;
+                        featuresFound = true;
+                    }
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    if (inFeatures && depth == 2) {
+                        featureEnd(at + 1);
+                    } else if (inFeatures && depth == 1) {
+                        inFeatures = false;
+                    }
+                    break;
+                case ' ':
+                case '\n':
+                case '\r':
+                case '\t':
+                    break;
+                default:
+                    if (inFeatures && depth == 2) {
+                        throw new IllegalArgumentException("The given json is not a valid Feature at byte " + at);
+                    } else if (idKey && depth == 3) {
+                        // A number id, or a literal
+                        inId = true;
+                        appendId(b);
+                    }
+            }
+        }
+
+        private boolean isKeyDepth() {
+            return depth == 1 || (depth == 3 && inFeatures && consumer != null);
+        }
+
+        private boolean isFeaturesKey() {
+            if (keyLength != FEATURES.length) {
+                return false;
+            }
+            for (int i = 0; i < FEATURES.length; i++) {
+                if (Character.toLowerCase((char) key[i]) != FEATURES[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isKey(byte[] name) {
+            if (keyLength != name.length) {
+                return false;
+            }
+            for (int i = 0; i < name.length; i++) {
+                if (key[i] != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isNumberOrLiteralByte(byte b) {
+            return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b == '-' || b == '+' || b == '.';
+        }
+
+        private void appendId(byte b) {
+            if (idLength == id.length) {
+                id = Arrays.copyOf(id, idLength * 2);
+            }
+            id[idLength++] = b;
+        }
+
+        /**
+         * Ends the id value, read as FeatureAdapter does: a string is unescaped, a number is kept as it is.
+         */
+        private void endId(boolean string) {
+            String value = new String(id, 0, idLength, StandardCharsets.UTF_8);
+            if (string && idEscaped) {
+                try {
+                    value = RawJson.reader('"' + value + '"').nextString();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("The given json is not a valid Feature, its id is not valid: " + value, e);
+                }
+            }
+            featureId = string || !"null".equals(value) ? value : null;
+            inId = false;
+            idKey = false;
+            idLength = 0;
+            idEscaped = false;
+        }
+
+        private void featureEnd(long end) {
+            if (consumer != null) {
+                consumer.accept(featureStart, end, featureId);
+                featureId = null;
+                idKey = false;
+            }
+            if (chunkCount == 0) {
+                chunkStart = featureStart;
+            }
+            chunkEnd = end;
+            chunkCount++;
+            if (chunkEnd - chunkStart >= chunkSize) {
+                endChunk();
+            }
+        }
+
+        private void endChunk() {
+            chunks.add(new long[]{chunkStart, chunkEnd, chunkCount});
+            chunkCount = 0;
+        }
+
+        /**
+         * Ends the scan.
+         *
+         * @return the chunks of features, as start offset, end offset and number of features.
+         */
+        List<long[]> finish() {
+            if (depth != 0 || inString) {
+                throw new IllegalArgumentException("The given json is not a valid FeatureCollection, it is truncated");
+            }
+            if (!featuresFound) {
+                throw new IllegalArgumentException("Required field 'features' is missing");
+            }
+            if (chunkCount > 0) {
+                endChunk();
+            }
+            return chunks;
+        }
+    }
+}
@@ -16,22 +16,42 @@ package com.github.filosganga.geogson.gson;
  * limitations under the License.
  */
 
-import com.github.filosganga.geogson.model.positions.AbstractPositions;
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.github.filosganga.geogson.model.positions.PackedPositionsBuilder;
 import com.github.filosganga.geogson.model.positions.Positions;
 import com.github.filosganga.geogson.model.positions.SinglePosition;
+import com.github.filosganga.geogson.util.DoubleFormatter;
+import com.github.filosganga.geogson.util.DoubleParser;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import java.io.IOException;
 
+import static com.github.filosganga.geogson.model.positions.PackedPositionsBuilder.AREA_POSITIONS_DEPTH;
+import static com.github.filosganga.geogson.model.positions.PackedPositionsBuilder.LINEAR_POSITIONS_DEPTH;
+
 
 /**
  * The Gson TypeAdapter to serialize/de-serialize all the {@link Positions} instances.
  */
 public class PositionsAdapter extends TypeAdapter<Positions> {
 
+    private final int coordinatePrecision;
+    private final int altitudePrecision;
+
+    public PositionsAdapter() {
+        this(new GeometryAdapterFactory());
+    }
+
+    PositionsAdapter(GeometryAdapterFactory options) {
+        this.coordinatePrecision = options.getCoordinatePrecision();
+        this.altitudePrecision = options.getAltitudePrecision();
+    }
+
     @Override
     public void write(JsonWriter out, Positions value) throws IOException {
 
@@ -41,10 +61,13 @@ public class PositionsAdapter extends TypeAdapter<Positions> {
             out.beginArray();
             if (value instanceof SinglePosition) {
                 SinglePosition sp = (SinglePosition) value;
-                out.value(sp.lon());
-                out.value(sp.lat());
-                if (!Double.isNaN(sp.alt())) {
-                    out.value(sp.alt());
+                writeSinglePosition(out, sp.lon(), sp.lat(), sp.alt());
+            } else if (value instanceof LinearPositions) {
+                LinearPositions lp = (LinearPositions) value;
+                for (int i = 0; i < lp.size(); i++) {
+                    out.beginArray();
+                    writeSinglePosition(out, lp.lon(i), lp.lat(i), lp.alt(i));
+                    out.endArray();
                 }
             } else {
                 for (Positions child : value.children()) {
@@ -55,6 +78,40 @@ public class PositionsAdapter extends TypeAdapter<Positions> {
         }
     }
 
+    /**
+     * Writes a single position as a json array, with the precision of this adapter, without creating the
+     * SinglePosition. It allows to write the coordinates of other geometry models.
+     *
+     * @param out The JsonWriter to write to.
+     * @param lon The longitude.
+     * @param lat The latitude.
+     * @param alt The altitude, NaN if the position has no altitude.
+     */
+    public void writePosition(JsonWriter out, double lon, double lat, double alt) throws IOException {
+        out.beginArray();
+        writeSinglePosition(out, lon, lat, alt);
+        out.endArray();
+    }
+
+    private void writeSinglePosition(JsonWriter out, double lon, double lat, double alt) throws IOException {
+        writeCoordinate(out, lon, coordinatePrecision);
+        writeCoordinate(out, lat, coordinatePrecision);
+        if (!Double.isNaN(alt)) {
+            writeCoordinate(out, alt, altitudePrecision);
+        }
+    }
+
+    private static void writeCoordinate(JsonWriter out, double value, int precision) throws IOException {
+        if (precision == GeometryAdapterFactory.FULL_PRECISION || Double.isNaN(value) || Double.isInfinite(value)) {
+            // The JsonWriter decides whether the non-finite values are allowed
+            out.value(value);
+        } else if (RawJson.supportsRawValues(out)) {
+            out.jsonValue(DoubleFormatter.toString(value, precision));
+        } else {
+            out.value(Double.parseDouble(DoubleFormatter.toString(value, precision)));
+        }
+    }
+
     @Override
     public Positions read(JsonReader in) throws IOException {
 
@@ -74,46 +131,96 @@ public class PositionsAdapter extends TypeAdapter<Positions> {
     }
 
 
+    /**
+     * Reads the positions adding their coordinates to the given extent. The Positions are built only if the extent
+     * intersects the given filter, as they would be thrown away otherwise.
+     *
+     * @param in The JsonReader positioned on the positions.
+     * @param extent The extent to add the coordinates to.
+     * @param filter The BoundingBox the positions have to intersect.
+     * @return the Positions, or null if they are empty or do not intersect the filter.
+     */
+    Positions read(JsonReader in, BoundingBox.Builder extent, BoundingBox filter) throws IOException {
+
+        JsonToken peek = in.peek();
+        if (peek == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (peek != JsonToken.BEGIN_ARRAY) {
+            throw new IllegalArgumentException("The json must be an array or null: " + in.peek());
+        }
+
+        PackedPositionsBuilder builder = new PackedPositionsBuilder();
+        int depth = parsePositions(in, builder, extent);
+
+        return depth == 0 || !extent.intersects(filter) ? null : builder.build(depth);
+    }
+
     private static Positions parsePositions(JsonReader in) throws IOException {
 
+        PackedPositionsBuilder builder = new PackedPositionsBuilder();
+        int depth = parsePositions(in, builder, null);
 
-        Positions parsed = null;
+        return depth == 0 ? null : builder.build(depth);
+    }
+
+    /**
+     * Parses the given json array appending all its coordinates to the given builder and, if not null, to the
+     * given extent.
+     *
+     * @return the nesting depth of the array, 0 if it is empty.
+     */
+    private static int parsePositions(JsonReader in, PackedPositionsBuilder builder, BoundingBox.Builder extent) throws IOException {
 
         if (in.peek() != JsonToken.BEGIN_ARRAY) {
             throw new IllegalArgumentException("The given json is not a valid positions");
         }
 
+        int depth = 0;
+
         in.beginArray();
         if (in.peek() == JsonToken.NUMBER) {
-            parsed = parseSinglePosition(in);
+            parseSinglePosition(in, builder, extent);
+            depth = PackedPositionsBuilder.SINGLE_POSITION_DEPTH;
         } else if (in.peek() == JsonToken.BEGIN_ARRAY) {
 
-            AbstractPositions.PositionsBuilder builder = null;
+            int childrenDepth = 0;
+            int children = 0;
             while (in.hasNext()) {
-                Positions p = parsePositions(in);
-                if(builder == null) {
-                    builder = AbstractPositions.PositionsBuilder.builderOf(p);
+                int childDepth = parsePositions(in, builder, extent);
+                if (childDepth == 0) {
+                    throw new IllegalArgumentException("The given json is not a valid positions, it contains an empty array");
+                } else if (childrenDepth == 0 || childDepth == childrenDepth) {
+                    childrenDepth = childDepth;
+                } else if (childrenDepth == AREA_POSITIONS_DEPTH && childDepth == LINEAR_POSITIONS_DEPTH) {
+                    // A Polygon without holes represented by linear positions see bug #19
+                    builder.endAreaPositions();
+                } else if (childrenDepth == LINEAR_POSITIONS_DEPTH && childDepth == AREA_POSITIONS_DEPTH) {
+                    // As above, but the previous siblings were the Polygons without holes
+                    builder.splitAreaPositions(children);
+                    childrenDepth = childDepth;
+                } else {
+                    throw new IllegalArgumentException("The given json is not a valid positions, it mixes different dimensions");
                 }
-                builder.addChild(p);
+                children++;
             }
 
-            if(builder != null) {
-                parsed =  builder.build();
-            }
+            depth = childrenDepth + 1;
+            builder.end(depth);
         }
 
         in.endArray();
 
-        return parsed;
+        return depth;
     }
 
-    private static Positions parseSinglePosition(JsonReader in) throws IOException {
-        double lon = in.nextDouble();
-        double lat = in.nextDouble();
+    private static void parseSinglePosition(JsonReader in, PackedPositionsBuilder builder, BoundingBox.Builder extent) throws IOException {
+        double lon = nextCoordinate(in);
+        double lat = nextCoordinate(in);
         double alt = Double.NaN;
 
         if (in.hasNext()) {
-            alt = in.nextDouble();
+            alt = nextCoordinate(in);
         }
 
         // Skip eventual other dimensions
@@ -121,7 +228,22 @@ public class PositionsAdapter extends TypeAdapter<Positions> {
             in.skipValue();
         }
 
-        return new SinglePosition(lon, lat, alt);
+        builder.addPosition(lon, lat, alt);
+        if (extent != null) {
+            extent.add(lon, lat);
+        }
+    }
+
+    /**
+     * Reads the next coordinate like {@link JsonReader#nextDouble()} does, but converting the literal with the
+     * {@link DoubleParser} rather than with {@link Double#parseDouble(String)}.
+     */
+    private static double nextCoordinate(JsonReader in) throws IOException {
+        double value = DoubleParser.parseDouble(in.nextString());
+        if (!in.isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new MalformedJsonException("JSON forbids NaN and infinities: " + value + " at path " + in.getPath());
+        }
+        return value;
     }
 
 }
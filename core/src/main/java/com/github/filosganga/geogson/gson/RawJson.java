@@ -0,0 +1,307 @@
+package com.github.filosganga.geogson.gson;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Utilities to capture json values as raw text and to write them back without building a JsonElement tree.
+ */
+final class RawJson {
+
+    private RawJson() {
+    }
+
+    /**
+     * Reads the next value from the given JsonReader as json text. Numbers are kept as they are in the source.
+     *
+     * @param in The JsonReader positioned on the value.
+     * @return The value json text.
+     */
+    static String read(JsonReader in) throws IOException {
+        StringWriter buffer = new StringWriter();
+        JsonWriter out = new JsonWriter(buffer);
+        out.setLenient(true);
+        copy(in, out);
+        out.flush();
+        return buffer.toString();
+    }
+
+    /**
+     * Reads the next object from the given JsonReader as json text, keeping only the members with the given names.
+     *
+     * @param in The JsonReader positioned on the object.
+     * @param names The names of the members to keep.
+     * @return The object json text.
+     */
+    static String readObject(JsonReader in, Set<String> names) throws IOException {
+        StringWriter buffer = new StringWriter();
+        JsonWriter out = new JsonWriter(buffer);
+        out.setLenient(true);
+        in.beginObject();
+        out.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (names.contains(name)) {
+                out.name(name);
+                copy(in, out);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        out.endObject();
+        out.flush();
+        return buffer.toString();
+    }
+
+    /**
+     * Writes the given json text as the next value of the given JsonWriter.
+     *
+     * @param out The JsonWriter to write to.
+     * @param json The value json text.
+     */
+    static void write(JsonWriter out, String json) throws IOException {
+        if (supportsRawValues(out)) {
+            out.jsonValue(json);
+        } else {
+            copy(reader(json), out);
+        }
+    }
+
+    /**
+     * Returns a lenient JsonReader reading the given json text.
+     *
+     * @param json The json text.
+     * @return a JsonReader.
+     */
+    static JsonReader reader(String json) {
+        JsonReader in = new JsonReader(new StringReader(json));
+        in.setLenient(true);
+        return in;
+    }
+
+    /**
+     * Returns a JsonReader reading the values of the given one and writing the json text of what it reads, skipped
+     * values included, to the given Writer. The text of a value is captured while the value is read, without
+     * tokenizing it twice. Numbers are kept as they are in the source.
+     *
+     * @param in The JsonReader to read from.
+     * @param out The Writer to write the json text to.
+     * @return a JsonReader.
+     */
+    static JsonReader tee(JsonReader in, Writer out) {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setLenient(true);
+        return new TeeReader(in, writer);
+    }
+
+    /**
+     * Other writers than the plain JsonWriter, like the Gson tree writer, do not support raw values.
+     */
+    static boolean supportsRawValues(JsonWriter out) {
+        return out.getClass() == JsonWriter.class;
+    }
+
+    /**
+     * Copies the next value from the given JsonReader to the given JsonWriter, token by token.
+     */
+    static void copy(JsonReader in, JsonWriter out) throws IOException {
+        boolean rawNumbers = supportsRawValues(out);
+        int depth = 0;
+        do {
+            switch (in.peek()) {
+                case BEGIN_OBJECT:
+                    in.beginObject();
+                    out.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    in.endObject();
+                    out.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    in.beginArray();
+                    out.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    in.endArray();
+                    out.endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    out.name(in.nextName());
+                    break;
+                case STRING:
+                    out.value(in.nextString());
+                    break;
+                case NUMBER:
+                    if (rawNumbers) {
+                        out.jsonValue(in.nextString());
+                    } else {
+                        out.value(new BigDecimal(in.nextString()));
+                    }
+                    break;
+                case BOOLEAN:
+                    out.value(in.nextBoolean());
+                    break;
+                case NULL:
+                    in.nextNull();
+                    out.nullValue();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected token: " + in.peek());
+            }
+        } while (depth > 0);
+    }
+
+    private static final class TeeReader extends JsonReader {
+
+        private static final Reader UNREADABLE_READER = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int count) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public void close() {
+                throw new AssertionError();
+            }
+        };
+
+        private final JsonReader in;
+        private final JsonWriter out;
+
+        private TeeReader(JsonReader in, JsonWriter out) {
+            super(UNREADABLE_READER);
+            setLenient(in.isLenient());
+            this.in = in;
+            this.out = out;
+        }
+
+        @Override
+        public void beginArray() throws IOException {
+            in.beginArray();
+            out.beginArray();
+        }
+
+        @Override
+        public void endArray() throws IOException {
+            in.endArray();
+            out.endArray();
+        }
+
+        @Override
+        public void beginObject() throws IOException {
+            in.beginObject();
+            out.beginObject();
+        }
+
+        @Override
+        public void endObject() throws IOException {
+            in.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return in.hasNext();
+        }
+
+        @Override
+        public JsonToken peek() throws IOException {
+            return in.peek();
+        }
+
+        @Override
+        public String nextName() throws IOException {
+            String name = in.nextName();
+            out.name(name);
+            return name;
+        }
+
+        @Override
+        public String nextString() throws IOException {
+            JsonToken token = in.peek();
+            String value = in.nextString();
+            if (token == JsonToken.NUMBER) {
+                out.jsonValue(value);
+            } else {
+                out.value(value);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean nextBoolean() throws IOException {
+            boolean value = in.nextBoolean();
+            out.value(value);
+            return value;
+        }
+
+        @Override
+        public void nextNull() throws IOException {
+            in.nextNull();
+            out.nullValue();
+        }
+
+        @Override
+        public double nextDouble() throws IOException {
+            return Double.parseDouble(nextString());
+        }
+
+        @Override
+        public long nextLong() throws IOException {
+            String value = nextString();
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                double asDouble = Double.parseDouble(value);
+                long result = (long) asDouble;
+                if (result != asDouble) {
+                    throw new NumberFormatException("Expected a long but was " + value + " at path " + getPath());
+                }
+                return result;
+            }
+        }
+
+        @Override
+        public int nextInt() throws IOException {
+            long value = nextLong();
+            if ((int) value != value) {
+                throw new NumberFormatException("Expected an int but was " + value + " at path " + getPath());
+            }
+            return (int) value;
+        }
+
+        @Override
+        public void skipValue() throws IOException {
+            copy(in, out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public String getPath() {
+            return in.getPath();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " of " + in;
+        }
+    }
+}
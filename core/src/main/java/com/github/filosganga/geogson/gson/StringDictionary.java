@@ -0,0 +1,47 @@
+package com.github.filosganga.geogson.gson;
+
+import com.google.gson.JsonPrimitive;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded dictionary of the string property values, returning the same JsonPrimitive for the same string. Only
+ * the strings up to a maximum length are kept, up to a maximum number of them: once full, the dictionary still
+ * returns the strings it has, but it does not take new ones. A StringDictionary lives as long as a read session, so
+ * that each dataset fills its own. It is thread safe, as the features of a session may be decoded in parallel.
+ */
+final class StringDictionary {
+
+    private final int maxEntries;
+    private final int maxLength;
+    private final ConcurrentMap<String, JsonPrimitive> entries = new ConcurrentHashMap<>();
+
+    StringDictionary(int maxEntries, int maxLength) {
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the JsonPrimitive of the given string, shared if the string is in the dictionary or it can be added.
+     *
+     * @param value The string.
+     * @return a JsonPrimitive of the string.
+     */
+    JsonPrimitive primitive(String value) {
+        if (value.length() > maxLength) {
+            return new JsonPrimitive(value);
+        }
+        JsonPrimitive primitive = entries.get(value);
+        if (primitive == null) {
+            primitive = new JsonPrimitive(value);
+            if (entries.size() < maxEntries) {
+                JsonPrimitive existing = entries.putIfAbsent(value, primitive);
+                if (existing != null) {
+                    primitive = existing;
+                }
+            }
+        }
+        return primitive;
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.TypedFeature;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static com.github.filosganga.geogson.gson.FeatureAdapter.FEATURE_TYPE;
+import static com.github.filosganga.geogson.gson.FeatureAdapter.GEOMETRY_NAME;
+import static com.github.filosganga.geogson.gson.FeatureAdapter.ID_NAME;
+import static com.github.filosganga.geogson.gson.FeatureAdapter.PROPERTIES_NAME;
+import static com.github.filosganga.geogson.gson.FeatureAdapter.TYPE_NAME;
+
+
+/**
+ * The Gson TypeAdapter to serialize/de-serialize {@link TypedFeature} instances. The properties are read and written
+ * by the Gson TypeAdapter of their type while the JsonReader/JsonWriter is positioned on them, without building a
+ * JsonElement tree.
+ *
+ * @param <P> The type of the properties.
+ */
+public final class TypedFeatureAdapter<P> extends TypeAdapter<TypedFeature<P>> {
+
+    private final TypeAdapter<Geometry> geometryAdapter;
+    private final TypeAdapter<P> propertiesAdapter;
+
+    public TypedFeatureAdapter(Gson gson, TypeAdapter<P> propertiesAdapter) {
+        this.geometryAdapter = gson.getAdapter(Geometry.class);
+        this.propertiesAdapter = propertiesAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, TypedFeature<P> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.beginObject();
+            if (value.id().isPresent()) {
+                out.name(ID_NAME).value(value.id().get());
+            }
+            out.name(TYPE_NAME).value(FEATURE_TYPE);
+            out.name(PROPERTIES_NAME);
+            if (value.properties() == null) {
+                writeNull(out);
+            } else {
+                propertiesAdapter.write(out, value.properties());
+            }
+            out.name(GEOMETRY_NAME);
+            if (value.geometry() == null) {
+                writeNull(out);
+            } else {
+                geometryAdapter.write(out, value.geometry());
+            }
+            out.endObject();
+        }
+    }
+
+    /**
+     * Writes null even if the JsonWriter does not serialize nulls, as the members of a Feature are required.
+     */
+    private static void writeNull(JsonWriter out) throws IOException {
+        boolean serializeNulls = out.getSerializeNulls();
+        out.setSerializeNulls(true);
+        try {
+            out.nullValue();
+        } finally {
+            out.setSerializeNulls(serializeNulls);
+        }
+    }
+
+    @Override
+    public TypedFeature<P> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new IllegalArgumentException("The given json is not a valid Feature: " + in.peek());
+        }
+
+        Geometry<?> geometry = null;
+        P properties = null;
+        String id = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (TYPE_NAME.equals(name)) {
+                String value = in.nextString();
+                if (!value.equalsIgnoreCase(FEATURE_TYPE)) {
+                    throw new IllegalArgumentException("The given json is not a valid Feature, the type must be Feature, current type=" + value);
+                }
+            } else if (PROPERTIES_NAME.equals(name)) {
+                properties = propertiesAdapter.read(in);
+            } else if (GEOMETRY_NAME.equals(name)) {
+                geometry = geometryAdapter.read(in);
+            } else if (ID_NAME.equals(name)) {
+                id = in.nextString();
+            } else {
+                // Skip unknown value.
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return TypedFeature.of(geometry, properties).withId(id);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.TypedFeature;
+import com.github.filosganga.geogson.model.TypedFeatureCollection;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.filosganga.geogson.gson.FeatureAdapter.TYPE_NAME;
+import static com.github.filosganga.geogson.gson.FeatureCollectionReader.FEATURES_NAME;
+import static com.github.filosganga.geogson.gson.FeatureCollectionWriter.FEATURE_COLLECTION_TYPE;
+
+
+/**
+ * The Gson TypeAdapter to serialize/de-serialize {@link TypedFeatureCollection} instances.
+ *
+ * @param <P> The type of the properties of the features.
+ */
+public final class TypedFeatureCollectionAdapter<P> extends TypeAdapter<TypedFeatureCollection<P>> {
+
+    private final TypeAdapter<TypedFeature<P>> featureAdapter;
+
+    public TypedFeatureCollectionAdapter(TypeAdapter<TypedFeature<P>> featureAdapter) {
+        this.featureAdapter = featureAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, TypedFeatureCollection<P> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.beginObject();
+            out.name(TYPE_NAME).value(FEATURE_COLLECTION_TYPE);
+            out.name(FEATURES_NAME);
+            out.beginArray();
+            for (TypedFeature<P> feature : value.features()) {
+                featureAdapter.write(out, feature);
+            }
+            out.endArray();
+            out.endObject();
+        }
+    }
+
+    @Override
+    public TypedFeatureCollection<P> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new IllegalArgumentException("The given json is not a valid FeatureCollection: " + in.peek());
+        }
+
+        List<TypedFeature<P>> features = new ArrayList<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (FEATURES_NAME.equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    features.add(featureAdapter.read(in));
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new TypedFeatureCollection<>(features);
+    }
+
+}
@@ -4,6 +4,7 @@ import com.github.filosganga.geogson.model.positions.Positions;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.Optional;
 
 import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
 
@@ -11,12 +12,14 @@ import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
 /**
  * Abstract implementation of {@link Geometry} providing generic methods.
  */
-public abstract class AbstractGeometry<P extends Positions> implements Geometry<P>, Serializable {
+public abstract class AbstractGeometry<P extends Positions> implements Geometry<P>, Serializable, Cloneable {
 
     private static final long serialVersionUID = 1L;
 
     private final P positions;
 
+    private String rawJson = null;
+
     private transient Integer cachedHashCode = null;
 
     AbstractGeometry(P positions) {
@@ -44,6 +47,23 @@ public abstract class AbstractGeometry<P extends Positions> implements Geometry<
         return positions.size();
     }
 
+    @Override
+    public Optional<String> rawJson() {
+        return Optional.ofNullable(rawJson);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Geometry<P> withRawJson(String json) {
+        try {
+            AbstractGeometry<P> copy = (AbstractGeometry<P>) clone();
+            copy.rawJson = json;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public int hashCode() {
         if(cachedHashCode == null) {
@@ -58,6 +78,9 @@ public abstract class AbstractGeometry<P extends Positions> implements Geometry<
         if (this == obj) {
             return true;
         }
+        if (obj instanceof LazyGeometry) {
+            return equals(((LazyGeometry<?>) obj).geometry());
+        }
         if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
@@ -0,0 +1,218 @@
+package com.github.filosganga.geogson.model;
+
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.github.filosganga.geogson.model.positions.Positions;
+import com.github.filosganga.geogson.model.positions.SinglePosition;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+
+/**
+ * A BoundingBox is the extent of a {@link Geometry} or a {@link Feature}, defined by the lowest and the highest
+ * values of its coordinates. A BoundingBox with minLon greater than maxLon crosses the antimeridian.
+ *
+ * GeoJson reference: @see https://tools.ietf.org/html/rfc7946#section-5.
+ *
+ * eg: {@code
+ *     BoundingBox viewport = BoundingBox.of(-10.0, 35.0, 30.0, 60.0);
+ * }
+ */
+public final class BoundingBox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double minLon;
+    private final double minLat;
+    private final double maxLon;
+    private final double maxLat;
+
+    private BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+        this.minLon = minLon;
+        this.minLat = minLat;
+        this.maxLon = maxLon;
+        this.maxLat = maxLat;
+    }
+
+    /**
+     * Creates a BoundingBox from the given coordinates.
+     *
+     * @param minLon The westernmost longitude.
+     * @param minLat The southernmost latitude.
+     * @param maxLon The easternmost longitude, lower than minLon if the BoundingBox crosses the antimeridian.
+     * @param maxLat The northernmost latitude.
+     * @return BoundingBox instance.
+     */
+    public static BoundingBox of(double minLon, double minLat, double maxLon, double maxLat) {
+        checkArgument(minLat, x -> x <= maxLat, "The minLat must be lower or equal than the maxLat");
+        return new BoundingBox(minLon, minLat, maxLon, maxLat);
+    }
+
+    /**
+     * Computes the BoundingBox of the given Geometry.
+     *
+     * @param geometry The Geometry.
+     * @return BoundingBox instance.
+     * @throws IllegalArgumentException if the Geometry has no coordinates.
+     */
+    public static BoundingBox of(Geometry<?> geometry) {
+        Builder builder = builder().add(geometry);
+        checkArgument(builder, b -> !b.isEmpty(), "The geometry " + geometry + " does not have any coordinate");
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double minLon() {
+        return minLon;
+    }
+
+    public double minLat() {
+        return minLat;
+    }
+
+    public double maxLon() {
+        return maxLon;
+    }
+
+    public double maxLat() {
+        return maxLat;
+    }
+
+    /**
+     * Returns if this BoundingBox crosses the antimeridian.
+     *
+     * @return true if minLon is greater than maxLon.
+     */
+    public boolean crossesAntimeridian() {
+        return minLon > maxLon;
+    }
+
+    /**
+     * Returns if this BoundingBox and the given one have at least one point in common.
+     *
+     * @param other The other BoundingBox.
+     * @return true if they intersect, false otherwise.
+     */
+    public boolean intersects(BoundingBox other) {
+        return minLat <= other.maxLat && other.minLat <= maxLat && lonIntersects(other);
+    }
+
+    private boolean lonIntersects(BoundingBox other) {
+        if (!crossesAntimeridian() && !other.crossesAntimeridian()) {
+            return minLon <= other.maxLon && other.minLon <= maxLon;
+        } else if (crossesAntimeridian() && other.crossesAntimeridian()) {
+            // Both contain the antimeridian
+            return true;
+        } else if (crossesAntimeridian()) {
+            return other.maxLon >= minLon || other.minLon <= maxLon;
+        } else {
+            return maxLon >= other.minLon || minLon <= other.maxLon;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), minLon, minLat, maxLon, maxLat);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final BoundingBox other = (BoundingBox) obj;
+        return Objects.equals(this.minLon, other.minLon) &&
+                Objects.equals(this.minLat, other.minLat) &&
+                Objects.equals(this.maxLon, other.maxLon) &&
+                Objects.equals(this.maxLat, other.maxLat);
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox{" +
+                "minLon=" + minLon +
+                ", minLat=" + minLat +
+                ", maxLon=" + maxLon +
+                ", maxLat=" + maxLat +
+                '}';
+    }
+
+    /**
+     * Accumulates coordinates to compute their BoundingBox.
+     */
+    public static class Builder {
+
+        private double minLon = Double.POSITIVE_INFINITY;
+        private double minLat = Double.POSITIVE_INFINITY;
+        private double maxLon = Double.NEGATIVE_INFINITY;
+        private double maxLat = Double.NEGATIVE_INFINITY;
+
+        Builder() {
+        }
+
+        public Builder add(double lon, double lat) {
+            minLon = Math.min(minLon, lon);
+            minLat = Math.min(minLat, lat);
+            maxLon = Math.max(maxLon, lon);
+            maxLat = Math.max(maxLat, lat);
+            return this;
+        }
+
+        public Builder add(Positions positions) {
+            if (positions instanceof SinglePosition) {
+                SinglePosition sp = (SinglePosition) positions;
+                add(sp.lon(), sp.lat());
+            } else if (positions instanceof LinearPositions) {
+                LinearPositions lp = (LinearPositions) positions;
+                for (int i = 0; i < lp.size(); i++) {
+                    add(lp.lon(i), lp.lat(i));
+                }
+            } else if (positions != null) {
+                positions.children().forEach(this::add);
+            }
+            return this;
+        }
+
+        public Builder add(Geometry<?> geometry) {
+            if (geometry instanceof GeometryCollection) {
+                ((GeometryCollection) geometry).getGeometries().forEach(this::add);
+            } else if (geometry != null) {
+                add(geometry.positions());
+            }
+            return this;
+        }
+
+        /**
+         * Returns if no coordinates have been added.
+         *
+         * @return true if no coordinates have been added, false otherwise.
+         */
+        public boolean isEmpty() {
+            return minLon > maxLon || minLat > maxLat;
+        }
+
+        /**
+         * Returns if the coordinates added so far intersect the given BoundingBox.
+         *
+         * @param other The BoundingBox to check.
+         * @return false if no coordinates have been added or they do not intersect the given BoundingBox.
+         */
+        public boolean intersects(BoundingBox other) {
+            return !isEmpty() && build().intersects(other);
+        }
+
+        public BoundingBox build() {
+            if (isEmpty()) {
+                throw new IllegalStateException("No coordinates have been added to the BoundingBox");
+            }
+            return new BoundingBox(minLon, minLat, maxLon, maxLat);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.filosganga.geogson.model;
+
+import com.github.filosganga.geogson.util.LazyNumber;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The properties of a {@link Feature} as the values of a {@link PropertyShape}, that holds their names. The numbers
+ * set through {@link PropertyValues} are kept as primitives or as {@link LazyNumber} literals, and wrapped in a
+ * JsonPrimitive only when they are accessed as JsonElements. It is immutable and it is serialized as a plain map.
+ */
+final class CompactProperties extends AbstractMap<String, JsonElement> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient PropertyShape shape;
+    // A JsonElement, a LazyNumber, or a marker of the primitive in the bits
+    private final transient Object[] values;
+    private final transient long[] bits;
+
+    CompactProperties(PropertyShape shape, JsonElement[] values) {
+        this(shape, values, null);
+    }
+
+    CompactProperties(PropertyShape shape, Object[] values, long[] bits) {
+        this.shape = shape;
+        this.values = values;
+        this.bits = bits;
+    }
+
+    @Override
+    public JsonElement get(Object key) {
+        int index = shape.indexOf(key);
+        return index < 0 ? null : element(index);
+    }
+
+    /**
+     * Returns the value of the given property as a double, without wrapping the numbers in a JsonElement.
+     *
+     * @throws IllegalArgumentException if the property is not there.
+     */
+    double getDouble(String name) {
+        int index = indexOf(name);
+        if (values[index] == PropertyValues.DOUBLE) {
+            return Double.longBitsToDouble(bits[index]);
+        } else if (values[index] == PropertyValues.LONG) {
+            return bits[index];
+        } else if (values[index] instanceof LazyNumber) {
+            return ((LazyNumber) values[index]).doubleValue();
+        } else {
+            return element(index).getAsDouble();
+        }
+    }
+
+    /**
+     * Returns the value of the given property as a long, without wrapping the numbers in a JsonElement.
+     *
+     * @throws IllegalArgumentException if the property is not there.
+     */
+    long getLong(String name) {
+        int index = indexOf(name);
+        if (values[index] == PropertyValues.LONG) {
+            return bits[index];
+        } else if (values[index] == PropertyValues.DOUBLE) {
+            return (long) Double.longBitsToDouble(bits[index]);
+        } else if (values[index] instanceof LazyNumber) {
+            return ((LazyNumber) values[index]).longValue();
+        } else {
+            return element(index).getAsLong();
+        }
+    }
+
+    /**
+     * Returns the value of the given property as a String, without wrapping the numbers in a JsonElement.
+     *
+     * @throws IllegalArgumentException if the property is not there.
+     */
+    String getString(String name) {
+        int index = indexOf(name);
+        if (values[index] == PropertyValues.LONG) {
+            return Long.toString(bits[index]);
+        } else if (values[index] == PropertyValues.DOUBLE) {
+            return Double.toString(Double.longBitsToDouble(bits[index]));
+        } else if (values[index] instanceof LazyNumber) {
+            return values[index].toString();
+        } else {
+            return element(index).getAsString();
+        }
+    }
+
+    private int indexOf(String name) {
+        int index = shape.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("The Feature does not have the property: " + name);
+        }
+        return index;
+    }
+
+    private JsonElement element(int index) {
+        Object value = values[index];
+        if (value == PropertyValues.LONG) {
+            return new JsonPrimitive(bits[index]);
+        } else if (value == PropertyValues.DOUBLE) {
+            return new JsonPrimitive(Double.longBitsToDouble(bits[index]));
+        } else if (value instanceof LazyNumber) {
+            return new JsonPrimitive((LazyNumber) value);
+        } else {
+            return (JsonElement) value;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return shape.indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Set<Entry<String, JsonElement>> entrySet() {
+        return new AbstractSet<Entry<String, JsonElement>>() {
+
+            @Override
+            public Iterator<Entry<String, JsonElement>> iterator() {
+                return new Iterator<Entry<String, JsonElement>>() {
+
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, JsonElement> next() {
+                        if (next >= values.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, JsonElement> entry = new SimpleImmutableEntry<>(shape.name(next), element(next));
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashMap<>(this);
+    }
+}
@@ -5,6 +5,9 @@ import com.google.gson.JsonElement;
 import java.io.Serializable;
 import java.util.*;
 
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
 /**
  * Feature is a collection of properties and a geometry
  *
@@ -29,29 +32,111 @@ public class Feature implements Serializable {
 
     private final String id;
 
+    private final String rawJson;
+
     private transient Integer cachedHashCode = null;
 
     public static class Builder {
 
         private Geometry<?> geometry = null;
-        private Map<String, JsonElement> properties = new HashMap<>(240);
+        private boolean geometryRequired = true;
+        private Map<String, JsonElement> properties = null;
+        private CompactProperties compactProperties = null;
+        private String rawProperties = null;
         private Optional<String> id = Optional.empty();
+        private String rawJson = null;
 
         Builder(){
         }
 
         public Builder withGeometry(Geometry<?> geometry) {
             this.geometry = geometry;
+            this.geometryRequired = true;
+            return this;
+        }
+
+        /**
+         * Allow to build a Feature without geometry, for example when the geometry has been skipped while parsing.
+         *
+         * @return this Builder.
+         */
+        public Builder withoutGeometry() {
+            this.geometry = null;
+            this.geometryRequired = false;
             return this;
         }
 
         public Builder withProperties(Map<String, JsonElement> properties) {
-            this.properties.putAll(properties);
+            if (!properties.isEmpty()) {
+                mutableProperties().putAll(properties);
+            }
             return this;
         }
 
         public Builder withProperty(String name, JsonElement value) {
-            this.properties.put(name, value);
+            mutableProperties().put(name, value);
+            return this;
+        }
+
+        /**
+         * Set the properties from the values of the given shape, that holds their names. The Features built with the
+         * same shape share their properties names, each keeping only the values array.
+         *
+         * @param shape The PropertyShape with the names of the properties.
+         * @param values The values of the properties, in the order of the shape names. It is not copied.
+         * @return this Builder.
+         * @throws IllegalArgumentException if the values are not as many as the shape names.
+         */
+        public Builder withProperties(PropertyShape shape, JsonElement[] values) {
+            checkArgument(values, x -> x.length == checkNotNull(shape, "The shape cannot be null").size(),
+                    "The values must be as many as the shape names");
+            if (properties == null && compactProperties == null) {
+                compactProperties = new CompactProperties(shape, values);
+            } else {
+                for (int i = 0; i < values.length; i++) {
+                    mutableProperties().put(shape.name(i), values[i]);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Set the properties from the values of the given shape, keeping the numbers as primitives. They are read by
+         * the typed accessors of the Feature, as {@link Feature#getDouble(String)}, without any JsonElement.
+         *
+         * @param shape The PropertyShape with the names of the properties.
+         * @param values The values of the properties, in the order of the shape names. It is copied.
+         * @return this Builder.
+         * @throws IllegalArgumentException if a value of the shape names has not been set.
+         */
+        public Builder withProperties(PropertyShape shape, PropertyValues values) {
+            CompactProperties compact = checkNotNull(values, "The values cannot be null")
+                    .toProperties(checkNotNull(shape, "The shape cannot be null"));
+            if (properties == null && compactProperties == null) {
+                compactProperties = compact;
+            } else {
+                mutableProperties().putAll(compact);
+            }
+            return this;
+        }
+
+        private Map<String, JsonElement> mutableProperties() {
+            if (properties == null) {
+                properties = compactProperties == null ? new HashMap<>() : new HashMap<>(compactProperties);
+                compactProperties = null;
+            }
+            return properties;
+        }
+
+        /**
+         * Set the properties from their raw json object. It will be parsed only when the properties are accessed,
+         * and it will be written back as it is.
+         *
+         * @param json The properties json object.
+         * @return this Builder.
+         */
+        public Builder withRawProperties(String json) {
+            this.rawProperties = json;
             return this;
         }
 
@@ -64,19 +149,48 @@ public class Feature implements Serializable {
             return withId(Optional.of(id));
         }
 
+        /**
+         * Set the original json text of the Feature, that is written back as it is in place of the Feature. The json
+         * text must be the one of the Feature being built. A Builder created from a Feature does not keep it.
+         *
+         * @param json The json text of the Feature.
+         * @return this Builder.
+         */
+        public Builder withRawJson(String json) {
+            this.rawJson = json;
+            return this;
+        }
+
         public Feature build() {
-            if(geometry == null) {
+            if(geometry == null && geometryRequired) {
                 throw new IllegalStateException("geometry is required to build a Feature");
             }
-            return new Feature(geometry, properties, id);
+            return new Feature(geometry, buildProperties(), id, rawJson);
+        }
+
+        private Map<String, JsonElement> buildProperties() {
+            if (rawProperties == null) {
+                if (compactProperties != null) {
+                    return compactProperties;
+                }
+                return properties == null ? Collections.emptyMap() : properties;
+            } else if (properties == null && compactProperties == null) {
+                return new LazyProperties(rawProperties);
+            } else {
+                // The explicitly set properties override the raw ones
+                Map<String, JsonElement> merged = new HashMap<>(new LazyProperties(rawProperties));
+                merged.putAll(compactProperties == null ? properties : compactProperties);
+                return merged;
+            }
         }
 
     }
 
-    private Feature(Geometry<?> geometry, Map<String, JsonElement> properties, Optional<String> id) {
+    private Feature(Geometry<?> geometry, Map<String, JsonElement> properties, Optional<String> id, String rawJson) {
         this.geometry = geometry;
         this.properties = properties;
         this.id = id.orElse(null);
+        this.rawJson = rawJson;
     }
 
     public static Builder builder() {
@@ -84,7 +198,17 @@ public class Feature implements Serializable {
     }
 
     public static Builder builder(Feature feature) {
-        return builder().withGeometry(feature.geometry).withProperties(feature.properties).withId(feature.id);
+        Builder builder = (feature.geometry == null ? builder().withoutGeometry() : builder().withGeometry(feature.geometry))
+                .withId(Optional.ofNullable(feature.id));
+        if (feature.properties instanceof LazyProperties) {
+            return builder.withRawProperties(((LazyProperties) feature.properties).json());
+        } else if (feature.properties instanceof CompactProperties) {
+            // Immutable, it is shared
+            builder.compactProperties = (CompactProperties) feature.properties;
+            return builder;
+        } else {
+            return builder.withProperties(feature.properties);
+        }
     }
 
     /**
@@ -101,7 +225,7 @@ public class Feature implements Serializable {
     /**
      * The Geometry of this Feature.
      *
-     * @return a Geometry instance.
+     * @return a Geometry instance. Null if the Feature has been built without geometry.
      */
     public Geometry<?> geometry() {
         return geometry;
@@ -116,6 +240,97 @@ public class Feature implements Serializable {
         return Collections.unmodifiableMap(properties);
     }
 
+    /**
+     * Whether this Feature has the given property.
+     *
+     * @param name The name of the property.
+     * @return true if the property is there, even with a null value.
+     */
+    public boolean has(String name) {
+        return properties.containsKey(name);
+    }
+
+    /**
+     * The value of the given property as a double. The numbers read by the {@code FeatureAdapter} are returned
+     * as they have been parsed, without being wrapped in a JsonElement.
+     *
+     * @param name The name of the property.
+     * @return double
+     * @throws IllegalArgumentException if this Feature does not have the property.
+     * @see JsonElement#getAsDouble() for the values that are not numbers.
+     */
+    public double getDouble(String name) {
+        if (properties instanceof CompactProperties) {
+            return ((CompactProperties) properties).getDouble(name);
+        } else {
+            return property(name).getAsDouble();
+        }
+    }
+
+    /**
+     * The value of the given property as a long. The numbers read by the {@code FeatureAdapter} are returned
+     * as they have been parsed, without being wrapped in a JsonElement.
+     *
+     * @param name The name of the property.
+     * @return long
+     * @throws IllegalArgumentException if this Feature does not have the property.
+     * @see JsonElement#getAsLong() for the values that are not numbers.
+     */
+    public long getLong(String name) {
+        if (properties instanceof CompactProperties) {
+            return ((CompactProperties) properties).getLong(name);
+        } else {
+            return property(name).getAsLong();
+        }
+    }
+
+    /**
+     * The value of the given property as a String.
+     *
+     * @param name The name of the property.
+     * @return String
+     * @throws IllegalArgumentException if this Feature does not have the property.
+     * @see JsonElement#getAsString() for the values that are not primitives.
+     */
+    public String getString(String name) {
+        if (properties instanceof CompactProperties) {
+            return ((CompactProperties) properties).getString(name);
+        } else {
+            return property(name).getAsString();
+        }
+    }
+
+    private JsonElement property(String name) {
+        JsonElement value = properties.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("The Feature does not have the property: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * The raw json object of the properties of this Feature, if they have been set as raw json and not replaced.
+     *
+     * @return Optional.empty if the properties have not been set as raw json. A valued Optional otherwise.
+     */
+    public Optional<String> rawProperties() {
+        if (properties instanceof LazyProperties) {
+            return Optional.of(((LazyProperties) properties).json());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The original json text of this Feature, if it has been read with the raw passthrough of the
+     * GeometryAdapterFactory and not rebuilt since. It is written back as it is.
+     *
+     * @return Optional.empty if the Feature has not been read with its json text. A valued Optional otherwise.
+     */
+    public Optional<String> rawJson() {
+        return Optional.ofNullable(rawJson);
+    }
+
     /**
      * The id of the Feature.
      *
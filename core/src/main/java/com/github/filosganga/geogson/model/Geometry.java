@@ -18,6 +18,8 @@ package com.github.filosganga.geogson.model;
 
 import com.github.filosganga.geogson.model.positions.Positions;
 
+import java.util.Optional;
+
 /**
  * A Geometry is a definition of a shape (A collection of coordinates).
  *
@@ -81,4 +83,25 @@ public interface Geometry<P extends Positions> {
      * @return Int
      */
     int size();
+
+    /**
+     * The original json text this Geometry has been read from, when the raw passthrough of the GeometryAdapterFactory
+     * is enabled. It is written back as it is.
+     *
+     * @return Optional.empty if the Geometry has not been read with its json text. A valued Optional otherwise.
+     */
+    default Optional<String> rawJson() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a copy of this Geometry carrying the given json text, that is written back as it is in place of the
+     * Geometry. The json text must be the one of this Geometry. The Geometries not supporting it return themselves.
+     *
+     * @param json The json text of this Geometry.
+     * @return a Geometry equal to this one.
+     */
+    default Geometry<P> withRawJson(String json) {
+        return this;
+    }
 }
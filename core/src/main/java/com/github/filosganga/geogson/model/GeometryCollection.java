@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -47,6 +48,8 @@ public class GeometryCollection implements Geometry<Positions>, Serializable {
      */
     private final List<Geometry<?>> geometries;
 
+    private final String rawJson;
+
     /**
      * Constructor creating a {@link GeometryCollection} out of
      * {@link Iterable} {@link Geometry Geometries}.
@@ -54,7 +57,12 @@ public class GeometryCollection implements Geometry<Positions>, Serializable {
      * @param geometries Geometries of this {@link GeometryCollection}
      */
     private GeometryCollection(List<Geometry<?>> geometries) {
+        this(geometries, null);
+    }
+
+    private GeometryCollection(List<Geometry<?>> geometries, String rawJson) {
         this.geometries = geometries;
+        this.rawJson = rawJson;
     }
 
     public static GeometryCollection of(Geometry<?>...geometries) {
@@ -103,6 +111,16 @@ public class GeometryCollection implements Geometry<Positions>, Serializable {
         return geometries.size();
     }
 
+    @Override
+    public Optional<String> rawJson() {
+        return Optional.ofNullable(rawJson);
+    }
+
+    @Override
+    public GeometryCollection withRawJson(String json) {
+        return new GeometryCollection(geometries, json);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(getClass(), this.geometries);
@@ -113,6 +131,9 @@ public class GeometryCollection implements Geometry<Positions>, Serializable {
         if (this == obj) {
             return true;
         }
+        if (obj instanceof LazyGeometry) {
+            return equals(((LazyGeometry<?>) obj).geometry());
+        }
         if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
@@ -0,0 +1,137 @@
+package com.github.filosganga.geogson.model;
+
+import com.github.filosganga.geogson.model.positions.Positions;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link Geometry} whose type, and bbox if any, are known while its coordinates are still to be decoded. They are
+ * decoded on the first access to {@link #positions()}, {@link #size()} or {@link #geometry()}, once.
+ *
+ * A LazyGeometry is equal to the Geometry it decodes to, and it is serialized as that Geometry. A closed LineString
+ * has type {@link Geometry.Type#LINE_STRING} even if it is decoded as a {@link LinearRing}.
+ *
+ * @param <P> The Position type param.
+ */
+public final class LazyGeometry<P extends Positions> implements Geometry<P>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Type type;
+    private final BoundingBox bbox;
+    private final String rawJson;
+
+    private final transient Supplier<? extends Geometry<?>> decoder;
+
+    private transient volatile Geometry<P> decoded = null;
+
+    private LazyGeometry(Type type, BoundingBox bbox, String rawJson, Supplier<? extends Geometry<?>> decoder, Geometry<P> decoded) {
+        this.type = type;
+        this.bbox = bbox;
+        this.rawJson = rawJson;
+        this.decoder = decoder;
+        this.decoded = decoded;
+    }
+
+    /**
+     * Creates a LazyGeometry decoding its Geometry with the given Supplier.
+     *
+     * @param type The type of the Geometry.
+     * @param bbox The bbox of the Geometry, null if it is not known.
+     * @param decoder The Supplier decoding the Geometry. It must build a Geometry of the given type.
+     * @return LazyGeometry instance.
+     */
+    public static LazyGeometry<?> of(Type type, BoundingBox bbox, Supplier<? extends Geometry<?>> decoder) {
+        return new LazyGeometry<>(checkNotNull(type, "The type cannot be null"), bbox, null,
+                checkNotNull(decoder, "The decoder cannot be null"), null);
+    }
+
+    /**
+     * The decoded Geometry, decoding it if it has not been decoded yet.
+     *
+     * @return a Geometry of a concrete class, like {@link Polygon}.
+     */
+    @SuppressWarnings("unchecked")
+    public Geometry<P> geometry() {
+        Geometry<P> result = decoded;
+        if (result == null) {
+            result = (Geometry<P>) checkNotNull(decoder.get(), "The decoded geometry cannot be null");
+            decoded = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns if the Geometry has already been decoded.
+     *
+     * @return true if the coordinates have been decoded, false otherwise.
+     */
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    /**
+     * The bbox of the Geometry, as it was given with it. It is available without decoding the Geometry.
+     *
+     * @return Optional.empty if the Geometry came without bbox. A valued Optional otherwise.
+     */
+    public Optional<BoundingBox> bbox() {
+        return Optional.ofNullable(bbox);
+    }
+
+    @Override
+    public Type type() {
+        return type;
+    }
+
+    @Override
+    public P positions() {
+        return geometry().positions();
+    }
+
+    @Override
+    public int size() {
+        return geometry().size();
+    }
+
+    @Override
+    public Optional<String> rawJson() {
+        return Optional.ofNullable(rawJson);
+    }
+
+    @Override
+    public LazyGeometry<P> withRawJson(String json) {
+        return new LazyGeometry<>(type, bbox, json, decoder, decoded);
+    }
+
+    private Object writeReplace() {
+        return rawJson == null ? geometry() : geometry().withRawJson(rawJson);
+    }
+
+    @Override
+    public int hashCode() {
+        return geometry().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LazyGeometry) {
+            return geometry().equals(((LazyGeometry<?>) obj).geometry());
+        }
+        return geometry().equals(obj);
+    }
+
+    @Override
+    public String toString() {
+        Geometry<P> geometry = decoded;
+        return "LazyGeometry{type: " + type + ", geometry: " + (geometry == null ? "not decoded" : Objects.toString(geometry)) + "}";
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.filosganga.geogson.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The properties of a {@link Feature} kept as a raw json object, parsed only when first accessed.
+ */
+final class LazyProperties extends AbstractMap<String, JsonElement> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String json;
+
+    private transient volatile Map<String, JsonElement> parsed = null;
+
+    LazyProperties(String json) {
+        this.json = json;
+    }
+
+    /**
+     * The raw json object.
+     *
+     * @return String
+     */
+    String json() {
+        return json;
+    }
+
+    @Override
+    public Set<Entry<String, JsonElement>> entrySet() {
+        return parsed().entrySet();
+    }
+
+    @Override
+    public JsonElement get(Object key) {
+        return parsed().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return parsed().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return parsed().size();
+    }
+
+    private Map<String, JsonElement> parsed() {
+        Map<String, JsonElement> result = parsed;
+        if (result == null) {
+            Map<String, JsonElement> properties = new LinkedHashMap<>();
+            for (Entry<String, JsonElement> entry : new JsonParser().parse(json).getAsJsonObject().entrySet()) {
+                properties.put(entry.getKey(), entry.getValue());
+            }
+            result = Collections.unmodifiableMap(properties);
+            parsed = result;
+        }
+        return result;
+    }
+}
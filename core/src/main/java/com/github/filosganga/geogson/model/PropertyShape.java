@@ -0,0 +1,219 @@
+package com.github.filosganga.geogson.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * The ordered property names shared by the {@link Feature}s having the same schema. A Feature built with a shape
+ * keeps only the values of its properties, see {@link Feature.Builder#withProperties(PropertyShape, com.google.gson.JsonElement[])}.
+ *
+ * The shapes are interned: the shape a name is added to keeps the resulting shape, so that the Features whose
+ * properties come in the same order share it. A family of shapes starts from its own root, and it stops interning
+ * once it holds {@link #MAX_INTERNED_SHAPES} shapes, so that properties with ever changing names do not fill the
+ * memory. A PropertyShape is thread safe. To add the names of a Feature one by one, a {@link Builder} does not copy
+ * the names for each of them once the family is full.
+ *
+ * eg: {@code
+ *     PropertyShape shape = PropertyShape.newRoot().with("name").with("population");
+ *     Feature feature = Feature.builder().withGeometry(point).withProperties(shape, values).build();
+ * }
+ */
+public final class PropertyShape {
+
+    public static final int MAX_INTERNED_SHAPES = 4096;
+
+    /**
+     * Below this size a linear scan of the names is faster than the hash index.
+     */
+    private static final int MIN_INDEXED_SIZE = 8;
+
+    private final String[] names;
+    private final int[] index;
+    private final AtomicInteger interned;
+    private final ConcurrentMap<String, PropertyShape> transitions = new ConcurrentHashMap<>(4);
+
+    private PropertyShape(String[] names, AtomicInteger interned) {
+        this.names = names;
+        this.interned = interned;
+        this.index = names.length < MIN_INDEXED_SIZE ? null : index(names);
+    }
+
+    /**
+     * Creates the empty root of a new family of interned shapes.
+     *
+     * @return an empty PropertyShape.
+     */
+    public static PropertyShape newRoot() {
+        return new PropertyShape(new String[0], new AtomicInteger(1));
+    }
+
+    /**
+     * Returns the shape having the names of this one followed by the given name.
+     *
+     * @param name The name to add, that must not be in this shape.
+     * @return a PropertyShape of size {@code size() + 1}.
+     * @throws IllegalArgumentException if the name is already in this shape.
+     */
+    public PropertyShape with(String name) {
+        PropertyShape shape = transitions.get(checkNotNull(name, "The name cannot be null"));
+        if (shape == null) {
+            if (indexOf(name) >= 0) {
+                throw new IllegalArgumentException("The shape already has the name: " + name);
+            }
+            String[] extended = Arrays.copyOf(names, names.length + 1);
+            extended[names.length] = name;
+            shape = new PropertyShape(extended, interned);
+            if (interned.get() < MAX_INTERNED_SHAPES) {
+                PropertyShape existing = transitions.putIfAbsent(name, shape);
+                if (existing == null) {
+                    interned.incrementAndGet();
+                } else {
+                    shape = existing;
+                }
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Returns a Builder adding names to this shape.
+     *
+     * @return a new Builder.
+     */
+    public Builder builder() {
+        return new Builder(this);
+    }
+
+    /**
+     * The number of names.
+     *
+     * @return int
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * The name at the given index.
+     *
+     * @param index The index of the name, from 0.
+     * @return String
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * The index of the given name.
+     *
+     * @param name The name to look for.
+     * @return the index of the name, -1 if this shape does not have it.
+     */
+    public int indexOf(Object name) {
+        if (name == null) {
+            return -1;
+        }
+        if (index == null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(name.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            if (names[index[slot] - 1].equals(name)) {
+                return index[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds an open addressing table of the indexes plus one, at most half full.
+     */
+    private static int[] index(String[] names) {
+        int[] index = new int[Integer.highestOneBit(names.length * 2 - 1) << 1];
+        int mask = index.length - 1;
+        for (int i = 0; i < names.length; i++) {
+            int slot = spread(names[i].hashCode()) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+        return index;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyShape" + Arrays.toString(names);
+    }
+
+    /**
+     * Adds the names of a Feature to a shape. The names are added through the interned shapes as long as their family
+     * is not full, then they are collected and the shape is built once, without interning it.
+     *
+     * It is not thread safe.
+     */
+    public static final class Builder {
+
+        private PropertyShape shape;
+
+        // The names past the interned shapes, with their index
+        private Map<String, Integer> added;
+
+        private Builder(PropertyShape shape) {
+            this.shape = shape;
+        }
+
+        /**
+         * Adds the given name, if it is not already added.
+         *
+         * @param name The name to add.
+         * @return the index of the name.
+         */
+        public int add(String name) {
+            int index = shape.indexOf(checkNotNull(name, "The name cannot be null"));
+            if (index >= 0) {
+                return index;
+            }
+            if (added == null) {
+                if (shape.interned.get() < MAX_INTERNED_SHAPES || shape.transitions.containsKey(name)) {
+                    shape = shape.with(name);
+                    return shape.size() - 1;
+                }
+                added = new LinkedHashMap<>();
+            }
+            Integer existing = added.putIfAbsent(name, shape.size() + added.size());
+            return existing != null ? existing : shape.size() + added.size() - 1;
+        }
+
+        /**
+         * Builds the shape with the added names.
+         *
+         * @return a PropertyShape.
+         */
+        public PropertyShape build() {
+            if (added == null) {
+                return shape;
+            }
+            String[] names = Arrays.copyOf(shape.names, shape.size() + added.size());
+            for (Map.Entry<String, Integer> entry : added.entrySet()) {
+                names[entry.getValue()] = entry.getKey();
+            }
+            return new PropertyShape(names, shape.interned);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.filosganga.geogson.model;
+
+import com.github.filosganga.geogson.util.LazyNumber;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Arrays;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * The values of the properties of a {@link Feature}, in the order of the names of a {@link PropertyShape}. The
+ * numbers are kept as primitives, or as their literal when a primitive would not write them back as they have been
+ * read: their JsonElement is created only when the properties are accessed as a map, while the typed accessors, as
+ * {@link Feature#getDouble(String)}, read them as they are.
+ *
+ * A PropertyValues is filled while reading a Feature and it is not thread safe. It must not be changed once it has
+ * been given to a {@link Feature.Builder}.
+ *
+ * eg: {@code
+ *     PropertyValues values = new PropertyValues();
+ *     values.setLong(0, 3_520_031);
+ *     Feature feature = Feature.builder().withGeometry(point).withProperties(shape, values).build();
+ * }
+ */
+public final class PropertyValues {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * Below this number of digits an integer literal always fits in a long.
+     */
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+
+    private static final JsonPrimitive TRUE = new JsonPrimitive(true);
+    private static final JsonPrimitive FALSE = new JsonPrimitive(false);
+
+    /**
+     * The markers of the values kept as primitives in the bits array.
+     */
+    static final Object LONG = new Object();
+    static final Object DOUBLE = new Object();
+
+    private Object[] values;
+    private long[] bits;
+
+    public PropertyValues() {
+        this.values = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Sets the value at the given index.
+     *
+     * @param index The index of the property in the shape.
+     * @param value The JsonElement value.
+     * @return this PropertyValues.
+     */
+    public PropertyValues set(int index, JsonElement value) {
+        ensureCapacity(index);
+        values[index] = checkNotNull(value, "The value cannot be null");
+        return this;
+    }
+
+    public PropertyValues setLong(int index, long value) {
+        ensureBitsCapacity(index);
+        values[index] = LONG;
+        bits[index] = value;
+        return this;
+    }
+
+    public PropertyValues setDouble(int index, double value) {
+        ensureBitsCapacity(index);
+        values[index] = DOUBLE;
+        bits[index] = Double.doubleToRawLongBits(value);
+        return this;
+    }
+
+    public PropertyValues setBoolean(int index, boolean value) {
+        return set(index, value ? TRUE : FALSE);
+    }
+
+    /**
+     * Sets the value at the given index from a json number literal: a long if it is an integer that fits and that is
+     * written back the same, as "-0" or "007" are not, the literal otherwise. A literal is parsed on the first typed
+     * access and the parsed value is cached, so that the properties are written back as they have been read.
+     *
+     * @param index The index of the property in the shape.
+     * @param literal The chars holding the number literal.
+     * @param from The index of the first char of the literal.
+     * @param to The index after the last char of the literal.
+     * @return this PropertyValues.
+     */
+    public PropertyValues setNumber(int index, CharSequence literal, int from, int to) {
+        int start = from < to && literal.charAt(from) == '-' ? from + 1 : from;
+        // A leading zero is only written back for zero itself, and never with a minus
+        boolean integer = start < to && to - start <= MAX_SAFE_LONG_DIGITS
+                && (literal.charAt(start) != '0' || (to - start == 1 && start == from));
+        long value = 0;
+        for (int i = start; i < to && integer; i++) {
+            char c = literal.charAt(i);
+            integer = c >= '0' && c <= '9';
+            value = value * 10 + (c - '0');
+        }
+        if (integer) {
+            return setLong(index, start == from ? value : -value);
+        } else {
+            ensureCapacity(index);
+            values[index] = new LazyNumber(literal.subSequence(from, to).toString());
+            return this;
+        }
+    }
+
+    public PropertyValues setNumber(int index, CharSequence literal) {
+        return setNumber(index, literal, 0, literal.length());
+    }
+
+    /**
+     * Builds the properties of the given shape from the values set so far.
+     */
+    CompactProperties toProperties(PropertyShape shape) {
+        int size = shape.size();
+        Object[] trimmed = Arrays.copyOf(values, size);
+        for (int i = 0; i < size; i++) {
+            if (trimmed[i] == null) {
+                throw new IllegalArgumentException("The value of the property is not set: " + shape.name(i));
+            }
+        }
+        return new CompactProperties(shape, trimmed, bits == null ? null : Arrays.copyOf(bits, size));
+    }
+
+    private void ensureCapacity(int index) {
+        if (index >= values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, index + 1));
+        }
+    }
+
+    private void ensureBitsCapacity(int index) {
+        ensureCapacity(index);
+        if (bits == null) {
+            bits = new long[values.length];
+        } else if (bits.length < values.length) {
+            bits = Arrays.copyOf(bits, values.length);
+        }
+    }
+}
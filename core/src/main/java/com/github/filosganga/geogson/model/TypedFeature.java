@@ -0,0 +1,111 @@
+package com.github.filosganga.geogson.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A Feature whose properties are bound to an instance of the given type, instead of a map of JsonElements. The
+ * properties object is decoded by the Gson TypeAdapter of the type straight from the json, and it is written back the
+ * same way.
+ *
+ * GeoJson reference: @see http://geojson.org/geojson-spec.html#feature-objects.
+ *
+ * eg: {@code
+ *     TypedFeature<City> f = gson.fromJson(json, new TypeToken<TypedFeature<City>>(){}.getType());
+ *     int population = f.properties().population;
+ * }
+ *
+ * @param <P> The type of the properties.
+ */
+public class TypedFeature<P> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Geometry<?> geometry;
+    private final P properties;
+    private final String id;
+
+    private TypedFeature(Geometry<?> geometry, P properties, String id) {
+        this.geometry = geometry;
+        this.properties = properties;
+        this.id = id;
+    }
+
+    /**
+     * Build a {@link TypedFeature} with the given {@link Geometry} and properties.
+     *
+     * @param geometry The Geometry, null for a Feature without geometry.
+     * @param properties The properties, null for a Feature without properties.
+     * @param <P> The type of the properties.
+     * @return An instance of TypedFeature
+     */
+    public static <P> TypedFeature<P> of(Geometry<?> geometry, P properties) {
+        return new TypedFeature<>(geometry, properties, null);
+    }
+
+    /**
+     * Returns a copy of this TypedFeature with the given id.
+     *
+     * @param id The id, null for no id.
+     * @return a TypedFeature
+     */
+    public TypedFeature<P> withId(String id) {
+        return new TypedFeature<>(geometry, properties, id);
+    }
+
+    /**
+     * The Geometry of this Feature.
+     *
+     * @return a Geometry instance. Null if the Feature does not have a geometry.
+     */
+    public Geometry<?> geometry() {
+        return geometry;
+    }
+
+    /**
+     * The properties of this Feature.
+     *
+     * @return an instance of P. Null if the Feature does not have properties.
+     */
+    public P properties() {
+        return properties;
+    }
+
+    /**
+     * The id of the Feature.
+     *
+     * @return Optional.empty if this Feature does not have any id. A valued Optional otherwise.
+     */
+    public Optional<String> id() {
+        return Optional.ofNullable(id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), this.id, this.geometry, this.properties);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TypedFeature<?> other = (TypedFeature<?>) obj;
+        return Objects.equals(this.id, other.id)
+                && Objects.equals(this.properties, other.properties)
+                && Objects.equals(this.geometry, other.geometry);
+    }
+
+    @Override
+    public String toString() {
+        return "TypedFeature{" +
+                "geometry=" + geometry +
+                ", properties=" + properties +
+                ", id=" + id +
+                '}';
+    }
+}
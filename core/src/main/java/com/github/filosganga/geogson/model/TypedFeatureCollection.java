@@ -0,0 +1,62 @@
+package com.github.filosganga.geogson.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * TypedFeatureCollection contains a list of {@link TypedFeature} instances, having the same type of properties.
+ *
+ * GeoJson reference @see http://geojson.org/geojson-spec.html#feature-collection-objects.
+ *
+ * @param <P> The type of the properties of the features.
+ */
+public class TypedFeatureCollection<P> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<TypedFeature<P>> features;
+
+    public TypedFeatureCollection(List<TypedFeature<P>> features) {
+        this.features = features;
+    }
+
+    @SafeVarargs
+    public static <P> TypedFeatureCollection<P> of(TypedFeature<P>... features) {
+        return new TypedFeatureCollection<>(Arrays.asList(features));
+    }
+
+    public List<TypedFeature<P>> features() {
+        return Collections.unmodifiableList(features);
+    }
+
+    public int size() {
+        return features.size();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), this.features);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TypedFeatureCollection<?> other = (TypedFeatureCollection<?>) obj;
+        return Objects.equals(this.features, other.features);
+    }
+
+    @Override
+    public String toString() {
+        return "TypedFeatureCollection{" +
+                "features=" + features +
+                '}';
+    }
+}
@@ -15,8 +15,7 @@ public abstract class AbstractPositions<T extends Positions> implements Position
 
     protected final List<T> children;
 
-    private transient Integer cachedSize = null;
-    private transient Integer cachedHashCode = null;
+    private transient int cachedHashCode = 0;
 
     AbstractPositions(List<T> children) {
         this.children = checkArgument(children, Objects::nonNull, "The children cannot be null");
@@ -29,20 +28,26 @@ public abstract class AbstractPositions<T extends Positions> implements Position
 
     @Override
     public int size() {
-        if(cachedSize == null) {
-            cachedSize = children.size();
-        }
-        return cachedSize;
+        return children.size();
     }
 
     @Override
     public int hashCode() {
-        if(cachedHashCode == null) {
-            cachedHashCode = Objects.hash(getClass(), children);
+        if(cachedHashCode == 0) {
+            cachedHashCode = computeHashCode();
         }
         return cachedHashCode;
     }
 
+    /**
+     * Computes the hash code of this Positions, it is cached by {@link #hashCode()}.
+     *
+     * @return int
+     */
+    protected int computeHashCode() {
+        return Objects.hash(getClass(), children);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -16,21 +16,43 @@
 
 package com.github.filosganga.geogson.model.positions;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
 
 /**
  *  a {@link Positions} instance to represent an area Geometry.
+ *
+ *  The coordinates of all the children are stored packed in a single flat double array, delimited by an array of
+ *  offsets. The LinearPositions children are views on them created on demand.
  */
 public class AreaPositions extends AbstractPositions<LinearPositions> {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    final double[] coordinates;
+    final int[] offsets;
+    final int from;
+    final int to;
 
     private final Boolean allChildrenAreClosed;
 
-    private AreaPositions(List<LinearPositions> children, Boolean allChildrenAreClosed) {
-        super(children);
-        this.allChildrenAreClosed = allChildrenAreClosed;
+    AreaPositions(double[] coordinates, int[] offsets, int from, int to) {
+        super(new Children(coordinates, offsets, from, to));
+        this.coordinates = coordinates;
+        this.offsets = offsets;
+        this.from = from;
+        this.to = to;
+        this.allChildrenAreClosed = allClosed(coordinates, offsets, from, to);
+    }
+
+    private static boolean allClosed(double[] coordinates, int[] offsets, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!PackedCoordinates.isClosed(coordinates, offsets[i], offsets[i + 1])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static AreaPositions.Builder builder() {
@@ -77,14 +99,60 @@ public class AreaPositions extends AbstractPositions<LinearPositions> {
         }
     }
 
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    protected int computeHashCode() {
+        return 31 * AreaPositions.class.hashCode() + hashCode(coordinates, offsets, from, to);
+    }
+
+    static int hashCode(double[] coordinates, int[] offsets, int from, int to) {
+        int hashCode = 1;
+        for (int i = from; i < to; i++) {
+            hashCode = 31 * hashCode + PackedCoordinates.hashCode(coordinates, offsets[i], offsets[i + 1]);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final AreaPositions other = (AreaPositions) obj;
+        return equals(coordinates, offsets, from, to, other.coordinates, other.offsets, other.from, other.to);
+    }
+
+    static boolean equals(double[] aCoordinates, int[] aOffsets, int aFrom, int aTo,
+                          double[] bCoordinates, int[] bOffsets, int bFrom, int bTo) {
+        if (aTo - aFrom != bTo - bFrom) {
+            return false;
+        }
+        for (int i = 0; i < aTo - aFrom; i++) {
+            int aStart = aOffsets[aFrom + i];
+            int bStart = bOffsets[bFrom + i];
+            if (aOffsets[aFrom + i + 1] - aStart != bOffsets[bFrom + i + 1] - bStart) {
+                return false;
+            }
+        }
+        int aStart = aOffsets[aFrom];
+        return PackedCoordinates.equals(aCoordinates, aStart, bCoordinates, bOffsets[bFrom], aOffsets[aTo] - aStart);
+    }
+
     public static class Builder implements PositionsBuilder {
 
-        private LinkedList<LinearPositions> linearPositions = new LinkedList<>();
-        private boolean allChildrenAreClosed = true;
+        private final PackedCoordinates.Buffer coordinates = new PackedCoordinates.Buffer();
+        private final PackedCoordinates.Offsets offsets = new PackedCoordinates.Offsets();
 
         public AreaPositions.Builder addLinearPosition(LinearPositions lp) {
-            linearPositions.add(lp);
-            allChildrenAreClosed = allChildrenAreClosed && lp.isClosed();
+            coordinates.addAll(lp.coordinates, lp.from, lp.to);
+            offsets.add(coordinates.size());
             return this;
         }
 
@@ -107,9 +175,39 @@ public class AreaPositions extends AbstractPositions<LinearPositions> {
         }
 
         public AreaPositions build() {
-            return new AreaPositions(linearPositions, allChildrenAreClosed);
+            return new AreaPositions(coordinates.toArray(), offsets.toArray(), 0, offsets.ranges());
         }
 
     }
 
+    private static class Children extends AbstractList<LinearPositions> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] coordinates;
+        private final int[] offsets;
+        private final int from;
+        private final int to;
+
+        private Children(double[] coordinates, int[] offsets, int from, int to) {
+            this.coordinates = coordinates;
+            this.offsets = offsets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public LinearPositions get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return new LinearPositions(coordinates, offsets[from + index], offsets[from + index + 1]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
 }
@@ -16,21 +16,31 @@
 
 package com.github.filosganga.geogson.model.positions;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
 
 /**
  * A {@link Positions} implementation for linear geometries. It is composed by a sequence of SinglePosition (points).
+ *
+ * The coordinates are stored packed in a flat double array, the SinglePosition children are views created on demand.
  */
 public class LinearPositions extends AbstractPositions<SinglePosition> {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    final double[] coordinates;
+    final int from;
+    final int to;
 
-    private final Boolean isClosed;
+    private final boolean isClosed;
 
-    private LinearPositions(List<SinglePosition> children, boolean isClosed) {
-        super(children);
-        this.isClosed = isClosed;
+    LinearPositions(double[] coordinates, int from, int to) {
+        super(new Children(coordinates, from, to));
+        this.coordinates = coordinates;
+        this.from = from;
+        this.to = to;
+        this.isClosed = PackedCoordinates.isClosed(coordinates, from, to);
     }
 
     public static LinearPositions.Builder builder() {
@@ -38,7 +48,7 @@ public class LinearPositions extends AbstractPositions<SinglePosition> {
     }
 
     public static LinearPositions.Builder builder(LinearPositions positions) {
-        return builder().addSinglePositions(positions.children);
+        return builder().addLinearPositions(positions);
     }
 
     /**
@@ -75,22 +85,71 @@ public class LinearPositions extends AbstractPositions<SinglePosition> {
         return isClosed;
     }
 
-    public static class Builder implements PositionsBuilder {
+    @Override
+    public int size() {
+        return to - from;
+    }
 
-        private LinkedList<SinglePosition> singlePositions = new LinkedList<>();
+    /**
+     * The longitude of the position at the given index, without creating the SinglePosition.
+     *
+     * @param index The position index.
+     * @return double
+     */
+    public double lon(int index) {
+        return PackedCoordinates.lon(coordinates, checkIndex(index));
+    }
 
-        private SinglePosition first = null;
-        private SinglePosition last = null;
-        private int size = 0;
+    /**
+     * The latitude of the position at the given index, without creating the SinglePosition.
+     *
+     * @param index The position index.
+     * @return double
+     */
+    public double lat(int index) {
+        return PackedCoordinates.lat(coordinates, checkIndex(index));
+    }
 
-        public Builder addSinglePosition(SinglePosition sp) {
-            singlePositions.add(sp);
-            if(first == null) {
-                first = sp;
-            }
-            last = sp;
-            size++;
+    /**
+     * The altitude of the position at the given index, without creating the SinglePosition.
+     *
+     * @param index The position index.
+     * @return double, NaN if the position has no altitude.
+     */
+    public double alt(int index) {
+        return PackedCoordinates.alt(coordinates, checkIndex(index));
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        return from + index;
+    }
+
+    @Override
+    protected int computeHashCode() {
+        return 31 * LinearPositions.class.hashCode() + PackedCoordinates.hashCode(coordinates, from, to);
+    }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final LinearPositions other = (LinearPositions) obj;
+        return size() == other.size() && PackedCoordinates.equals(coordinates, from, other.coordinates, other.from, size());
+    }
+
+    public static class Builder implements PositionsBuilder {
+
+        private final PackedCoordinates.Buffer coordinates = new PackedCoordinates.Buffer();
+
+        public Builder addSinglePosition(SinglePosition sp) {
+            coordinates.add(sp.lon(), sp.lat(), sp.alt());
             return this;
         }
 
@@ -99,6 +158,17 @@ public class LinearPositions extends AbstractPositions<SinglePosition> {
             return this;
         }
 
+        /**
+         * Appends all the positions of the given LinearPositions without creating the SinglePosition views.
+         *
+         * @param lp The LinearPositions to append.
+         * @return this Builder.
+         */
+        public Builder addLinearPositions(LinearPositions lp) {
+            coordinates.addAll(lp.coordinates, lp.from, lp.to);
+            return this;
+        }
+
         @Override
         public PositionsBuilder addChild(Positions p) {
             if(p instanceof SinglePosition) {
@@ -112,11 +182,42 @@ public class LinearPositions extends AbstractPositions<SinglePosition> {
 
         @Override
         public LinearPositions build() {
-            Boolean isClosed = size >= 4 && first.equals(last);
-            return new LinearPositions(singlePositions, isClosed);
+            return new LinearPositions(coordinates.toArray(), 0, coordinates.size());
         }
 
     }
 
+    private static class Children extends AbstractList<SinglePosition> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] coordinates;
+        private final int from;
+        private final int to;
+
+        private Children(double[] coordinates, int from, int to) {
+            this.coordinates = coordinates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public SinglePosition get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            int i = from + index;
+            return new SinglePosition(
+                    PackedCoordinates.lon(coordinates, i),
+                    PackedCoordinates.lat(coordinates, i),
+                    PackedCoordinates.alt(coordinates, i)
+            );
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
 
 }
@@ -16,24 +16,38 @@
 
 package com.github.filosganga.geogson.model.positions;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
 
 /**
  * It represent a collection of {@link AreaPositions} used to represent composed Are geometries like the
  * {@link com.github.filosganga.geogson.model.MultiPolygon}.
+ *
+ * The coordinates of all the areas are stored packed in a single flat double array, delimited by the offsets of the
+ * linear positions and by the offsets of the areas in terms of linear positions. The AreaPositions children are
+ * views on them created on demand.
  */
 public class MultiDimensionalPositions extends AbstractPositions<AreaPositions> {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    final double[] coordinates;
+    final int[] linearOffsets;
+    final int[] areaOffsets;
 
     /**
-     * Creates a MultiDimensionalPositions from a sequence of {@link AreaPositions}.
+     * Creates a MultiDimensionalPositions from packed coordinates.
      *
-     * @param children Iterable of AreaPositions.
+     * @param coordinates The packed coordinates.
+     * @param linearOffsets The offsets of each linear positions in the coordinates.
+     * @param areaOffsets The offsets of each area positions in the linear positions.
      */
-    private MultiDimensionalPositions(List<AreaPositions> children) {
-        super(children);
+    MultiDimensionalPositions(double[] coordinates, int[] linearOffsets, int[] areaOffsets) {
+        super(new Children(coordinates, linearOffsets, areaOffsets));
+        this.coordinates = coordinates;
+        this.linearOffsets = linearOffsets;
+        this.areaOffsets = areaOffsets;
     }
 
     public static MultiDimensionalPositions.Builder builder() {
@@ -74,12 +88,54 @@ public class MultiDimensionalPositions extends AbstractPositions<AreaPositions>
         }
     }
 
+    @Override
+    public int size() {
+        return areaOffsets.length - 1;
+    }
+
+    @Override
+    protected int computeHashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < size(); i++) {
+            hashCode = 31 * hashCode + AreaPositions.hashCode(coordinates, linearOffsets, areaOffsets[i], areaOffsets[i + 1]);
+        }
+        return 31 * MultiDimensionalPositions.class.hashCode() + hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final MultiDimensionalPositions other = (MultiDimensionalPositions) obj;
+        if (size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (!AreaPositions.equals(
+                    coordinates, linearOffsets, areaOffsets[i], areaOffsets[i + 1],
+                    other.coordinates, other.linearOffsets, other.areaOffsets[i], other.areaOffsets[i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static class Builder implements PositionsBuilder {
 
-        private LinkedList<AreaPositions> areaPositions = new LinkedList<>();
+        private final PackedCoordinates.Buffer coordinates = new PackedCoordinates.Buffer();
+        private final PackedCoordinates.Offsets linearOffsets = new PackedCoordinates.Offsets();
+        private final PackedCoordinates.Offsets areaOffsets = new PackedCoordinates.Offsets();
 
         public MultiDimensionalPositions.Builder addAreaPosition(AreaPositions ap) {
-            areaPositions.add(ap);
+            for (int i = ap.from; i < ap.to; i++) {
+                coordinates.addAll(ap.coordinates, ap.offsets[i], ap.offsets[i + 1]);
+                linearOffsets.add(coordinates.size());
+            }
+            areaOffsets.add(linearOffsets.ranges());
             return this;
         }
 
@@ -101,10 +157,37 @@ public class MultiDimensionalPositions extends AbstractPositions<AreaPositions>
 
         @Override
         public MultiDimensionalPositions build() {
-            return new MultiDimensionalPositions(areaPositions);
+            return new MultiDimensionalPositions(coordinates.toArray(), linearOffsets.toArray(), areaOffsets.toArray());
         }
 
     }
 
+    private static class Children extends AbstractList<AreaPositions> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] coordinates;
+        private final int[] linearOffsets;
+        private final int[] areaOffsets;
+
+        private Children(double[] coordinates, int[] linearOffsets, int[] areaOffsets) {
+            this.coordinates = coordinates;
+            this.linearOffsets = linearOffsets;
+            this.areaOffsets = areaOffsets;
+        }
+
+        @Override
+        public AreaPositions get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return new AreaPositions(coordinates, linearOffsets, areaOffsets[index], areaOffsets[index + 1]);
+        }
+
+        @Override
+        public int size() {
+            return areaOffsets.length - 1;
+        }
+    }
 
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013 Filippo De Luca - me@filippodeluca.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.filosganga.geogson.model.positions;
+
+import java.util.Arrays;
+
+/**
+ * Helpers to work with coordinates packed as lon, lat, alt triples in a flat double array. Indexes are always
+ * expressed in positions, not in array slots.
+ */
+final class PackedCoordinates {
+
+    static final int STRIDE = 3;
+
+    static final double[] EMPTY = new double[0];
+
+    private PackedCoordinates() {
+    }
+
+    static double lon(double[] coordinates, int index) {
+        return coordinates[index * STRIDE];
+    }
+
+    static double lat(double[] coordinates, int index) {
+        return coordinates[index * STRIDE + 1];
+    }
+
+    static double alt(double[] coordinates, int index) {
+        return coordinates[index * STRIDE + 2];
+    }
+
+    /**
+     * Compares two ranges of positions with the same semantic of {@link SinglePosition#equals(Object)}.
+     */
+    static boolean equals(double[] a, int aFrom, double[] b, int bFrom, int count) {
+        if (a == b && aFrom == bFrom) {
+            return true;
+        }
+        int aIndex = aFrom * STRIDE;
+        int bIndex = bFrom * STRIDE;
+        int end = aIndex + count * STRIDE;
+        while (aIndex < end) {
+            if (Double.doubleToLongBits(a[aIndex++]) != Double.doubleToLongBits(b[bIndex++])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The hash code of a range of positions, consistent with a {@link java.util.List} of {@link SinglePosition}.
+     */
+    static int hashCode(double[] coordinates, int from, int to) {
+        int hashCode = 1;
+        for (int i = from; i < to; i++) {
+            hashCode = 31 * hashCode + SinglePosition.hashCode(lon(coordinates, i), lat(coordinates, i), alt(coordinates, i));
+        }
+        return hashCode;
+    }
+
+    /**
+     * A range is closed if it is composed by at least 4 positions and the first and the last are the same.
+     */
+    static boolean isClosed(double[] coordinates, int from, int to) {
+        return to - from >= 4 && equals(coordinates, from, coordinates, to - 1, 1);
+    }
+
+    /**
+     * A growable buffer of packed coordinates.
+     */
+    static final class Buffer {
+
+        private double[] values;
+        private int size = 0;
+
+        Buffer() {
+            this(16);
+        }
+
+        Buffer(int capacity) {
+            this.values = new double[Math.max(capacity, 1) * STRIDE];
+        }
+
+        void add(double lon, double lat, double alt) {
+            ensureCapacity(size + 1);
+            int index = size * STRIDE;
+            values[index] = lon;
+            values[index + 1] = lat;
+            values[index + 2] = alt;
+            size++;
+        }
+
+        void addAll(double[] coordinates, int from, int to) {
+            int count = to - from;
+            ensureCapacity(size + count);
+            System.arraycopy(coordinates, from * STRIDE, values, size * STRIDE, count * STRIDE);
+            size += count;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * The packed coordinates. A full buffer returns its own array, that is never written again as the buffer
+         * grows into a new one before adding to it.
+         */
+        double[] toArray() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return size * STRIDE == values.length ? values : Arrays.copyOf(values, size * STRIDE);
+        }
+
+        private void ensureCapacity(int positions) {
+            if (positions * STRIDE > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, positions * STRIDE));
+            }
+        }
+    }
+
+    /**
+     * A growable buffer of offsets, starting with 0.
+     */
+    static final class Offsets {
+
+        private int[] values = new int[8];
+        private int size = 1;
+
+        void add(int offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = offset;
+        }
+
+        /**
+         * The number of ranges delimited by these offsets.
+         */
+        int ranges() {
+            return size - 1;
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+
+        int removeLast() {
+            if (size == 1) {
+                throw new IllegalStateException("There are no ranges to remove");
+            }
+            return values[--size];
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013 Filippo De Luca - me@filippodeluca.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.filosganga.geogson.model.positions;
+
+/**
+ * Builds any {@link Positions} directly from a flat sequence of coordinates, without creating the intermediate
+ * children. It is meant to be fed by a parser walking the nested GeoJson coordinates arrays:
+ *
+ * {@code
+ *     builder.addPosition(lon, lat, alt) // for each position
+ *     builder.endLinearPositions()       // at the end of each array of positions
+ *     builder.endAreaPositions()         // at the end of each array of arrays of positions
+ *     builder.build(depth)               // with the nesting depth of the outermost array
+ * }
+ */
+public final class PackedPositionsBuilder {
+
+    public static final int SINGLE_POSITION_DEPTH = 1;
+    public static final int LINEAR_POSITIONS_DEPTH = 2;
+    public static final int AREA_POSITIONS_DEPTH = 3;
+    public static final int MULTI_DIMENSIONAL_POSITIONS_DEPTH = 4;
+
+    private final PackedCoordinates.Buffer coordinates;
+    private final PackedCoordinates.Offsets linearOffsets = new PackedCoordinates.Offsets();
+    private final PackedCoordinates.Offsets areaOffsets = new PackedCoordinates.Offsets();
+
+    public PackedPositionsBuilder() {
+        this.coordinates = new PackedCoordinates.Buffer();
+    }
+
+    /**
+     * Creates a builder with room for the given number of positions, that are added without growing its buffer.
+     *
+     * @param expectedPositions The number of positions expected.
+     */
+    public PackedPositionsBuilder(int expectedPositions) {
+        this.coordinates = new PackedCoordinates.Buffer(expectedPositions);
+    }
+
+    public PackedPositionsBuilder addPosition(double lon, double lat, double alt) {
+        coordinates.add(lon, lat, alt);
+        return this;
+    }
+
+    /**
+     * Marks the end of the current sequence of positions.
+     *
+     * @return this builder.
+     */
+    public PackedPositionsBuilder endLinearPositions() {
+        linearOffsets.add(coordinates.size());
+        return this;
+    }
+
+    /**
+     * Marks the end of the current sequence of linear positions.
+     *
+     * @return this builder.
+     */
+    public PackedPositionsBuilder endAreaPositions() {
+        areaOffsets.add(linearOffsets.ranges());
+        return this;
+    }
+
+    /**
+     * Splits the given number of leading linear positions of the last area positions into area positions on their
+     * own. It allows to handle polygons without holes represented by linear positions inside a multi polygon.
+     *
+     * @param linearPositions The number of linear positions to split.
+     * @return this builder.
+     */
+    public PackedPositionsBuilder splitAreaPositions(int linearPositions) {
+        int end = areaOffsets.removeLast();
+        int start = areaOffsets.last();
+        for (int i = 1; i <= linearPositions; i++) {
+            areaOffsets.add(start + i);
+        }
+        areaOffsets.add(end);
+        return this;
+    }
+
+    /**
+     * Marks the end of an array of the given depth.
+     *
+     * @param depth The nesting depth of the array, {@link #SINGLE_POSITION_DEPTH} for a single position.
+     * @return this builder.
+     */
+    public PackedPositionsBuilder end(int depth) {
+        if (depth == LINEAR_POSITIONS_DEPTH) {
+            endLinearPositions();
+        } else if (depth == AREA_POSITIONS_DEPTH) {
+            endAreaPositions();
+        } else if (depth > MULTI_DIMENSIONAL_POSITIONS_DEPTH) {
+            throw new IllegalArgumentException("Positions cannot be nested more than " + MULTI_DIMENSIONAL_POSITIONS_DEPTH + " levels");
+        }
+        return this;
+    }
+
+    /**
+     * The number of positions added so far.
+     *
+     * @return int
+     */
+    public int size() {
+        return coordinates.size();
+    }
+
+    /**
+     * Builds the Positions of the given depth from the coordinates added so far.
+     *
+     * @param depth The nesting depth of the outermost array.
+     * @return a {@link SinglePosition}, {@link LinearPositions}, {@link AreaPositions} or
+     * {@link MultiDimensionalPositions} depending on the depth.
+     */
+    public Positions build(int depth) {
+        double[] packed = coordinates.toArray();
+        switch (depth) {
+            case SINGLE_POSITION_DEPTH:
+                if (coordinates.size() != 1) {
+                    throw new IllegalStateException("A single position must have exactly one position, found: " + coordinates.size());
+                }
+                return new SinglePosition(PackedCoordinates.lon(packed, 0), PackedCoordinates.lat(packed, 0), PackedCoordinates.alt(packed, 0));
+            case LINEAR_POSITIONS_DEPTH:
+                return new LinearPositions(packed, 0, coordinates.size());
+            case AREA_POSITIONS_DEPTH:
+                return new AreaPositions(packed, linearOffsets.toArray(), 0, linearOffsets.ranges());
+            case MULTI_DIMENSIONAL_POSITIONS_DEPTH:
+                return new MultiDimensionalPositions(packed, linearOffsets.toArray(), areaOffsets.toArray());
+            default:
+                throw new IllegalArgumentException("No positions can be built for depth " + depth);
+        }
+    }
+
+}
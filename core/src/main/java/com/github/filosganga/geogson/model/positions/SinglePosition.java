@@ -16,7 +16,7 @@
 
 package com.github.filosganga.geogson.model.positions;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,16 +25,14 @@ import java.util.Objects;
  */
 public class SinglePosition extends AbstractPositions<Positions> {
 
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
 
-    private static final List<Positions> EMPTY_CHILDREN = new ArrayList<>();
+    private static final List<Positions> EMPTY_CHILDREN = Collections.emptyList();
 
     private final double lon;
     private final double lat;
     private final double alt;
 
-    private transient Integer cachedHashCode = null;
-
     public SinglePosition(double lon, double lat, double alt) {
         super(EMPTY_CHILDREN);
         this.lon = lon;
@@ -76,11 +74,19 @@ public class SinglePosition extends AbstractPositions<Positions> {
     }
 
     @Override
-    public int hashCode() {
-        if(cachedHashCode == null) {
-            cachedHashCode = Objects.hash(SinglePosition.class, lon, lat, alt);
-        }
-        return cachedHashCode;
+    protected int computeHashCode() {
+        return hashCode(lon, lat, alt);
+    }
+
+    /**
+     * The hash code of a SinglePosition with the given coordinates, equivalent to
+     * {@code Objects.hash(SinglePosition.class, lon, lat, alt)} without boxing.
+     */
+    static int hashCode(double lon, double lat, double alt) {
+        int hashCode = 31 + SinglePosition.class.hashCode();
+        hashCode = 31 * hashCode + Double.hashCode(lon);
+        hashCode = 31 * hashCode + Double.hashCode(lat);
+        return 31 * hashCode + Double.hashCode(alt);
     }
 
     @Override
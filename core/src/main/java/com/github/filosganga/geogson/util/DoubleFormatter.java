@@ -0,0 +1,367 @@
+package com.github.filosganga.geogson.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats doubles as the shortest decimal literals that parse back to the same double, straight into ASCII bytes.
+ *
+ * The decimal is computed with the Schubfach algorithm. The values from 10^-6 included to 10^21 excluded are written
+ * in plain notation, without a fraction if they are integers, the others in scientific notation: eg. {@code 12.5},
+ * {@code 100}, {@code 0.000001}, {@code 1.5E21}, {@code 2E-7}.
+ *
+ * See: Raffaello Giulietti, "The Schubfach way to render doubles", 2020.
+ */
+public final class DoubleFormatter {
+
+    /**
+     * The maximum number of bytes of a formatted double, eg. {@code -0.0000012345678901234567}.
+     */
+    public static final int MAX_LENGTH = 25;
+
+    /**
+     * The maximum number of decimals a double can be rounded to.
+     */
+    public static final int MAX_DECIMALS = 17;
+
+    private static final int PRECISION = 53;
+    private static final int MIN_EXPONENT = -1074;
+    private static final int EXPONENT_MASK = (1 << 11) - 1;
+    private static final long SIGNIFICAND_MASK = (1L << PRECISION - 1) - 1;
+    private static final long MIN_SIGNIFICAND = 1L << PRECISION - 1;
+    private static final long TINY_SIGNIFICAND = 3;
+
+    private static final int MIN_POWER_OF_TEN = -324;
+    private static final int MAX_POWER_OF_TEN = 292;
+
+    private static final int MIN_PLAIN_DECIMAL_POINT = -5;
+    private static final int MAX_PLAIN_DECIMAL_POINT = 21;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    // The decimals of a shortest decimal that is not rounded
+    private static final int SHORTEST = -1;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    /**
+     * The 126 bits approximations by excess g of the powers of ten from 10^324 to 10^-292, such that 10^-k is g 2^r
+     * with 2^125 <= g < 2^126, as pairs of high and low 63 bits.
+     */
+    private static final long[] G = new long[(MAX_POWER_OF_TEN - MIN_POWER_OF_TEN + 1) * 2];
+
+    static {
+        long power = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+
+        BigInteger mask = BigInteger.valueOf(MASK_63);
+        for (int k = MIN_POWER_OF_TEN; k <= MAX_POWER_OF_TEN; k++) {
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger power10 = BigInteger.TEN.pow(-k);
+                int shift = 126 - power10.bitLength();
+                g = shift >= 0 ? power10.shiftLeft(shift) : power10.shiftRight(-shift);
+            } else {
+                BigInteger power10 = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(125 + power10.bitLength()).divide(power10);
+            }
+            g = g.add(BigInteger.ONE);
+            int index = (k - MIN_POWER_OF_TEN) * 2;
+            G[index] = g.shiftRight(63).longValue();
+            G[index + 1] = g.and(mask).longValue();
+        }
+    }
+
+    private DoubleFormatter() {
+    }
+
+    /**
+     * Formats the given double.
+     *
+     * @param value The double to format.
+     * @return The shortest decimal literal of the double.
+     * @throws IllegalArgumentException if the double is NaN or infinite.
+     */
+    public static String toString(double value) {
+        byte[] bytes = new byte[MAX_LENGTH];
+        int length = format(value, bytes, 0);
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Formats the given double rounded to the given number of decimals.
+     *
+     * @param value The double to format.
+     * @param decimals The number of decimals, from 0 to {@link #MAX_DECIMALS}.
+     * @return The decimal literal of the rounded double, without trailing zeros.
+     * @throws IllegalArgumentException if the double is NaN or infinite.
+     */
+    public static String toString(double value, int decimals) {
+        byte[] bytes = new byte[MAX_LENGTH];
+        int length = format(value, decimals, bytes, 0);
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Formats the given double into the given bytes, rounded half away from zero to the given number of decimals,
+     * dropping the trailing zeros of the fraction. It is the shortest decimal of the double that is rounded, not the
+     * double itself: a double whose shortest decimal has no more decimals than requested is written unchanged, and so
+     * it parses back to the same double. The rounded values are written in plain notation, but the ones from 10^21.
+     *
+     * @param value The double to format.
+     * @param decimals The number of decimals, from 0 to {@link #MAX_DECIMALS}.
+     * @param bytes The bytes to write to, with at least {@link #MAX_LENGTH} bytes available from the offset.
+     * @param offset The index of the first byte to write.
+     * @return The index after the last written byte.
+     * @throws IllegalArgumentException if the double is NaN or infinite.
+     */
+    public static int format(double value, int decimals, byte[] bytes, int offset) {
+        if (decimals < 0 || decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("The decimals must be between 0 and " + MAX_DECIMALS + ", but were " + decimals);
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+
+        int at = offset;
+        if (value < 0) {
+            bytes[at++] = '-';
+        }
+        int end = formatDecimal(Math.abs(value), decimals, bytes, at);
+        if (end - at == 1 && bytes[at] == '0') {
+            // Rounded to zero, without sign
+            bytes[offset] = '0';
+            return offset + 1;
+        }
+        return end;
+    }
+
+    /**
+     * Formats the given double into the given bytes.
+     *
+     * @param value The double to format.
+     * @param bytes The bytes to write to, with at least {@link #MAX_LENGTH} bytes available from the offset.
+     * @param offset The index of the first byte to write.
+     * @return The index after the last written byte.
+     * @throws IllegalArgumentException if the double is NaN or infinite.
+     */
+    public static int format(double value, byte[] bytes, int offset) {
+        return formatDecimal(value, SHORTEST, bytes, offset);
+    }
+
+    /**
+     * Formats the given double into the given bytes, rounding its shortest decimal to the given decimals unless they
+     * are {@link #SHORTEST}.
+     */
+    private static int formatDecimal(double value, int decimals, byte[] bytes, int offset) {
+        long bits = Double.doubleToRawLongBits(value);
+        int biasedExponent = (int) (bits >>> PRECISION - 1) & EXPONENT_MASK;
+        if (biasedExponent == EXPONENT_MASK) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+
+        int at = offset;
+        if (bits < 0) {
+            bytes[at++] = '-';
+        }
+
+        long t = bits & SIGNIFICAND_MASK;
+        if (biasedExponent != 0) {
+            int q = biasedExponent - 1 + MIN_EXPONENT;
+            long c = MIN_SIGNIFICAND | t;
+            // Integers up to 2^53 are their own shortest decimal
+            if (q < 0 && q > -PRECISION) {
+                long f = c >> -q;
+                if (f << -q == c) {
+                    return write(f, 0, decimals, bytes, at);
+                }
+            }
+            return toDecimal(q, c, 0, decimals, bytes, at);
+        } else if (t != 0) {
+            return t < TINY_SIGNIFICAND
+                    ? toDecimal(MIN_EXPONENT, 10 * t, -1, decimals, bytes, at)
+                    : toDecimal(MIN_EXPONENT, t, 0, decimals, bytes, at);
+        } else {
+            bytes[at++] = '0';
+            return at;
+        }
+    }
+
+    /**
+     * Finds the shortest decimal in the rounding interval of c 2^q, then writes it.
+     */
+    private static int toDecimal(int q, long c, int dk, int decimals, byte[] bytes, int at) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != MIN_SIGNIFICAND || q == MIN_EXPONENT) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            // The interval is asymmetric at the powers of two
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 2;
+
+        int index = (k - MIN_POWER_OF_TEN) * 2;
+        long g1 = G[index];
+        long g0 = G[index + 1];
+
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // A decimal with one digit less, if it is in the interval
+            long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return write(upin ? sp10 : tp10, k, decimals, bytes, at);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return write(uin ? s : t, k + dk, decimals, bytes, at);
+        }
+        // Both are in the interval, the closest wins, the even one on ties
+        long cmp = vb - (s + t << 1);
+        return write(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, decimals, bytes, at);
+    }
+
+    /**
+     * Writes the decimal f 10^e, f being positive, rounded half away from zero to the given decimals unless they are
+     * {@link #SHORTEST}.
+     */
+    private static int write(long f, int e, int decimals, byte[] bytes, int at) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        if (decimals != SHORTEST && -e > decimals) {
+            int dropped = -e - decimals;
+            if (dropped > length(f)) {
+                f = 0;
+            } else {
+                long divisor = POWERS_OF_TEN[dropped];
+                long remainder = f % divisor;
+                f = f / divisor + (remainder * 2 >= divisor ? 1 : 0);
+            }
+            if (f == 0) {
+                bytes[at++] = '0';
+                return at;
+            }
+            e = -decimals;
+            while (f % 10 == 0) {
+                f /= 10;
+                e++;
+            }
+        }
+        int length = length(f);
+        int decimalPoint = length + e;
+
+        if (decimalPoint > MAX_PLAIN_DECIMAL_POINT || decimals == SHORTEST && decimalPoint < MIN_PLAIN_DECIMAL_POINT) {
+            long fraction = POWERS_OF_TEN[length - 1];
+            at = writeDigits(f / fraction, 1, bytes, at);
+            if (length > 1) {
+                bytes[at++] = '.';
+                at = writeDigits(f % fraction, length - 1, bytes, at);
+            }
+            bytes[at++] = 'E';
+            int exponent = decimalPoint - 1;
+            if (exponent < 0) {
+                bytes[at++] = '-';
+                exponent = -exponent;
+            }
+            return writeDigits(exponent, length(exponent), bytes, at);
+        } else if (decimalPoint <= 0) {
+            bytes[at++] = '0';
+            bytes[at++] = '.';
+            for (int i = decimalPoint; i < 0; i++) {
+                bytes[at++] = '0';
+            }
+            return writeDigits(f, length, bytes, at);
+        } else if (decimalPoint < length) {
+            long fraction = POWERS_OF_TEN[length - decimalPoint];
+            at = writeDigits(f / fraction, decimalPoint, bytes, at);
+            bytes[at++] = '.';
+            return writeDigits(f % fraction, length - decimalPoint, bytes, at);
+        } else {
+            at = writeDigits(f, length, bytes, at);
+            for (int i = length; i < decimalPoint; i++) {
+                bytes[at++] = '0';
+            }
+            return at;
+        }
+    }
+
+    /**
+     * Writes the given number of digits of the given value, padding it with leading zeros.
+     */
+    private static int writeDigits(long value, int digits, byte[] bytes, int at) {
+        int end = at + digits;
+        for (int i = end - 1; i >= at; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int length(long value) {
+        int length = 1;
+        while (length < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * The value of g cp 2^-127, rounded to odd.
+     */
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int floorLog10Pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int floorLog10ThreeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int floorLog2Pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * The high 64 bits of the signed 128 bits product of the given values.
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x0 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y0 = y & 0xFFFFFFFFL;
+
+        long p00 = x0 * y0;
+        long t = x1 * y0 + (p00 >>> 32);
+        long middle = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >> 32) + (middle >> 32);
+    }
+}
@@ -0,0 +1,275 @@
+package com.github.filosganga.geogson.util;
+
+import java.math.BigInteger;
+
+/**
+ * Parses decimal literals into doubles, giving the same result as {@link Double#parseDouble(String)}.
+ *
+ * The literals with up to 19 significant digits are converted with the Clinger fast path, when both the significand
+ * and the power of ten are exact doubles, or with the Eisel-Lemire algorithm otherwise. The few literals these two
+ * cannot round correctly, and the ones that are not plain json numbers, fall back to {@link Double#parseDouble}.
+ *
+ * See: Daniel Lemire, "Number Parsing at a Gigabyte per Second", Software: Practice and Experience 51 (8), 2021.
+ */
+public final class DoubleParser {
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+    private static final int MAX_EXACT_POWER_OF_TEN = 22;
+
+    private static final int MIN_POWER_OF_TEN = -342;
+    private static final int MAX_POWER_OF_TEN = 308;
+
+    private static final double[] EXACT_POWERS_OF_TEN = new double[MAX_EXACT_POWER_OF_TEN + 1];
+
+    /**
+     * The 128 bits approximations of the powers of five from 5^-342 to 5^308, normalized to have the highest bit set,
+     * as pairs of high and low 64 bits.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[(MAX_POWER_OF_TEN - MIN_POWER_OF_TEN + 1) * 2];
+
+    static {
+        double power = 1.0;
+        for (int i = 0; i <= MAX_EXACT_POWER_OF_TEN; i++) {
+            EXACT_POWERS_OF_TEN[i] = power;
+            power *= 10.0;
+        }
+
+        BigInteger five = BigInteger.valueOf(5);
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = MIN_POWER_OF_TEN; q <= MAX_POWER_OF_TEN; q++) {
+            BigInteger approximation;
+            if (q >= 0) {
+                BigInteger power5 = five.pow(q);
+                approximation = power5.bitLength() <= 128
+                        ? power5.shiftLeft(128 - power5.bitLength())
+                        : power5.shiftRight(power5.bitLength() - 128);
+            } else {
+                BigInteger power5 = five.pow(-q);
+                int z = power5.bitLength();
+                if (q >= -27) {
+                    approximation = BigInteger.ONE.shiftLeft(z + 127).divide(power5).add(BigInteger.ONE);
+                } else {
+                    approximation = BigInteger.ONE.shiftLeft(2 * z + 128).divide(power5).add(BigInteger.ONE);
+                    approximation = approximation.shiftRight(approximation.bitLength() - 128);
+                }
+            }
+            int index = (q - MIN_POWER_OF_TEN) * 2;
+            POWERS_OF_FIVE[index] = approximation.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = approximation.and(mask).longValue();
+        }
+    }
+
+    private DoubleParser() {
+    }
+
+    /**
+     * Parses the given decimal literal.
+     *
+     * @param value The literal to parse.
+     * @return The double value of the literal.
+     * @throws NumberFormatException if the literal is not a valid double.
+     */
+    public static double parseDouble(CharSequence value) {
+        return parseDouble(value, 0, value.length());
+    }
+
+    /**
+     * Parses the decimal literal between the given indexes of the given CharSequence.
+     *
+     * @param value The CharSequence containing the literal.
+     * @param from The index of the first char of the literal.
+     * @param to The index after the last char of the literal.
+     * @return The double value of the literal.
+     * @throws NumberFormatException if the literal is not a valid double.
+     */
+    public static double parseDouble(CharSequence value, int from, int to) {
+
+        int i = from;
+        boolean negative = false;
+        if (i < to && value.charAt(i) == '-') {
+            negative = true;
+            i++;
+        }
+
+        long significand = 0;
+        int digits = 0;
+        // Counted from the first non-zero digit, past 19 digits the significand may have wrapped around
+        int significantDigits = 0;
+        int exponent = 0;
+
+        int integerStart = i;
+        while (i < to && isDigit(value.charAt(i))) {
+            int digit = value.charAt(i) - '0';
+            significand = significand * 10 + digit;
+            if (significantDigits > 0 || digit != 0) {
+                significantDigits++;
+            }
+            i++;
+        }
+        digits += i - integerStart;
+
+        if (i < to && value.charAt(i) == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < to && isDigit(value.charAt(i))) {
+                int digit = value.charAt(i) - '0';
+                significand = significand * 10 + digit;
+                if (significantDigits > 0 || digit != 0) {
+                    significantDigits++;
+                }
+                i++;
+            }
+            if (i == fractionStart) {
+                return fallback(value, from, to);
+            }
+            digits += i - fractionStart;
+            exponent = fractionStart - i;
+        }
+
+        if (digits == 0 || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            return fallback(value, from, to);
+        }
+
+        if (i < to && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                negativeExponent = value.charAt(i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int explicitExponent = 0;
+            while (i < to && isDigit(value.charAt(i))) {
+                explicitExponent = explicitExponent * 10 + (value.charAt(i) - '0');
+                i++;
+            }
+            if (i == exponentStart || i - exponentStart > 9) {
+                return fallback(value, from, to);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (i != to) {
+            return fallback(value, from, to);
+        }
+
+        double result = toDouble(negative, significand, exponent);
+        return Double.isNaN(result) ? fallback(value, from, to) : result;
+    }
+
+    /**
+     * Computes the double closest to significand * 10^exponent.
+     *
+     * @return the double, or NaN if it cannot be computed exactly by the fast algorithms.
+     */
+    private static double toDouble(boolean negative, long significand, int exponent) {
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        // Clinger fast path: both the operands are exact, so is the result of a single IEEE operation.
+        // The significand is unsigned, 19 digits may not fit in a signed long.
+        if (significand > 0 && significand <= MAX_EXACT_SIGNIFICAND && exponent >= -MAX_EXACT_POWER_OF_TEN && exponent <= MAX_EXACT_POWER_OF_TEN) {
+            double result = exponent < 0
+                    ? significand / EXACT_POWERS_OF_TEN[-exponent]
+                    : significand * EXACT_POWERS_OF_TEN[exponent];
+            return negative ? -result : result;
+        }
+
+        if (exponent < MIN_POWER_OF_TEN || exponent > MAX_POWER_OF_TEN) {
+            return Double.NaN;
+        }
+
+        return eiselLemire(negative, significand, exponent);
+    }
+
+    private static double eiselLemire(boolean negative, long significand, int exponent) {
+
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long w = significand << leadingZeros;
+
+        int index = (exponent - MIN_POWER_OF_TEN) * 2;
+        long powerHigh = POWERS_OF_FIVE[index];
+        long powerLow = POWERS_OF_FIVE[index + 1];
+
+        long productHigh = multiplyHigh(w, powerHigh);
+        long productLow = w * powerHigh;
+
+        // 55 bits are needed: if the lower 9 bits of the high product are all ones the truncation of the power
+        // of five may matter, so the product is refined with its lower part
+        if ((productHigh & 0x1FF) == 0x1FF) {
+            long secondHigh = multiplyHigh(w, powerLow);
+            productLow += secondHigh;
+            if (Long.compareUnsigned(secondHigh, productLow) > 0) {
+                productHigh++;
+            }
+        }
+
+        // In very rare cases the product is still not accurate enough
+        if (productLow == -1L && (exponent < -27 || exponent > 55)) {
+            return Double.NaN;
+        }
+
+        int upperBit = (int) (productHigh >>> 63);
+        long mantissa = productHigh >>> (upperBit + 9);
+        int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+
+        if (power2 <= 0) {
+            // Subnormal numbers
+            return Double.NaN;
+        }
+
+        // A value exactly halfway between two doubles rounds to even
+        if (Long.compareUnsigned(productLow, 1) <= 0 && exponent >= -4 && exponent <= 23 && (mantissa & 3) == 1) {
+            if ((mantissa << (upperBit + 9)) == productHigh) {
+                mantissa &= ~1L;
+            }
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+
+        if (power2 >= 0x7FF) {
+            return Double.NaN;
+        }
+
+        long bits = mantissa | ((long) power2 << 52);
+        if (negative) {
+            bits |= 1L << 63;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * The high 64 bits of the unsigned 128 bits product of the given values.
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+
+        long p11 = x1 * y1;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p00 = x0 * y0;
+
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static double fallback(CharSequence value, int from, int to) {
+        return Double.parseDouble(value.subSequence(from, to).toString());
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.filosganga.geogson.util;
+
+import java.math.BigDecimal;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * A json number kept as its literal. The literal is parsed only when the value is read, then the value is cached,
+ * and it is what {@link #toString()} returns: a LazyNumber is written back exactly as it has been read.
+ *
+ * It is thread safe.
+ */
+public final class LazyNumber extends Number {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String literal;
+
+    private transient double doubleValue;
+    private transient volatile boolean doubleParsed;
+
+    private transient long longValue;
+    private transient volatile boolean longParsed;
+
+    /**
+     * Creates a LazyNumber from the given literal, that is checked only when it is parsed.
+     *
+     * @param literal The json number literal.
+     */
+    public LazyNumber(String literal) {
+        this.literal = checkNotNull(literal, "The literal cannot be null");
+    }
+
+    @Override
+    public double doubleValue() {
+        if (!doubleParsed) {
+            doubleValue = DoubleParser.parseDouble(literal);
+            doubleParsed = true;
+        }
+        return doubleValue;
+    }
+
+    @Override
+    public long longValue() {
+        if (!longParsed) {
+            try {
+                longValue = Long.parseLong(literal);
+            } catch (NumberFormatException e) {
+                longValue = new BigDecimal(literal).longValue();
+            }
+            longParsed = true;
+        }
+        return longValue;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public String toString() {
+        return literal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof LazyNumber && literal.equals(((LazyNumber) o).literal);
+    }
+
+    @Override
+    public int hashCode() {
+        return literal.hashCode();
+    }
+}
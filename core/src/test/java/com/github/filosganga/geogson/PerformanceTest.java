@@ -1,16 +1,32 @@
 package com.github.filosganga.geogson;
 
 
+import com.github.filosganga.geogson.gson.GeoJsonBytesReader;
+import com.github.filosganga.geogson.gson.GeoJsonBytesWriter;
 import com.github.filosganga.geogson.gson.GeometryAdapterFactory;
+import com.github.filosganga.geogson.gson.ParallelFeatureCollectionReader;
+import com.github.filosganga.geogson.model.Feature;
 import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.Point;
+import com.github.filosganga.geogson.util.DoubleParser;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 public class PerformanceTest {
 
@@ -20,6 +36,69 @@ public class PerformanceTest {
         return new BufferedReader(new InputStreamReader(ClassLoader.getSystemResourceAsStream(resourceName)));
     }
 
+    @State(Scope.Benchmark)
+    public static class Coordinates {
+
+        final String[] literals = {
+                "-0.1276", "51.5072", "151.2093", "-33.8688", "-122.41941550000001", "37.77492950000001",
+                "2.3522219", "48.856614", "139.6917", "35.6895", "-74.005941", "40.712784"
+        };
+    }
+
+    @State(Scope.Benchmark)
+    public static class FeatureCollectionBytes {
+
+        final byte[] bytes;
+
+        public FeatureCollectionBytes() {
+            try (InputStream input = ClassLoader.getSystemResourceAsStream("feature-collection.json")) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = input.read(chunk)) != -1) {
+                    output.write(chunk, 0, read);
+                }
+                bytes = output.toByteArray();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FeatureCollectionModel {
+
+        final FeatureCollection collection;
+
+        public FeatureCollectionModel() {
+            try (Reader reader = openReader("feature-collection.json")) {
+                collection = gson.fromJson(reader, FeatureCollection.class);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FeatureWithManyProperties {
+
+        final Feature feature;
+
+        public FeatureWithManyProperties() {
+            Feature.Builder builder = Feature.builder().withGeometry(Point.from(-0.1276, 51.5072));
+            for (int i = 0; i < 200; i++) {
+                builder.withProperty("attribute" + i, i % 2 == 0 ? new JsonPrimitive("value" + i) : new JsonPrimitive(i * 1.5));
+            }
+            feature = builder.build();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BytesWriter {
+
+        final GeoJsonBytesWriter writer = new GeoJsonBytesWriter();
+    }
+
     @Benchmark
     public void featureCollectionReading() throws Exception {
         try (Reader reader = openReader("feature-collection.json")) {
@@ -27,4 +106,57 @@ public class PerformanceTest {
         }
 
     }
+
+    @Benchmark
+    public FeatureCollection featureCollectionReadingFromString(FeatureCollectionBytes json) {
+        return gson.fromJson(new String(json.bytes, StandardCharsets.UTF_8), FeatureCollection.class);
+    }
+
+    @Benchmark
+    public FeatureCollection featureCollectionReadingFromBytes(FeatureCollectionBytes json) {
+        return new GeoJsonBytesReader(json.bytes).readFeatureCollection();
+    }
+
+    @Benchmark
+    public FeatureCollection featureCollectionReadingFromBytesWithLazyGeometry(FeatureCollectionBytes json) {
+        return new GeoJsonBytesReader(ByteBuffer.wrap(json.bytes), new GeometryAdapterFactory().withLazyGeometry()).readFeatureCollection();
+    }
+
+    @Benchmark
+    public FeatureCollection featureCollectionParallelReading(FeatureCollectionBytes json) {
+        return new ParallelFeatureCollectionReader().withChunkSize(16 * 1024).read(json.bytes);
+    }
+
+    @Benchmark
+    public byte[] featureCollectionWritingWithGson(FeatureCollectionModel model) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(64 * 1024);
+        try (Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+            gson.toJson(model.collection, FeatureCollection.class, writer);
+        }
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] featureCollectionWritingToBytes(FeatureCollectionModel model, BytesWriter bytes) {
+        return bytes.writer.reset().writeFeatureCollection(model.collection).toByteArray();
+    }
+
+    @Benchmark
+    public String featureWithManyPropertiesWriting(FeatureWithManyProperties model) {
+        return gson.toJson(model.feature);
+    }
+
+    @Benchmark
+    public void coordinatesParsingWithParseDouble(Coordinates coordinates, Blackhole blackhole) {
+        for (String literal : coordinates.literals) {
+            blackhole.consume(Double.parseDouble(literal));
+        }
+    }
+
+    @Benchmark
+    public void coordinatesParsingWithDoubleParser(Coordinates coordinates, Blackhole blackhole) {
+        for (String literal : coordinates.literals) {
+            blackhole.consume(DoubleParser.parseDouble(literal));
+        }
+    }
 }
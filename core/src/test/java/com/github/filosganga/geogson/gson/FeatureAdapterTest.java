@@ -2,21 +2,36 @@ package com.github.filosganga.geogson.gson;
 
 import com.github.filosganga.geogson.gson.utils.FeatureUtils;
 import com.github.filosganga.geogson.gson.utils.JsonUtils;
+import com.github.filosganga.geogson.model.BoundingBox;
 import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.LineString;
 import com.github.filosganga.geogson.model.Point;
+import com.github.filosganga.geogson.model.PropertyShape;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
 import static com.github.filosganga.geogson.model.Matchers.emptyMap;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class FeatureAdapterTest {
 
@@ -62,4 +77,268 @@ public class FeatureAdapterTest {
         assertThat(parsed.properties(), emptyMap());
     }
 
+    @Test
+    public void shouldReadLazyPropertiesEqualToEagerOnes() {
+        String json = "{" +
+                "\"type\": \"Feature\", " +
+                "\"properties\": {\"name\": \"test\", \"size\": 1.50, \"tags\": [1, null, {\"a\": true}]}, " +
+                "\"geometry\": " + JsonUtils.givenPointJson(10,10) +
+                "}";
+
+        Gson lazy = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withLazyProperties()).create();
+
+        Feature parsed = lazy.fromJson(json, Feature.class);
+
+        assertThat(parsed.rawProperties().isPresent(), is(true));
+        assertThat(parsed, equalTo(toTest.fromJson(json, Feature.class)));
+        assertThat(parsed.properties().get("size").getAsDouble(), is(1.5));
+    }
+
+    @Test
+    public void shouldWriteLazyPropertiesAsTheyAre() {
+        String json = "{" +
+                "\"type\": \"Feature\", " +
+                "\"properties\": {\"size\": 1.50, \"big\": 1e400, \"nested\": {\"empty\": null}}, " +
+                "\"geometry\": " + JsonUtils.givenPointJson(10,10) +
+                "}";
+
+        Gson lazy = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withLazyProperties()).create();
+
+        Feature parsed = lazy.fromJson(json, Feature.class);
+        String written = lazy.toJson(parsed);
+
+        assertThat(written, containsString("\"properties\":{\"size\":1.50,\"big\":1e400,\"nested\":{\"empty\":null}}"));
+        assertThat(lazy.toJsonTree(parsed).getAsJsonObject().getAsJsonObject("properties").get("size").getAsDouble(), is(1.5));
+        assertThat(Feature.builder(parsed).withId("test").build().rawProperties(), equalTo(parsed.rawProperties()));
+    }
+
+    @Test
+    public void shouldReadOnlyTheGivenProperties() {
+        String json = "{" +
+                "\"type\": \"Feature\", " +
+                "\"properties\": {\"id\": 1, \"name\": \"test\", \"other\": {\"deep\": [1, 2, 3]}}, " +
+                "\"geometry\": " + JsonUtils.givenPointJson(10,10) +
+                "}";
+
+        Gson eager = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withOnlyProperties("id", "name")).create();
+        Gson lazy = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withOnlyProperties("id", "name").withLazyProperties()).create();
+
+        assertThat(eager.fromJson(json, Feature.class).properties().keySet(), containsInAnyOrder("id", "name"));
+        assertThat(lazy.fromJson(json, Feature.class).properties().keySet(), containsInAnyOrder("id", "name"));
+    }
+
+    @Test
+    public void shouldSkipPropertiesAndGeometry() {
+        String json = "{" +
+                "\"type\": \"Feature\", " +
+                "\"id\": \"test\", " +
+                "\"properties\": {\"name\": \"test\"}, " +
+                "\"geometry\": " + JsonUtils.givenPointJson(10,10) +
+                "}";
+
+        Gson withoutProperties = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withoutProperties()).create();
+        Gson withoutGeometry = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withoutGeometry()).create();
+
+        Feature geometryOnly = withoutProperties.fromJson(json, Feature.class);
+        assertThat(geometryOnly.properties(), emptyMap());
+        assertThat(geometryOnly.geometry(), equalTo(Point.from(10, 10)));
+
+        Feature attributesOnly = withoutGeometry.fromJson(json, Feature.class);
+        assertThat(attributesOnly.geometry(), nullValue());
+        assertThat(attributesOnly.id().get(), equalTo("test"));
+        assertThat(attributesOnly.properties().get("name").getAsString(), equalTo("test"));
+    }
+
+    @Test
+    public void shouldWritePropertiesWithTheGsonSettings() throws Exception {
+        JsonObject nested = new JsonObject();
+        nested.add("empty", JsonNull.INSTANCE);
+        nested.addProperty("html", "<b>");
+        Feature feature = Feature.builder()
+                .withGeometry(Point.from(1, 2))
+                .withProperty("nested", nested)
+                .withProperty("none", JsonNull.INSTANCE)
+                .withProperty("nan", new JsonPrimitive(Double.NaN))
+                .build();
+
+        StringWriter json = new StringWriter();
+        JsonWriter out = new JsonWriter(json);
+        toTest.getAdapter(Feature.class).write(out, feature);
+
+        assertThat(json.toString(), is(toTest.toJson(feature)));
+        assertThat(json.toString(), containsString("\"nested\":{\"html\":\"\\u003cb\\u003e\"}"));
+        assertThat(json.toString(), containsString("\"nan\":NaN"));
+        assertThat(out.getSerializeNulls(), is(true));
+        assertThat(out.isLenient(), is(false));
+        assertThat(out.isHtmlSafe(), is(false));
+    }
+
+    @Test
+    public void shouldWriteTheRawJsonOfTheUntouchedFeatures() {
+        Gson passthrough = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withRawPassthrough()).create();
+        String geometry = "{\"type\":\"Point\",\"coordinates\":[10.000,1e1]}";
+        String json = "{\"type\":\"Feature\",\"id\":\"test\",\"properties\":{\"name\":\"test\"},\"geometry\":" + geometry + ",\"foreign\":[1]}";
+
+        Feature parsed = passthrough.fromJson(json, Feature.class);
+        assertThat(parsed.rawJson().get(), is(json));
+        assertThat(passthrough.toJson(parsed), is(json));
+
+        // A rebuilt Feature is written again, with its untouched geometry copied
+        Feature rebuilt = Feature.builder(parsed).withProperty("name", new JsonPrimitive("changed")).build();
+        assertThat(rebuilt.rawJson().isPresent(), is(false));
+        assertThat(passthrough.toJson(rebuilt), is("{\"id\":\"test\",\"type\":\"Feature\",\"properties\":{\"name\":\"changed\"},\"geometry\":" + geometry + "}"));
+
+        // Rounding the coordinates disables the passthrough on write
+        Gson rounding = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withCoordinatePrecision(2)).create();
+        assertThat(rounding.toJson(parsed), containsString("\"coordinates\":[10,10]"));
+    }
+
+    @Test
+    public void shouldKeepTheRawJsonOfTheMembersReadLazily() {
+        Gson passthrough = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withRawPassthrough().withLazyGeometry().withLazyProperties()).create();
+        String geometry = "{\"type\":\"LineString\",\"bbox\":[0,0,1.0,1e0],\"coordinates\":[[0,0],[1.0,1e0]]}";
+        String json = "{\"type\":\"Feature\",\"properties\":{\"a\":[1.50,{\"b\":-0}],\"c\":true},\"geometry\":" + geometry + "}";
+
+        Feature parsed = passthrough.fromJson(json, Feature.class);
+
+        assertThat(parsed.rawJson().get(), is(json));
+        assertThat(parsed.geometry().rawJson().get(), is(geometry));
+    }
+
+    @Test
+    public void shouldNotKeepTheRawJsonOfTheFeaturesWithSkippedMembers() {
+        Gson passthrough = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withRawPassthrough().withOnlyProperties("id")).create();
+        String json = "{\"type\":\"Feature\",\"properties\":{\"name\":\"test\"},\"geometry\":" + JsonUtils.givenPointJson(10, 10) + "}";
+
+        Feature parsed = passthrough.fromJson(json, Feature.class);
+
+        assertThat(parsed.rawJson().isPresent(), is(false));
+        assertThat(parsed.geometry().rawJson().isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldDecodeTheGeometriesStraightAwayWithGson() {
+        Gson lazy = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withLazyGeometry()).create();
+        String json = "{\"type\":\"Feature\",\"properties\":{\"name\":\"test\"},\"geometry\":" +
+                "{\"type\":\"LineString\",\"bbox\":[0,0,1,1],\"coordinates\":[[0,0],[1,1]]}}";
+
+        Feature parsed = lazy.fromJson(json, Feature.class);
+
+        assertThat(parsed.geometry(), instanceOf(LineString.class));
+        assertThat(parsed, equalTo(toTest.fromJson(json, Feature.class)));
+    }
+
+    @Test
+    public void shouldReadThePropertiesPastTheInternedShapes() {
+        StringBuilder json = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+        int count = PropertyShape.MAX_INTERNED_SHAPES + 10;
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"type\":\"Feature\",\"properties\":{\"name\":\"feature").append(i)
+                    .append("\",\"attribute").append(i).append("\":").append(i).append(",\"name\":\"duplicate\"},\"geometry\":null}");
+        }
+        json.append("]}");
+
+        FeatureCollection parsed = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeometryAdapterFactory().withoutGeometry())
+                .create()
+                .fromJson(json.toString(), FeatureCollection.class);
+
+        assertThat(parsed.features().size(), is(count));
+        for (int i = 0; i < count; i++) {
+            Map<String, JsonElement> properties = parsed.features().get(i).properties();
+            assertThat(properties.size(), is(2));
+            assertThat(properties.get("name"), equalTo(new JsonPrimitive("duplicate")));
+            assertThat(properties.get("attribute" + i).getAsInt(), is(i));
+        }
+    }
+
+    @Test
+    public void shouldShareTheStringValuesThroughTheDictionary() {
+        String json = "{\"type\":\"FeatureCollection\",\"features\":[" +
+                "{\"type\":\"Feature\",\"properties\":{\"country\":\"DE\",\"name\":\"Berlin\",\"code\":\"BE\",\"zone\":\"EU\"},\"geometry\":null}," +
+                "{\"type\":\"Feature\",\"properties\":{\"country\":\"DE\",\"name\":\"Berlin\",\"code\":\"BE\",\"zone\":\"EU\"},\"geometry\":null}]}";
+
+        FeatureCollection parsed = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeometryAdapterFactory().withStringDictionary(2, 4).withoutGeometry())
+                .create()
+                .fromJson(json, FeatureCollection.class);
+
+        Map<String, JsonElement> first = parsed.features().get(0).properties();
+        Map<String, JsonElement> second = parsed.features().get(1).properties();
+        assertThat(second.get("country"), sameInstance(first.get("country")));
+        assertThat(second.get("code"), sameInstance(first.get("code")));
+        // Too long
+        assertThat(second.get("name"), not(sameInstance(first.get("name"))));
+        // Over the max entries
+        assertThat(second.get("zone"), not(sameInstance(first.get("zone"))));
+        assertThat(second, equalTo(first));
+    }
+
+    @Test
+    public void shouldFillADictionaryForEachReadSession() {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeometryAdapterFactory().withStringDictionary(2, 4).withoutGeometry())
+                .create();
+        String feature = "{\"type\":\"Feature\",\"properties\":{\"country\":\"%s\",\"code\":\"%s\"},\"geometry\":null}";
+        String germany = "{\"type\":\"FeatureCollection\",\"features\":[" +
+                String.format(feature, "DE", "BE") + "," + String.format(feature, "DE", "BE") + "]}";
+        String france = "{\"type\":\"FeatureCollection\",\"features\":[" +
+                String.format(feature, "FR", "IDF") + "," + String.format(feature, "FR", "IDF") + "]}";
+
+        FeatureCollection first = gson.fromJson(germany, FeatureCollection.class);
+        FeatureCollection second = gson.fromJson(france, FeatureCollection.class);
+        FeatureCollection third = gson.fromJson(germany, FeatureCollection.class);
+
+        // A full dictionary of an earlier read does not stop the next one
+        assertThat(second.features().get(1).properties().get("country"), sameInstance(second.features().get(0).properties().get("country")));
+        assertThat(second.features().get(1).properties().get("code"), sameInstance(second.features().get(0).properties().get("code")));
+        assertThat(third.features().get(0).properties().get("country"), not(sameInstance(first.features().get(0).properties().get("country"))));
+    }
+
+    @Test
+    public void shouldWriteTheNumberPropertiesBackAsTheyHaveBeenRead() {
+        String properties = "{\"a\":1.8446744073709551616e19,\"b\":1e400,\"c\":0.30000000000000000000001,\"d\":12345678901234567890," +
+                "\"e\":-0,\"f\":1.50,\"g\":-42,\"h\":0}";
+        String json = "{\"type\":\"Feature\",\"properties\":" + properties + ",\"geometry\":" + JsonUtils.givenPointJson(10, 10) + "}";
+
+        Feature parsed = toTest.fromJson(json, Feature.class);
+
+        assertThat(toTest.toJson(parsed), containsString("\"properties\":" + properties));
+        assertThat(toTest.toJson(parsed.properties()), is(properties));
+        assertThat(parsed.getDouble("a"), is(1.8446744073709551616e19));
+        assertThat(parsed.getDouble("b"), is(Double.POSITIVE_INFINITY));
+        assertThat(parsed.getDouble("c"), is(0.3));
+        assertThat(Double.doubleToRawLongBits(parsed.getDouble("e")), is(Double.doubleToRawLongBits(-0.0)));
+        assertThat(parsed.getDouble("f"), is(1.5));
+        assertThat(parsed.getLong("f"), is(1L));
+        assertThat(parsed.getLong("g"), is(-42L));
+        assertThat(parsed.getString("f"), is("1.50"));
+    }
+
+    @Test
+    public void shouldReadThePrimitivePropertiesWithoutJsonElements() {
+        String json = "{\"type\":\"Feature\",\"properties\":{\"population\":3520031,\"speed_limit\":50.5," +
+                "\"big\":12345678901234567890,\"capital\":true,\"name\":\"Berlin\",\"tags\":[\"a\"]},\"geometry\":" + JsonUtils.givenPointJson(10, 10) + "}";
+
+        Feature parsed = toTest.fromJson(json, Feature.class);
+
+        assertThat(parsed.has("population"), is(true));
+        assertThat(parsed.has("area"), is(false));
+        assertThat(parsed.getLong("population"), is(3520031L));
+        assertThat(parsed.getDouble("population"), is(3520031.0));
+        assertThat(parsed.getDouble("speed_limit"), is(50.5));
+        assertThat(parsed.getString("speed_limit"), is("50.5"));
+        assertThat(parsed.getString("big"), is("12345678901234567890"));
+        assertThat(parsed.getString("capital"), is("true"));
+        assertThat(parsed.getString("name"), is("Berlin"));
+        assertThat(parsed.properties().get("population"), equalTo(new JsonPrimitive(3520031)));
+        assertThat(parsed.properties().get("tags").getAsJsonArray().size(), is(1));
+        assertThat(toTest.fromJson(toTest.toJson(parsed), Feature.class), equalTo(parsed));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotReadAMissingPrimitiveProperty() {
+        Feature parsed = toTest.fromJson("{\"type\":\"Feature\",\"properties\":{},\"geometry\":" + JsonUtils.givenPointJson(10, 10) + "}", Feature.class);
+        parsed.getDouble("population");
+    }
 }
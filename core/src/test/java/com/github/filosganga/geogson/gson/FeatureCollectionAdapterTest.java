@@ -3,6 +3,8 @@ package com.github.filosganga.geogson.gson;
 import com.github.filosganga.geogson.gson.utils.FeatureUtils;
 import com.github.filosganga.geogson.model.Feature;
 import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.LineString;
+import com.github.filosganga.geogson.model.Point;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.junit.Before;
@@ -11,6 +13,7 @@ import org.junit.Test;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -52,6 +55,23 @@ public class FeatureCollectionAdapterTest {
         assertThat(parsed.features().get(1).id().get(), equalTo("test2"));
     }
 
+    @Test
+    public void shouldWriteCoordinatesWithTheGivenPrecision() {
+        GeometryAdapterFactory options = new GeometryAdapterFactory().withCoordinatePrecision(6).withAltitudePrecision(1);
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(options).create();
+        FeatureCollection collection = new FeatureCollection(Arrays.asList(
+                Feature.of(Point.from(-0.12762345678, 51.5000004, 35.449)),
+                Feature.of(LineString.of(Point.from(1, 2), Point.from(-0.0000004, 0.1 + 0.2)))
+        ));
+
+        String json = gson.toJson(collection);
+
+        assertThat(json, is("{\"type\":\"FeatureCollection\",\"features\":[" +
+                "{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"coordinates\":[-0.127623,51.5,35.4]}}," +
+                "{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[1,2],[0,0.3]]}}]}"));
+        assertThat(new String(new GeoJsonBytesWriter(options).writeFeatureCollection(collection).toByteArray(), StandardCharsets.UTF_8), is(json));
+    }
+
     @Test
     public void shouldParseFeatureCollection() {
 
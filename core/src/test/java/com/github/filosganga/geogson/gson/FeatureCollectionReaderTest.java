@@ -0,0 +1,122 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class FeatureCollectionReaderTest {
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldReadFeaturesOneAtATime() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+
+        int count = 0;
+        try (FeatureCollectionReader reader = new FeatureCollectionReader(gson, new StringReader(json))) {
+            while (reader.hasNext()) {
+                assertThat(reader.next(), notNullValue());
+                count++;
+            }
+        }
+
+        assertThat(count, is(202));
+    }
+
+    @Test
+    public void shouldSkipForeignMembersBeforeAndAfterFeatures() throws Exception {
+
+        String json = "{\"bbox\": [1, 2, 3, 4], \"crs\": {\"type\": \"name\"}, \"features\": [" +
+                "{\"type\": \"Feature\", \"id\": \"a\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [1, 2]}}," +
+                "{\"type\": \"Feature\", \"id\": \"b\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [3, 4]}}" +
+                "], \"type\": \"FeatureCollection\", \"extra\": [[1], {\"a\": null}]}";
+
+        List<String> ids;
+        try (Stream<Feature> features = new FeatureCollectionReader(gson, new StringReader(json)).stream()) {
+            ids = features.map(f -> f.id().get()).collect(Collectors.toList());
+        }
+
+        assertThat(ids, contains("a", "b"));
+    }
+
+    @Test
+    public void shouldReadEmptyFeatures() throws Exception {
+
+        try (FeatureCollectionReader reader = new FeatureCollectionReader(gson, new StringReader("{\"type\": \"FeatureCollection\", \"features\": []}"))) {
+            List<Feature> features = new ArrayList<>();
+            reader.forEachRemaining(features::add);
+
+            assertThat(features, empty());
+            assertThat(reader.hasNext(), is(false));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionIfFeaturesAreMissing() throws Exception {
+
+        try (FeatureCollectionReader reader = new FeatureCollectionReader(gson, new StringReader("{\"type\": \"FeatureCollection\"}"))) {
+            reader.hasNext();
+        }
+    }
+
+    @Test
+    public void shouldReadOnlyFeaturesIntersectingTheBoundingBox() throws Exception {
+
+        String json = "{\"type\": \"FeatureCollection\", \"features\": [" +
+                "{\"type\": \"Feature\", \"id\": \"inside\", \"geometry\": {\"type\": \"LineString\", \"coordinates\": [[-5, -5], [5, 5]]}}," +
+                "{\"type\": \"Feature\", \"id\": \"outside\", \"geometry\": {\"type\": \"LineString\", \"coordinates\": [[20, 20], [30, 30]]}}," +
+                "{\"type\": \"Feature\", \"id\": \"bbox-outside\", \"bbox\": [40, 40, 50, 50], \"geometry\": {\"type\": \"NotAGeometry\"}}," +
+                "{\"type\": \"Feature\", \"id\": \"geometry-bbox-outside\", \"geometry\": {\"bbox\": [40, 40, 0, 50, 50, 0], \"type\": \"NotAGeometry\"}}," +
+                "{\"type\": \"Feature\", \"id\": \"collection\", \"geometry\": {\"type\": \"GeometryCollection\", \"geometries\": [" +
+                "{\"type\": \"Point\", \"coordinates\": [30, 30]}, {\"type\": \"Point\", \"coordinates\": [1, 1]}]}}" +
+                "]}";
+
+        List<String> ids;
+        try (Stream<Feature> features = new FeatureCollectionReader(gson, new StringReader(json))
+                .withBoundingBoxFilter(BoundingBox.of(0, 0, 10, 10))
+                .stream()) {
+            ids = features.map(f -> f.id().get()).collect(Collectors.toList());
+        }
+
+        assertThat(ids, contains("inside", "collection"));
+    }
+
+    @Test
+    public void shouldApplyTheBoundingBoxFilterOfTheFactory() throws Exception {
+
+        Gson filtering = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeometryAdapterFactory().withBoundingBoxFilter(BoundingBox.of(0, 0, 10, 10)))
+                .create();
+
+        String json = "{\"type\": \"FeatureCollection\", \"features\": [" +
+                "{\"type\": \"Feature\", \"id\": \"outside\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [20, 20]}}," +
+                "{\"type\": \"Feature\", \"id\": \"inside\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [5, 5]}}" +
+                "]}";
+
+        FeatureCollection collection = filtering.fromJson(json, FeatureCollection.class);
+
+        assertThat(collection.features(), hasSize(1));
+        assertThat(collection.features().get(0).id().get(), is("inside"));
+    }
+
+}
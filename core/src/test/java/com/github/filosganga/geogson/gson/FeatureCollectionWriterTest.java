@@ -0,0 +1,95 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.gson.utils.FeatureUtils;
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.Point;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class FeatureCollectionWriterTest {
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldWriteEmptyFeatureCollection() throws Exception {
+
+        StringWriter json = new StringWriter();
+        new FeatureCollectionWriter(gson, json).close();
+
+        assertThat(json.toString(), is("{\"type\":\"FeatureCollection\",\"features\":[]}"));
+    }
+
+    @Test
+    public void shouldWriteFeaturesIncrementally() throws Exception {
+
+        Feature first = FeatureUtils.featureWithId("test1");
+        Feature second = FeatureUtils.featureWithId("test2");
+        Feature third = FeatureUtils.featureWithId("test3");
+
+        StringWriter json = new StringWriter();
+        try (FeatureCollectionWriter writer = new FeatureCollectionWriter(gson, json)) {
+            writer.write(first);
+            writer.writeAll(Stream.of(second, third));
+        }
+
+        assertThat(json.toString(), is(gson.toJson(FeatureCollection.of(first, second, third))));
+        assertThat(gson.fromJson(json.toString(), FeatureCollection.class), equalTo(FeatureCollection.of(first, second, third)));
+    }
+
+    @Test
+    public void shouldWriteFeaturesWithObjectProperties() throws Exception {
+
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("list", Arrays.asList(1, 2.5, "three"));
+        nested.put("nothing", null);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", "test");
+        properties.put("count", 42L);
+        properties.put("ratio", 0.5);
+        properties.put("flag", true);
+        properties.put("unit", TimeUnit.SECONDS);
+        properties.put("nested", nested);
+        properties.put("missing", null);
+        Feature feature = Feature.of(Point.from(1, 2));
+
+        StringWriter json = new StringWriter();
+        try (FeatureCollectionWriter writer = new FeatureCollectionWriter(gson, json)) {
+            writer.write(feature, properties);
+        }
+
+        Feature.Builder expected = Feature.builder().withGeometry(Point.from(1, 2));
+        properties.forEach((name, value) -> expected.withProperty(name, gson.toJsonTree(value)));
+        assertThat(new JsonParser().parse(json.toString()),
+                equalTo(new JsonParser().parse(gson.toJson(new FeatureCollection(Collections.singletonList(expected.build()))))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRaiseExceptionWhenWritingAfterClose() throws Exception {
+
+        FeatureCollectionWriter writer = new FeatureCollectionWriter(gson, new StringWriter());
+        writer.close();
+        writer.write(FeatureUtils.featureWithId("test1"));
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class FeatureIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldReadEachFeatureOfAnIndexedFile() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+        Path file = folder.newFile("feature-collection.json").toPath();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        FeatureCollection expected = gson.fromJson(json, FeatureCollection.class);
+
+        Path sidecar = folder.newFile("feature-collection.json.idx").toPath();
+        FeatureIndex.build(file).writeTo(sidecar);
+        FeatureIndex index = FeatureIndex.readFrom(sidecar);
+
+        assertThat(index.size(), is(expected.features().size()));
+        try (IndexedFeatureReader reader = new IndexedFeatureReader(file, index)) {
+            for (int i = expected.features().size() - 1; i >= 0; i--) {
+                Feature feature = expected.features().get(i);
+                assertThat(reader.read(i), equalTo(feature));
+                assertThat(reader.read(feature.id().get()).get(), equalTo(feature));
+            }
+        }
+    }
+
+    @Test
+    public void shouldIndexTheFeaturesByTheirIdMember() throws Exception {
+
+        String json = "{\"features\": [" +
+                "{\"type\": \"Feature\", \"properties\": {\"id\": \"nested\"}, \"id\": \"a\\\"b\", \"geometry\": null}," +
+                "{\"id\": 42, \"type\": \"Feature\", \"properties\": {}, \"geometry\": null}," +
+                "{\"type\": \"Feature\", \"properties\": {\"id\": \"nested\"}, \"geometry\": null}," +
+                "{\"type\": \"Feature\", \"id\" : \"a\\\"b\", \"geometry\": null}" +
+                "], \"type\": \"FeatureCollection\"}";
+        Path file = folder.newFile("features.json").toPath();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+
+        FeatureIndex index = FeatureIndex.build(file);
+
+        assertThat(index.size(), is(4));
+        assertThat(index.ordinalOf("a\"b").getAsInt(), is(0));
+        assertThat(index.ordinalOf("42").getAsInt(), is(1));
+        assertThat(index.ordinalOf("nested").isPresent(), is(false));
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).substring((int) index.offset(1), (int) index.offset(1) + index.length(1)),
+                is("{\"id\": 42, \"type\": \"Feature\", \"properties\": {}, \"geometry\": null}"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectAStaleIndex() throws Exception {
+
+        Path file = folder.newFile("features.json").toPath();
+        Files.write(file, "{\"type\": \"FeatureCollection\", \"features\": []}".getBytes(StandardCharsets.UTF_8));
+        FeatureIndex index = FeatureIndex.build(file);
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+        new IndexedFeatureReader(file, index).close();
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.gson.utils.FeatureUtils;
+import com.github.filosganga.geogson.model.Feature;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class FeatureSequenceReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldReadNewlineDelimitedFeatures() throws Exception {
+
+        String json = gson.toJson(FeatureUtils.featureWithId("a")) + "\r\n\n" + gson.toJson(FeatureUtils.featureWithId("b")) + "\n";
+
+        assertThat(readIds(new FeatureSequenceReader(gson, new StringReader(json), FeatureSequenceFormat.NEWLINE_DELIMITED)), contains("a", "b"));
+    }
+
+    @Test
+    public void shouldReadGeoJsonTextSequences() throws Exception {
+
+        String json = "\u001E{\"type\": \"Feature\", \"id\": \"a\",\n \"geometry\": {\"type\": \"Point\", \"coordinates\": [1, 2]}}\n" +
+                "\u001E\u001E{\"type\": \"Feature\", \"id\": \"b\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [3, 4]}}\n";
+
+        assertThat(readIds(new FeatureSequenceReader(gson, new StringReader(json), FeatureSequenceFormat.GEOJSON_SEQ)), contains("a", "b"));
+    }
+
+    @Test
+    public void shouldDecodeInParallelKeepingTheInputOrder() throws Exception {
+
+        List<String> ids = IntStream.range(0, 1000).mapToObj(String::valueOf).collect(Collectors.toList());
+        String json = ids.stream().map(id -> gson.toJson(FeatureUtils.featureWithId(id))).collect(Collectors.joining("\n"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            FeatureSequenceReader inputOrder = new FeatureSequenceReader(gson, new StringReader(json), FeatureSequenceFormat.NEWLINE_DELIMITED)
+                    .withParallelDecoding(executor, FeatureSequenceReader.Order.INPUT);
+            assertThat(readIds(inputOrder), equalTo(ids));
+
+            FeatureSequenceReader completionOrder = new FeatureSequenceReader(gson, new StringReader(json), FeatureSequenceFormat.NEWLINE_DELIMITED)
+                    .withParallelDecoding(executor, FeatureSequenceReader.Order.COMPLETION);
+            assertThat(readIds(completionOrder), containsInAnyOrder(ids.toArray()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldSkipTheMalformedRecordsOfAnAppendedSequence() throws Exception {
+
+        for (FeatureSequenceFormat format : FeatureSequenceFormat.values()) {
+            Path file = folder.getRoot().toPath().resolve("features-" + format);
+
+            try (FeatureSequenceWriter writer = FeatureSequenceWriter.append(gson, file, format)) {
+                writer.write(FeatureUtils.featureWithId("a"));
+            }
+            // A truncated record, like the one left by a crashed writer
+            String truncated = format == FeatureSequenceFormat.GEOJSON_SEQ ? "\u001E{\"type\": \"Feat" : "{\"type\": \"Feat";
+            Files.write(file, truncated.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            try (FeatureSequenceWriter writer = FeatureSequenceWriter.append(gson, file, format)) {
+                writer.write(FeatureUtils.featureWithId("b"));
+                writer.write(FeatureUtils.featureWithId("c"));
+            }
+
+            FeatureSequenceReader reader = new FeatureSequenceReader(gson, Files.newInputStream(file), format);
+            assertThat(readIds(reader), contains("a", "b", "c"));
+            assertThat(reader.malformedRecordCount(), is(1L));
+        }
+    }
+
+    @Test
+    public void shouldSkipTheMalformedRecordsDecodedInParallel() throws Exception {
+
+        String json = gson.toJson(FeatureUtils.featureWithId("a")) + "\n{\"type\": [1, 2\n" + gson.toJson(FeatureUtils.featureWithId("b"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (FeatureSequenceReader.Order order : FeatureSequenceReader.Order.values()) {
+                FeatureSequenceReader reader = new FeatureSequenceReader(gson, new StringReader(json), FeatureSequenceFormat.NEWLINE_DELIMITED)
+                        .withParallelDecoding(executor, order);
+                assertThat(readIds(reader), containsInAnyOrder("a", "b"));
+                assertThat(reader.malformedRecordCount(), is(1L));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionIfARecordContainsMoreJsonTexts() throws Exception {
+
+        String json = gson.toJson(FeatureUtils.featureWithId("a")) + gson.toJson(FeatureUtils.featureWithId("b"));
+
+        readIds(new FeatureSequenceReader(gson, new StringReader(json), FeatureSequenceFormat.NEWLINE_DELIMITED));
+    }
+
+    private static List<String> readIds(FeatureSequenceReader reader) {
+        try (Stream<Feature> features = reader.stream()) {
+            return features.map(f -> f.id().get()).collect(Collectors.toList());
+        }
+    }
+
+}
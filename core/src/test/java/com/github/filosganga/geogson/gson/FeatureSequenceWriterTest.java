@@ -0,0 +1,82 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.gson.utils.FeatureUtils;
+import com.github.filosganga.geogson.model.Feature;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class FeatureSequenceWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldWriteGeoJsonTextSequences() throws Exception {
+
+        Feature feature = FeatureUtils.featureWithId("a");
+
+        StringWriter json = new StringWriter();
+        try (FeatureSequenceWriter writer = new FeatureSequenceWriter(gson, json, FeatureSequenceFormat.GEOJSON_SEQ)) {
+            writer.write(feature).write(feature);
+        }
+
+        String record = "\u001E" + gson.toJson(feature) + "\n";
+        assertThat(json.toString(), is(record + record));
+    }
+
+    @Test
+    public void shouldAppendToAnExistingSequence() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("features.ndjson");
+
+        try (FeatureSequenceWriter writer = FeatureSequenceWriter.append(gson, file, FeatureSequenceFormat.NEWLINE_DELIMITED)) {
+            writer.write(FeatureUtils.featureWithId("a"));
+        }
+        // A truncated record, like the one left by a crashed writer
+        Files.write(file, "{\"type\": \"Feat".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        try (FeatureSequenceWriter writer = FeatureSequenceWriter.append(gson, file, FeatureSequenceFormat.NEWLINE_DELIMITED)) {
+            writer.write(FeatureUtils.featureWithId("b"));
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines, hasSize(3));
+
+        List<Feature> features = new ArrayList<>();
+        new FeatureSequenceReader(gson, new StringReader(lines.get(0) + "\n" + lines.get(2)), FeatureSequenceFormat.NEWLINE_DELIMITED)
+                .forEachRemaining(features::add);
+        assertThat(features, contains(FeatureUtils.featureWithId("a"), FeatureUtils.featureWithId("b")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRaiseExceptionWhenWritingAfterClose() throws Exception {
+
+        FeatureSequenceWriter writer = new FeatureSequenceWriter(gson, new StringWriter(), FeatureSequenceFormat.GEOJSON_SEQ);
+        writer.close();
+        writer.write(FeatureUtils.featureWithId("a"));
+    }
+
+}
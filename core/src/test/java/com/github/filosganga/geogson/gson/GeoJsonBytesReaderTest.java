@@ -0,0 +1,219 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.*;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+
+public class GeoJsonBytesReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldReadTheSameFeatureCollectionAsGson() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+
+        FeatureCollection parsed = new GeoJsonBytesReader(json.getBytes(StandardCharsets.UTF_8)).readFeatureCollection();
+
+        assertThat(parsed, equalTo(gson.fromJson(json, FeatureCollection.class)));
+    }
+
+    @Test
+    public void shouldReadTheSameGeometriesAsGson() throws Exception {
+
+        List<Geometry<?>> geometries = Arrays.asList(
+                Point.from(56.7, 83.6, 95.7),
+                MultiPoint.of(Point.from(12.3, 45.3), Point.from(43.9, 5.8)),
+                LineString.of(Point.from(12.3, 45.3), Point.from(43.9, 5.8)),
+                Polygon.of(LinearRing.of(Point.from(0, 0), Point.from(0, 1), Point.from(1, 1), Point.from(0, 0))),
+                MultiPolygon.of(Polygon.of(LinearRing.of(Point.from(0, 0), Point.from(0, 1), Point.from(1, 1), Point.from(0, 0)))),
+                GeometryCollection.of(Point.from(1, 2), LineString.of(Point.from(12.3, 45.3), Point.from(43.9, 5.8)))
+        );
+
+        for (Geometry<?> geometry : geometries) {
+            byte[] json = gson.toJson(geometry).getBytes(StandardCharsets.UTF_8);
+            assertThat(new GeoJsonBytesReader(json).readGeometry(), equalTo(geometry));
+        }
+    }
+
+    @Test
+    public void shouldWriteTheNumberPropertiesBackAsTheyHaveBeenRead() throws Exception {
+
+        String properties = "{\"a\":1.8446744073709551616e19,\"b\":1e400,\"c\":0.30000000000000000000001,\"e\":-0," +
+                "\"f\":1.50,\"g\":[1.50,-0]}";
+        String json = "{\"type\":\"Feature\",\"properties\":" + properties + ",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]}}";
+
+        Feature feature = new GeoJsonBytesReader(json.getBytes(StandardCharsets.UTF_8)).readFeature();
+
+        assertThat(gson.toJson(feature.properties()), is(properties));
+        assertThat(new String(new GeoJsonBytesWriter().writeFeature(feature).toByteArray(), StandardCharsets.UTF_8),
+                containsString("\"properties\":" + properties));
+        assertThat(feature.getDouble("a"), is(1.8446744073709551616e19));
+        assertThat(feature.getDouble("b"), is(Double.POSITIVE_INFINITY));
+        assertThat(feature.getDouble("f"), is(1.5));
+    }
+
+    @Test
+    public void shouldRejectTheNumbersOutOfTheJsonGrammar() throws Exception {
+
+        for (String number : new String[]{"-", "1-2", "+5", "01", "-01", ".5", "1.", "1e", "1e+", "1.2.3", "1ee2", "-.5"}) {
+            for (String json : new String[]{
+                    "{\"type\":\"Feature\",\"properties\":{\"a\":" + number + "},\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]}}",
+                    "{\"type\":\"Feature\",\"properties\":{\"a\":[" + number + "]},\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]}}",
+                    "{\"type\":\"Feature\",\"id\":" + number + ",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]}}",
+                    "{\"type\":\"Point\",\"coordinates\":[" + number + ",2]}"}) {
+                try {
+                    GeoJsonBytesReader reader = new GeoJsonBytesReader(json.getBytes(StandardCharsets.UTF_8));
+                    if (json.startsWith("{\"type\":\"Point\"")) {
+                        reader.readGeometry();
+                    } else {
+                        reader.readFeature();
+                    }
+                    fail("Accepted the number " + number + " in " + json);
+                } catch (IllegalArgumentException e) {
+                    // Expected
+                }
+            }
+        }
+
+        Feature feature = new GeoJsonBytesReader(("{\"type\":\"Feature\",\"properties\":{\"a\":[-0,0.5e-3,10E+2,-1.25]}," +
+                "\"geometry\":{\"type\":\"Point\",\"coordinates\":[0,-0.0]}}").getBytes(StandardCharsets.UTF_8)).readFeature();
+        assertThat(gson.toJson(feature.properties()), is("{\"a\":[-0,0.5e-3,10E+2,-1.25]}"));
+    }
+
+    @Test
+    public void shouldDecodeEscapesAndMultiByteCharacters() throws Exception {
+
+        String json = "﻿{\"type\": \"Feature\", \"id\": 12, \"prop\\u0065rties\": {\"na\\\"me\": \"Città \\u00e8 \\n 🌍\", \"n\": 1.50}," +
+                " \"geometry\": {\"type\": \"Point\", \"coordinates\": [1.5, -2e1]}}";
+
+        Feature feature = new GeoJsonBytesReader(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8))).readFeature();
+
+        assertThat(feature, equalTo(gson.fromJson(json.substring(1), Feature.class)));
+        assertThat(feature.id().get(), is("12"));
+        assertThat(feature.properties().get("na\"me"), equalTo(new JsonPrimitive("Città è \n 🌍")));
+        assertThat(feature.getDouble("n"), is(1.5));
+        assertThat(feature.geometry(), equalTo(Point.from(1.5, -20)));
+    }
+
+    @Test
+    public void shouldHonourTheFactoryOptions() throws Exception {
+
+        String json = "{\"type\": \"FeatureCollection\", \"features\": [" +
+                "{\"type\": \"Feature\", \"id\": \"outside\", \"properties\": {\"a\": 1}, \"geometry\": {\"type\": \"Point\", \"coordinates\": [20, 20]}}," +
+                "{\"type\": \"Feature\", \"id\": \"inside\", \"properties\": {\"a\": [1, {\"x\": null}], \"b\": true}, \"geometry\": {\"type\": \"Point\", \"coordinates\": [5, 5]}}" +
+                "], \"extra\": {\"features\": []}}";
+
+        GeometryAdapterFactory options = new GeometryAdapterFactory()
+                .withLazyProperties()
+                .withOnlyProperties("a")
+                .withBoundingBoxFilter(BoundingBox.of(0, 0, 10, 10));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(json.length());
+        direct.put(json.getBytes(StandardCharsets.UTF_8)).flip();
+
+        List<Feature> features;
+        try (Stream<Feature> stream = new GeoJsonBytesReader(direct, options).features()) {
+            features = stream.collect(Collectors.toList());
+        }
+
+        assertThat(features, hasSize(1));
+        assertThat(features.get(0).id().get(), is("inside"));
+        assertThat(features.get(0).rawProperties().get(), is("{\"a\":[1, {\"x\": null}]}"));
+        assertThat(features.get(0).properties().keySet(), contains("a"));
+    }
+
+    @Test
+    public void shouldReadAMappedFile() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+        Path file = folder.newFile("feature-collection.json").toPath();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+
+        long count;
+        try (Stream<Feature> features = GeoJsonBytesReader.map(file, new GeometryAdapterFactory()).features()) {
+            count = features.count();
+        }
+
+        assertThat(count, is(202L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionForTruncatedJson() throws Exception {
+
+        new GeoJsonBytesReader("{\"type\": \"Point\", \"coordinates\": [1, 2".getBytes(StandardCharsets.UTF_8)).readGeometry();
+    }
+
+    @Test
+    public void shouldKeepTheRawJsonOfTheFeatures() throws Exception {
+
+        String feature = "{ \"type\": \"Feature\", \"properties\": {}, \"geometry\": {\"type\": \"Point\", \"coordinates\": [1.50, 2]} }";
+        String json = "{\"type\": \"FeatureCollection\", \"features\": [" + feature + "]}";
+
+        FeatureCollection parsed = new GeoJsonBytesReader(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), new GeometryAdapterFactory().withRawPassthrough())
+                .readFeatureCollection();
+
+        assertThat(parsed.features().get(0).rawJson().get(), is(feature));
+        assertThat(parsed.features().get(0).geometry().rawJson().get(), is("{\"type\": \"Point\", \"coordinates\": [1.50, 2]}"));
+        assertThat(new String(new GeoJsonBytesWriter().writeFeatureCollection(parsed).toByteArray(), StandardCharsets.UTF_8),
+                is("{\"type\":\"FeatureCollection\",\"features\":[" + feature + "]}"));
+    }
+
+    @Test
+    public void shouldReadLazyGeometriesEqualToEagerOnes() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+
+        FeatureCollection parsed = new GeoJsonBytesReader(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), new GeometryAdapterFactory().withLazyGeometry())
+                .readFeatureCollection();
+
+        Geometry<?> geometry = parsed.features().get(0).geometry();
+        assertThat(geometry, instanceOf(LazyGeometry.class));
+        assertThat(((LazyGeometry<?>) geometry).isDecoded(), is(false));
+        assertThat(parsed, equalTo(gson.fromJson(json, FeatureCollection.class)));
+        assertThat(((LazyGeometry<?>) geometry).isDecoded(), is(true));
+    }
+
+    @Test
+    public void shouldFilterTheLazyGeometriesByTheirBbox() {
+        GeometryAdapterFactory factory = new GeometryAdapterFactory().withLazyGeometry().withBoundingBoxFilter(BoundingBox.of(10, 10, 20, 20));
+        String json = "{\"type\":\"FeatureCollection\",\"features\":[" +
+                "{\"type\":\"Feature\",\"id\":\"out\",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"bbox\":[0,0,0,0],\"coordinates\":[0,0]}}," +
+                "{\"type\":\"Feature\",\"id\":\"in\",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"bbox\":[15,15,15,15],\"coordinates\":[15,15]}}," +
+                "{\"type\":\"Feature\",\"id\":\"unbounded\",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"coordinates\":[12,12]}}]}";
+
+        FeatureCollection parsed = new GeoJsonBytesReader(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), factory).readFeatureCollection();
+
+        assertThat(parsed.features().size(), is(2));
+        assertThat(((LazyGeometry<?>) parsed.features().get(0).geometry()).isDecoded(), is(false));
+        assertThat(((LazyGeometry<?>) parsed.features().get(1).geometry()).isDecoded(), is(true));
+        assertThat(parsed.features().get(1).geometry(), equalTo(Point.from(12, 12)));
+    }
+}
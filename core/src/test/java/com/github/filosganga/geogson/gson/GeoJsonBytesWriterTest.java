@@ -0,0 +1,110 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.*;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class GeoJsonBytesWriterTest {
+
+    private static final JsonParser jsonParser = new JsonParser();
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldWriteTheSameFeatureCollectionAsGson() throws Exception {
+
+        FeatureCollection collection = gson.fromJson(FeatureCollectionAdapterTest.readJson("feature-collection.json"), FeatureCollection.class);
+
+        String json = new String(new GeoJsonBytesWriter().writeFeatureCollection(collection).toByteArray(), StandardCharsets.UTF_8);
+
+        assertThat(jsonParser.parse(json), equalTo(jsonParser.parse(gson.toJson(collection))));
+        assertThat(gson.fromJson(json, FeatureCollection.class), equalTo(collection));
+    }
+
+    @Test
+    public void shouldWriteTheSameGeometriesAsGson() throws Exception {
+
+        List<Geometry<?>> geometries = Arrays.asList(
+                Point.from(56.7, 83.6, 95.7),
+                Point.from(-0.000001, 1e21),
+                MultiPoint.of(Point.from(12.3, 45.3), Point.from(43.9, 5.8)),
+                LineString.of(Point.from(12.3, 45.3), Point.from(43.9, 5.8)),
+                Polygon.of(LinearRing.of(Point.from(0, 0), Point.from(0, 1), Point.from(1, 1), Point.from(0, 0))),
+                MultiPolygon.of(Polygon.of(LinearRing.of(Point.from(0, 0), Point.from(0, 1), Point.from(1, 1), Point.from(0, 0)))),
+                GeometryCollection.of(Point.from(1, 2), LineString.of(Point.from(12.3, 45.3), Point.from(43.9, 5.8)))
+        );
+
+        GeoJsonBytesWriter writer = new GeoJsonBytesWriter(16);
+        for (Geometry<?> geometry : geometries) {
+            String json = new String(writer.reset().writeGeometry(geometry).toByteArray(), StandardCharsets.UTF_8);
+
+            assertThat(jsonParser.parse(json), equalTo(jsonParser.parse(gson.toJson(geometry))));
+            assertThat(gson.fromJson(json, Geometry.class), equalTo(geometry));
+        }
+    }
+
+    @Test
+    public void shouldWriteThePropertiesAsGson() throws Exception {
+
+        JsonObject nested = new JsonObject();
+        nested.add("dropped", JsonNull.INSTANCE);
+        nested.addProperty("unicode", "è€😀 \"quoted\" \\ \n\t\u0001 ");
+        JsonArray array = new JsonArray();
+        array.add(1.5);
+        array.add(JsonNull.INSTANCE);
+        array.add(true);
+        array.add(12345678901234L);
+
+        Feature feature = Feature.builder()
+                .withId("😀")
+                .withGeometry(Point.from(1, 2))
+                .withProperty("nested", nested)
+                .withProperty("array", array)
+                .withProperty("dropped", JsonNull.INSTANCE)
+                .withProperty("double", new JsonPrimitive(0.1 + 0.2))
+                .build();
+
+        String json = new String(new GeoJsonBytesWriter().writeFeature(feature).toByteArray(), StandardCharsets.UTF_8);
+
+        assertThat(jsonParser.parse(json), equalTo(jsonParser.parse(gson.toJson(feature))));
+    }
+
+    @Test
+    public void shouldWriteTheRawPropertiesAsTheyAre() throws Exception {
+
+        Feature feature = Feature.builder()
+                .withRawProperties("{\"name\": \"café\", \"value\": 1.50}")
+                .withoutGeometry()
+                .build();
+
+        String json = new String(new GeoJsonBytesWriter().writeFeature(feature).toByteArray(), StandardCharsets.UTF_8);
+
+        assertThat(json, is("{\"type\":\"Feature\",\"properties\":{\"name\": \"café\", \"value\": 1.50}}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnNonFiniteCoordinates() {
+        new GeoJsonBytesWriter().writeGeometry(Point.from(Double.NaN, 0));
+    }
+
+}
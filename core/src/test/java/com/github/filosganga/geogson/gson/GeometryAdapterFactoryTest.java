@@ -2024,4 +2024,17 @@ public class GeometryAdapterFactoryTest {
 
     assertThat(parsed, equalTo(source));
   }
+
+  @Test
+  public void shouldWriteTheRawJsonOfTheReadGeometries() {
+    Gson passthrough = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory().withRawPassthrough()).create();
+    String json = "{\"type\":\"GeometryCollection\",\"geometries\":[{\"type\":\"Point\",\"coordinates\":[1.50,2e1]}],\"crs\":null}";
+
+    Geometry<?> parsed = passthrough.fromJson(json, Geometry.class);
+
+    assertThat(parsed, equalTo(GeometryCollection.of(Point.from(1.5, 20))));
+    assertThat(passthrough.toJson(parsed, Geometry.class), is(json));
+    assertThat(toTest.toJson(GeometryCollection.of(((GeometryCollection) parsed).getGeometries()), Geometry.class),
+        is("{\"type\":\"GeometryCollection\",\"geometries\":[{\"type\":\"Point\",\"coordinates\":[1.5,20.0]}]}"));
+  }
 }
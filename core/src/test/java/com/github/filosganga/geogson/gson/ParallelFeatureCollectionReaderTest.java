@@ -0,0 +1,89 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.BoundingBox;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+public class ParallelFeatureCollectionReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Gson gson;
+
+    @Before
+    public void initGson() {
+        gson = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldReadTheFeaturesInTheOriginalOrder() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FeatureCollection parsed = new ParallelFeatureCollectionReader()
+                    .withPool(pool)
+                    .withChunkSize(1000)
+                    .read(json.getBytes(StandardCharsets.UTF_8));
+
+            assertThat(parsed, equalTo(gson.fromJson(json, FeatureCollection.class)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReadAFile() throws Exception {
+
+        String json = FeatureCollectionAdapterTest.readJson("feature-collection.json");
+        Path file = folder.newFile("feature-collection.json").toPath();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+
+        FeatureCollection parsed = new ParallelFeatureCollectionReader().withChunkSize(4096).read(file);
+
+        assertThat(parsed, equalTo(gson.fromJson(json, FeatureCollection.class)));
+    }
+
+    @Test
+    public void shouldSkipForeignMembersAndApplyTheOptions() throws Exception {
+
+        String json = "{\"bbox\": [0, 0, 30, 30], \"extra\": {\"features\": [1]}, \"Features\": [" +
+                "{\"type\": \"Feature\", \"id\": \"a\", \"properties\": {\"s\": \"}]\\\"\"}, \"geometry\": {\"type\": \"Point\", \"coordinates\": [1, 2]}}," +
+                "{\"type\": \"Feature\", \"id\": \"b\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [20, 20]}}," +
+                "{\"type\": \"Feature\", \"id\": \"c\", \"geometry\": {\"type\": \"Point\", \"coordinates\": [3, 4]}}" +
+                "], \"type\": \"FeatureCollection\"}";
+
+        FeatureCollection parsed = new ParallelFeatureCollectionReader()
+                .withOptions(new GeometryAdapterFactory().withBoundingBoxFilter(BoundingBox.of(0, 0, 10, 10)))
+                .withChunkSize(1)
+                .read(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(parsed.size(), is(2));
+        assertThat(parsed.features().get(0).id().get(), is("a"));
+        assertThat(parsed.features().get(0).properties().get("s").getAsString(), is("}]\""));
+        assertThat(parsed.features().get(1).id().get(), is("c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionIfFeaturesAreMissing() throws Exception {
+
+        new ParallelFeatureCollectionReader().read("{\"type\": \"FeatureCollection\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -20,6 +20,7 @@ import com.github.filosganga.geogson.model.positions.AreaPositions;
 import com.github.filosganga.geogson.model.positions.LinearPositions;
 import com.github.filosganga.geogson.model.positions.MultiDimensionalPositions;
 import com.github.filosganga.geogson.model.positions.Positions;
+import com.github.filosganga.geogson.model.positions.SinglePosition;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.junit.Before;
@@ -106,6 +107,50 @@ public class PositionsAdapterTest {
     assertThat(positions, instanceOf(MultiDimensionalPositions.class));
   }
 
+  @Test
+  public void readShouldReadAreaPositionsEqualToBuiltOnes() throws Exception {
+
+    Positions positions = toTest.fromJson("[[[1,2],[3,4],[5,6],[1,2]],[[7,8,9],[10,11,12]]]", Positions.class);
+
+    AreaPositions expected = AreaPositions.builder()
+            .addLinearPosition(LinearPositions.builder()
+                    .addSinglePosition(new SinglePosition(1, 2, Double.NaN))
+                    .addSinglePosition(new SinglePosition(3, 4, Double.NaN))
+                    .addSinglePosition(new SinglePosition(5, 6, Double.NaN))
+                    .addSinglePosition(new SinglePosition(1, 2, Double.NaN))
+                    .build())
+            .addLinearPosition(LinearPositions.builder()
+                    .addSinglePosition(new SinglePosition(7, 8, 9))
+                    .addSinglePosition(new SinglePosition(10, 11, 12))
+                    .build())
+            .build();
+
+    assertThat(positions, equalTo(expected));
+    assertThat(positions.hashCode(), equalTo(expected.hashCode()));
+    assertThat(((AreaPositions) positions).children().get(0).isClosed(), is(true));
+    assertThat(((AreaPositions) positions).children().get(1).alt(1), is(12.0));
+    assertThat(toTest.toJson(positions, Positions.class), is("[[[1.0,2.0],[3.0,4.0],[5.0,6.0],[1.0,2.0]],[[7.0,8.0,9.0],[10.0,11.0,12.0]]]"));
+  }
+
+  @Test
+  public void readShouldReadMultiDimensionalPositionsStartingWithLinearPositions() throws Exception {
+
+    Positions positions = toTest.fromJson("[[[1,2],[3,4]],[[5,6],[7,8]],[[[9,10],[11,12]],[[13,14],[15,16]]]]", Positions.class);
+
+    assertThat(positions, instanceOf(MultiDimensionalPositions.class));
+    assertThat(positions.size(), is(3));
+    assertThat(positions.children().get(0).size(), is(1));
+    assertThat(positions.children().get(1).size(), is(1));
+    assertThat(positions.children().get(2).size(), is(2));
+    assertThat(toTest.toJson(positions, Positions.class), is("[[[[1.0,2.0],[3.0,4.0]]],[[[5.0,6.0],[7.0,8.0]]],[[[9.0,10.0],[11.0,12.0]],[[13.0,14.0],[15.0,16.0]]]]"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void readWithMixedDimensionsShouldRaiseException() throws Exception {
+
+    toTest.fromJson("[[1,2],[[3,4],[5,6]]]", Positions.class);
+  }
+
   @Test
   public void readWithEmptyJsonShouldReturnNull() throws Exception {
 
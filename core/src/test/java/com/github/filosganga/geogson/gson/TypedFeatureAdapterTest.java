@@ -0,0 +1,114 @@
+package com.github.filosganga.geogson.gson;
+
+import com.github.filosganga.geogson.model.Point;
+import com.github.filosganga.geogson.model.TypedFeature;
+import com.github.filosganga.geogson.model.TypedFeatureCollection;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class TypedFeatureAdapterTest {
+
+    private static final Type CITY_FEATURE = new TypeToken<TypedFeature<City>>(){}.getType();
+    private static final Type CITY_COLLECTION = new TypeToken<TypedFeatureCollection<City>>(){}.getType();
+
+    private Gson toTest;
+
+    @Before
+    public void initToTest() {
+        toTest = new GsonBuilder().registerTypeAdapterFactory(new GeometryAdapterFactory()).create();
+    }
+
+    @Test
+    public void shouldBindThePropertiesToTheirType() {
+        String json = "{\"type\":\"Feature\",\"id\":\"B\",\"properties\":{\"name\":\"Berlin\",\"population\":3520031,\"other\":[1]}," +
+                "\"geometry\":{\"type\":\"Point\",\"coordinates\":[13.4,52.5]}}";
+
+        TypedFeature<City> parsed = toTest.fromJson(json, CITY_FEATURE);
+
+        assertThat(parsed.id().get(), is("B"));
+        assertThat(parsed.properties(), equalTo(new City("Berlin", 3520031)));
+        assertThat(parsed.geometry(), equalTo(Point.from(13.4, 52.5)));
+    }
+
+    @Test
+    public void shouldWriteThePropertiesWithTheirType() {
+        TypedFeature<City> feature = TypedFeature.of(Point.from(13.4, 52.5), new City("Berlin", 3520031)).withId("B");
+
+        String json = toTest.toJson(feature, CITY_FEATURE);
+
+        assertThat(json, is("{\"id\":\"B\",\"type\":\"Feature\",\"properties\":{\"name\":\"Berlin\",\"population\":3520031}," +
+                "\"geometry\":{\"type\":\"Point\",\"coordinates\":[13.4,52.5]}}"));
+        assertThat(toTest.fromJson(json, CITY_FEATURE), equalTo(feature));
+    }
+
+    @Test
+    public void shouldWriteTheNullMembers() {
+        TypedFeature<City> feature = TypedFeature.of(null, null);
+
+        String json = toTest.toJson(feature, CITY_FEATURE);
+
+        assertThat(json, is("{\"type\":\"Feature\",\"properties\":null,\"geometry\":null}"));
+        TypedFeature<City> parsed = toTest.fromJson(json, CITY_FEATURE);
+        assertThat(parsed.properties(), nullValue());
+        assertThat(parsed.geometry(), nullValue());
+    }
+
+    @Test
+    public void shouldHandleTypedFeatureCollections() {
+        TypedFeatureCollection<City> collection = TypedFeatureCollection.of(
+                TypedFeature.of(Point.from(13.4, 52.5), new City("Berlin", 3520031)),
+                TypedFeature.of(Point.from(2.35, 48.85), new City("Paris", 2148271)));
+
+        String json = toTest.toJson(collection, CITY_COLLECTION);
+        TypedFeatureCollection<City> parsed = toTest.fromJson(json, CITY_COLLECTION);
+
+        assertThat(parsed, equalTo(collection));
+    }
+
+    @Test
+    public void shouldReadThePropertiesAsJsonWithoutTheirType() {
+        String json = "{\"type\":\"Feature\",\"properties\":{\"name\":\"Berlin\"},\"geometry\":null}";
+
+        TypedFeature<?> parsed = toTest.fromJson(json, TypedFeature.class);
+
+        assertThat(parsed.properties(), instanceOf(JsonElement.class));
+    }
+
+    private static final class City {
+
+        private final String name;
+        private final long population;
+
+        City(String name, long population) {
+            this.name = name;
+            this.population = population;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof City)) {
+                return false;
+            }
+            City other = (City) obj;
+            return Objects.equals(name, other.name) && population == other.population;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, population);
+        }
+    }
+}
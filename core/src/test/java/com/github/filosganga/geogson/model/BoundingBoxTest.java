@@ -0,0 +1,43 @@
+package com.github.filosganga.geogson.model;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class BoundingBoxTest {
+
+    @Test
+    public void intersectsShouldReturnTrueForOverlappingBoxes() {
+
+        assertThat(BoundingBox.of(0, 0, 10, 10).intersects(BoundingBox.of(5, 5, 15, 15)), is(true));
+        assertThat(BoundingBox.of(0, 0, 10, 10).intersects(BoundingBox.of(10, 10, 15, 15)), is(true));
+    }
+
+    @Test
+    public void intersectsShouldReturnFalseForDisjointBoxes() {
+
+        assertThat(BoundingBox.of(0, 0, 10, 10).intersects(BoundingBox.of(11, 0, 15, 10)), is(false));
+        assertThat(BoundingBox.of(0, 0, 10, 10).intersects(BoundingBox.of(0, 11, 10, 15)), is(false));
+    }
+
+    @Test
+    public void intersectsShouldHandleTheAntimeridian() {
+
+        BoundingBox fiji = BoundingBox.of(177, -20, -178, -12);
+
+        assertThat(fiji.intersects(BoundingBox.of(179, -18, 180, -16)), is(true));
+        assertThat(fiji.intersects(BoundingBox.of(-180, -18, -179, -16)), is(true));
+        assertThat(fiji.intersects(BoundingBox.of(0, -18, 10, -16)), is(false));
+        assertThat(fiji.intersects(BoundingBox.of(170, -18, -170, -16)), is(true));
+    }
+
+    @Test
+    public void ofShouldReturnTheExtentOfTheGeometry() {
+
+        LineString lineString = LineString.of(Point.from(3, -1), Point.from(-2, 4), Point.from(1, 2));
+
+        assertThat(BoundingBox.of(lineString), is(BoundingBox.of(-2, -1, 3, 4)));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.github.filosganga.geogson.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PropertyShapeTest {
+
+    @Test
+    public void withShouldReturnTheInternedShape() {
+
+        PropertyShape root = PropertyShape.newRoot();
+
+        assertThat(root.with("name").with("population"), sameInstance(root.with("name").with("population")));
+        assertThat(PropertyShape.newRoot().with("name"), is(not(root.with("name"))));
+    }
+
+    @Test
+    public void indexOfShouldFindTheNamesOfLargeShapes() {
+
+        PropertyShape shape = PropertyShape.newRoot();
+        for (int i = 0; i < 100; i++) {
+            shape = shape.with("attribute" + i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(shape.indexOf("attribute" + i), is(i));
+        }
+        assertThat(shape.indexOf("attribute100"), is(-1));
+        assertThat(shape.indexOf(null), is(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withShouldRejectANameAlreadyInTheShape() {
+
+        PropertyShape.newRoot().with("name").with("name");
+    }
+
+    @Test
+    public void builderShouldReturnTheInternedShapeUntilTheFamilyIsFull() {
+
+        PropertyShape root = PropertyShape.newRoot();
+        PropertyShape.Builder builder = root.builder();
+        assertThat(builder.add("name"), is(0));
+        assertThat(builder.add("population"), is(1));
+        assertThat(builder.add("name"), is(0));
+        assertThat(builder.build(), sameInstance(root.with("name").with("population")));
+
+        for (int i = 0; i < PropertyShape.MAX_INTERNED_SHAPES; i++) {
+            root.with("attribute" + i);
+        }
+
+        builder = root.builder();
+        assertThat(builder.add("name"), is(0));
+        assertThat(builder.add("area"), is(1));
+        assertThat(builder.add("code"), is(2));
+        assertThat(builder.add("area"), is(1));
+        PropertyShape shape = builder.build();
+        assertThat(shape.toString(), is("PropertyShape[name, area, code]"));
+        assertThat(shape, is(not(root.with("name").with("area").with("code"))));
+    }
+
+    @Test
+    public void featuresWithShapeShouldBeEqualToFeaturesWithMap() {
+
+        PropertyShape shape = PropertyShape.newRoot().with("name").with("population");
+        Feature feature = Feature.builder()
+                .withGeometry(Point.from(1, 2))
+                .withProperties(shape, new JsonElement[]{new JsonPrimitive("London"), new JsonPrimitive(8982000)})
+                .build();
+
+        Map<String, JsonElement> properties = new HashMap<>();
+        properties.put("population", new JsonPrimitive(8982000));
+        properties.put("name", new JsonPrimitive("London"));
+        Feature expected = Feature.builder().withGeometry(Point.from(1, 2)).withProperties(properties).build();
+
+        assertThat(feature, equalTo(expected));
+        assertThat(feature.hashCode(), is(expected.hashCode()));
+        assertThat(feature.properties().get("population"), equalTo(new JsonPrimitive(8982000)));
+        assertThat(Feature.builder(feature).withProperty("name", new JsonPrimitive("Paris")).build().properties().get("name"),
+                equalTo(new JsonPrimitive("Paris")));
+        assertThat(feature.properties().get("name"), equalTo(new JsonPrimitive("London")));
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.filosganga.geogson.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class DoubleFormatterTest {
+
+    @Test
+    public void shouldFormatInPlainNotationFromOneMillionthToBelowTenToTheTwentyOne() {
+
+        assertThat(DoubleFormatter.toString(0.0), is("0"));
+        assertThat(DoubleFormatter.toString(-0.0), is("-0"));
+        assertThat(DoubleFormatter.toString(1.0), is("1"));
+        assertThat(DoubleFormatter.toString(100.0), is("100"));
+        assertThat(DoubleFormatter.toString(-33.8688), is("-33.8688"));
+        assertThat(DoubleFormatter.toString(-122.41941550000001), is("-122.41941550000001"));
+        assertThat(DoubleFormatter.toString(0.1 + 0.2), is("0.30000000000000004"));
+        assertThat(DoubleFormatter.toString(0.000001), is("0.000001"));
+        assertThat(DoubleFormatter.toString(1e20), is("100000000000000000000"));
+    }
+
+    @Test
+    public void shouldFormatInScientificNotationOtherwise() {
+
+        assertThat(DoubleFormatter.toString(1e21), is("1E21"));
+        assertThat(DoubleFormatter.toString(1.5e-7), is("1.5E-7"));
+        assertThat(DoubleFormatter.toString(2e23), is("2E23"));
+        assertThat(DoubleFormatter.toString(Double.MAX_VALUE), is("1.7976931348623157E308"));
+        assertThat(DoubleFormatter.toString(Double.MIN_VALUE), is("4.9E-324"));
+        assertThat(DoubleFormatter.toString(-Double.MIN_NORMAL), is("-2.2250738585072014E-308"));
+    }
+
+    @Test
+    public void shouldRoundToTheGivenDecimalsDroppingTheTrailingZeros() {
+
+        assertThat(DoubleFormatter.toString(-0.12762345678, 6), is("-0.127623"));
+        assertThat(DoubleFormatter.toString(51.5000004, 6), is("51.5"));
+        assertThat(DoubleFormatter.toString(2.5, 0), is("3"));
+        assertThat(DoubleFormatter.toString(-2.5, 0), is("-3"));
+        assertThat(DoubleFormatter.toString(-0.0000004, 6), is("0"));
+        assertThat(DoubleFormatter.toString(1e300, 6), is("1E300"));
+        assertThat(DoubleFormatter.toString(123456789.123456789, 17), is("123456789.12345679"));
+    }
+
+    @Test
+    public void shouldRoundRandomCoordinatesLikeBigDecimal() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            double value = random.nextDouble() * 360 - 180;
+            int decimals = random.nextInt(8);
+            double expected = new BigDecimal(DoubleFormatter.toString(value)).setScale(decimals, RoundingMode.HALF_UP).doubleValue();
+            assertThat(Double.parseDouble(DoubleFormatter.toString(value, decimals)), is(expected == 0 ? 0.0 : expected));
+        }
+    }
+
+    @Test
+    public void shouldWriteUnchangedTheDoublesWithNoMoreDecimalsThanRequested() {
+
+        assertThat(DoubleFormatter.toString(41.2, 14), is("41.2"));
+        assertThat(DoubleFormatter.toString(35819436.2, 8), is("35819436.2"));
+        assertThat(DoubleFormatter.toString(-0.1 - 0.2, 16), is("-0.3"));
+        assertThat(DoubleFormatter.toString(-0.1 - 0.2, 17), is("-0.30000000000000004"));
+        assertThat(DoubleFormatter.toString(1.5e-7, 17), is("0.00000015"));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            for (int decimals = 14; decimals <= DoubleFormatter.MAX_DECIMALS; decimals++) {
+                double value = new BigDecimal(random.nextDouble() * 360 - 180).setScale(random.nextInt(decimals + 1), RoundingMode.HALF_UP).doubleValue();
+                String formatted = DoubleFormatter.toString(value, decimals);
+                assertThat(formatted, Double.parseDouble(formatted), is(value == 0 ? 0.0 : value));
+                assertThat(formatted, formatted, is(DoubleFormatter.toString(value)));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnTooManyDecimals() {
+        DoubleFormatter.toString(1.0, DoubleFormatter.MAX_DECIMALS + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnNaN() {
+        DoubleFormatter.toString(Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnInfinity() {
+        DoubleFormatter.toString(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    public void shouldFormatRandomDoublesAsShortestRoundTrippingDecimals() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            assertShortestRoundTrip(Double.longBitsToDouble(random.nextLong()));
+            assertShortestRoundTrip(random.nextDouble() * 360 - 180);
+            assertShortestRoundTrip(Math.round((random.nextDouble() * 360 - 180) * 1e6) / 1e6);
+        }
+    }
+
+    private static void assertShortestRoundTrip(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+
+        String formatted = DoubleFormatter.toString(value);
+        assertThat(formatted, Double.parseDouble(formatted), is(value));
+        assertThat(formatted, formatted.length() <= DoubleFormatter.MAX_LENGTH, is(true));
+
+        // No decimal with one digit less rounds to the same double
+        BigDecimal decimal = new BigDecimal(formatted).stripTrailingZeros();
+        if (decimal.precision() > 1) {
+            int scale = decimal.scale() - 1;
+            assertThat(formatted, decimal.setScale(scale, RoundingMode.FLOOR).doubleValue(), not(value));
+            assertThat(formatted, decimal.setScale(scale, RoundingMode.CEILING).doubleValue(), not(value));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.filosganga.geogson.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class DoubleParserTest {
+
+    private static final String[] LITERALS = {
+            "0", "-0", "0.0", "-0.0", "1", "-1", "0.1", "0.2", "0.3", "151.2093", "-33.8688", "-122.41941550000001",
+            "1e23", "1E23", "1e+23", "1e-23", "8.98846567431158e307", "1.7976931348623157e308", "1.7976931348623159e308",
+            "4.9e-324", "2.2250738585072011e-308", "2.2250738585072014e-308", "9007199254740993", "9007199254740992",
+            "9223372036854775807", "9223372036854775808", "18446744073709551615", "99999999999999999999",
+            "0.000000000000000000000000000000000000000000001", "123456789012345678901234567890e-10",
+            "7.3177701707893310e+15", "2.4703282292062327e-324", "1e400", "-1e400", "1e-400",
+            "5.", ".5", "+1", "01", "NaN", "Infinity", "-Infinity", "1d", "0x1p3"
+    };
+
+    @Test
+    public void shouldParseLikeDoubleParseDouble() {
+
+        for (String literal : LITERALS) {
+            assertSameAsParseDouble(literal);
+        }
+    }
+
+    @Test
+    public void shouldParseRandomDoublesLikeDoubleParseDouble() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            assertSameAsParseDouble(Double.toString(Double.longBitsToDouble(random.nextLong())));
+            assertSameAsParseDouble(Double.toString(random.nextDouble() * 360 - 180));
+        }
+    }
+
+    @Test
+    public void shouldParseRandomDecimalsLikeDoubleParseDouble() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder literal = new StringBuilder();
+            if (random.nextBoolean()) {
+                literal.append('-');
+            }
+            int digits = 1 + random.nextInt(20);
+            for (int d = 0; d < digits; d++) {
+                literal.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                literal.insert(literal.length() - random.nextInt(digits), '.');
+            }
+            if (random.nextBoolean()) {
+                literal.append('e').append(random.nextInt(700) - 350);
+            }
+            assertSameAsParseDouble(literal.toString());
+        }
+    }
+
+    @Test
+    public void shouldParseLiteralsWhoseSignificandWrapsAroundToZero() {
+
+        assertThat(DoubleParser.parseDouble("18446744073709551616"), is(1.8446744073709551616e19));
+        assertThat(DoubleParser.parseDouble("-18446744073709551616"), is(-1.8446744073709551616e19));
+        assertThat(DoubleParser.parseDouble("1.8446744073709551616e19"), is(1.8446744073709551616e19));
+        assertThat(DoubleParser.parseDouble("36893488147419103232"), is(3.6893488147419103232e19));
+        assertThat(DoubleParser.parseDouble("0.18446744073709551616"), is(0.18446744073709551616));
+
+        for (String literal : new String[]{"18446744073709551616", "-18446744073709551616", "1.8446744073709551616e19",
+                "36893488147419103232", "0.18446744073709551616", "0.000000000000000000018446744073709551616"}) {
+            assertSameAsParseDouble(literal);
+        }
+    }
+
+    @Test
+    public void shouldParseALiteralWithinACharSequence() {
+
+        assertThat(DoubleParser.parseDouble("[151.2093,-33.8688]", 1, 9), is(151.2093));
+        assertThat(DoubleParser.parseDouble("[151.2093,-33.8688]", 10, 18), is(-33.8688));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldRaiseExceptionForInvalidLiterals() {
+
+        DoubleParser.parseDouble("1.2.3");
+    }
+
+    private static void assertSameAsParseDouble(String literal) {
+        double expected;
+        try {
+            expected = Double.parseDouble(literal);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        assertThat(literal, Double.doubleToRawLongBits(DoubleParser.parseDouble(literal)), is(Double.doubleToRawLongBits(expected)));
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.github.filosganga.geogson.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LazyNumberTest {
+
+    @Test
+    public void shouldKeepTheLiteral() {
+
+        for (String literal : new String[]{"1.8446744073709551616e19", "1e400", "0.30000000000000000000001", "-0", "1.50"}) {
+            assertThat(new LazyNumber(literal).toString(), is(literal));
+        }
+    }
+
+    @Test
+    public void shouldParseTheLiteral() {
+
+        assertThat(new LazyNumber("151.2093").doubleValue(), is(151.2093));
+        assertThat(new LazyNumber("1e400").doubleValue(), is(Double.POSITIVE_INFINITY));
+        assertThat(new LazyNumber("3520031").longValue(), is(3520031L));
+        assertThat(new LazyNumber("1.5e3").longValue(), is(1500L));
+        assertThat(new LazyNumber("42").intValue(), is(42));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldRaiseExceptionForInvalidLiteralsWhenParsed() {
+
+        new LazyNumber("1.2.3").doubleValue();
+    }
+
+}
@@ -2,10 +2,13 @@ package com.github.filosganga.geogson.jts;
 
 import com.github.filosganga.geogson.codec.Codec;
 import com.github.filosganga.geogson.model.*;
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.github.filosganga.geogson.model.positions.PackedPositionsBuilder;
 import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.GeometryFactory;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.StreamSupport;
 
 import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
@@ -46,26 +49,27 @@ public abstract class AbstractJtsCodec<S, T extends Geometry<?>> implements Code
     protected com.vividsolutions.jts.geom.Geometry toJtsGeometryCollection(Geometry<?> src) {
 
         com.vividsolutions.jts.geom.Geometry returnGeometry;
-        if (src instanceof Point) {
+        if (src instanceof LazyGeometry) {
+            returnGeometry = toJtsGeometryCollection(((LazyGeometry<?>) src).geometry());
+        } else if (src instanceof Point) {
             returnGeometry = toJtsPoint((Point) src);
         } else if (src instanceof LineString) {
             returnGeometry = toJtsLineString((LineString) src);
         } else if (src instanceof Polygon) {
             returnGeometry = toJtsPolygon((Polygon) src);
         } else if (src instanceof MultiPoint) {
-            AbstractJtsCodec<com.vividsolutions.jts.geom.MultiPoint, MultiPoint> codec = new MultiPointCodec(this.geometryFactory);
-            returnGeometry = codec.fromGeometry((MultiPoint) src);
+            returnGeometry = toJtsMultiPoint((MultiPoint) src);
         } else if (src instanceof MultiLineString) {
-            AbstractJtsCodec<com.vividsolutions.jts.geom.MultiLineString, MultiLineString> codec = new MultiLineStringCodec(this.geometryFactory);
-            returnGeometry = codec.fromGeometry((MultiLineString) src);
+            returnGeometry = toJtsMultiLineString((MultiLineString) src);
         } else if (src instanceof MultiPolygon) {
-            AbstractJtsCodec<com.vividsolutions.jts.geom.MultiPolygon, MultiPolygon> codec = new MultiPolygonCodec(this.geometryFactory);
-            returnGeometry = codec.fromGeometry((MultiPolygon) src);
+            returnGeometry = toJtsMultiPolygon((MultiPolygon) src);
         } else if (src instanceof GeometryCollection) {
-            GeometryCollection geometryCollection = (GeometryCollection) src;
-            returnGeometry = this.geometryFactory.createGeometryCollection(StreamSupport.stream(geometryCollection.getGeometries().spliterator(), false)
-                    .map(this::toJtsGeometryCollection)
-                    .toArray(com.vividsolutions.jts.geom.Geometry[]::new));
+            List<Geometry<?>> geometries = ((GeometryCollection) src).getGeometries();
+            com.vividsolutions.jts.geom.Geometry[] jtsGeometries = new com.vividsolutions.jts.geom.Geometry[geometries.size()];
+            for (int i = 0; i < jtsGeometries.length; i++) {
+                jtsGeometries[i] = toJtsGeometryCollection(geometries.get(i));
+            }
+            returnGeometry = this.geometryFactory.createGeometryCollection(jtsGeometries);
         } else {
             throw new IllegalArgumentException("Unsupported geometry type: " + src.type());
         }
@@ -74,30 +78,24 @@ public abstract class AbstractJtsCodec<S, T extends Geometry<?>> implements Code
 
     protected Geometry<?> fromJtsGeometryCollection(com.vividsolutions.jts.geom.Geometry src) {
         Geometry<?> returnGeometry;
-        if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.GEOMETRY_COLLECTION.getValue())) {
-            ArrayList<Geometry<?>> geometries = new ArrayList<Geometry<?>>();
-            for (int i = 0; i < src.getNumGeometries(); i++) {
-                Geometry<?> geometry = null;
-                com.vividsolutions.jts.geom.Geometry jtsGeometry = src.getGeometryN(i);
-                geometry = fromJtsGeometryCollection(jtsGeometry); // recursion!
-                geometries.add(geometry);
-            }
-            returnGeometry = GeometryCollection.of(geometries);
-        } else if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.POINT.getValue())) {
+        if (src instanceof com.vividsolutions.jts.geom.Point) {
             returnGeometry = fromJtsPoint((com.vividsolutions.jts.geom.Point) src);
-        } else if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.LINE_STRING.getValue())) {
+        } else if (src instanceof com.vividsolutions.jts.geom.LineString) {
             returnGeometry = fromJtsLineString((com.vividsolutions.jts.geom.LineString) src);
-        } else if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.POLYGON.getValue())) {
+        } else if (src instanceof com.vividsolutions.jts.geom.Polygon) {
             returnGeometry = fromJtsPolygon((com.vividsolutions.jts.geom.Polygon) src);
-        } else if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.MULTI_POINT.getValue())) {
-            AbstractJtsCodec<com.vividsolutions.jts.geom.MultiPoint, MultiPoint> codec = new MultiPointCodec(this.geometryFactory);
-            returnGeometry = codec.toGeometry((com.vividsolutions.jts.geom.MultiPoint) src);
-        } else if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.MULTI_LINE_STRING.getValue())) {
-            AbstractJtsCodec<com.vividsolutions.jts.geom.MultiLineString, MultiLineString> codec = new MultiLineStringCodec(this.geometryFactory);
-            returnGeometry = codec.toGeometry((com.vividsolutions.jts.geom.MultiLineString) src);
-        } else if (src.getGeometryType().equalsIgnoreCase(Geometry.Type.MULTI_POLYGON.getValue())) {
-            AbstractJtsCodec<com.vividsolutions.jts.geom.MultiPolygon, MultiPolygon> codec = new MultiPolygonCodec(this.geometryFactory);
-            returnGeometry = codec.toGeometry((com.vividsolutions.jts.geom.MultiPolygon) src);
+        } else if (src instanceof com.vividsolutions.jts.geom.MultiPoint) {
+            returnGeometry = fromJtsMultiPoint((com.vividsolutions.jts.geom.MultiPoint) src);
+        } else if (src instanceof com.vividsolutions.jts.geom.MultiLineString) {
+            returnGeometry = fromJtsMultiLineString((com.vividsolutions.jts.geom.MultiLineString) src);
+        } else if (src instanceof com.vividsolutions.jts.geom.MultiPolygon) {
+            returnGeometry = fromJtsMultiPolygon((com.vividsolutions.jts.geom.MultiPolygon) src);
+        } else if (src instanceof com.vividsolutions.jts.geom.GeometryCollection) {
+            ArrayList<Geometry<?>> geometries = new ArrayList<Geometry<?>>(src.getNumGeometries());
+            for (int i = 0; i < src.getNumGeometries(); i++) {
+                geometries.add(fromJtsGeometryCollection(src.getGeometryN(i))); // recursion!
+            }
+            returnGeometry = GeometryCollection.of(geometries);
         } else {
             throw new IllegalArgumentException("Unsupported geometry type: " + src.getGeometryType());
         }
@@ -105,6 +103,53 @@ public abstract class AbstractJtsCodec<S, T extends Geometry<?>> implements Code
         return returnGeometry;
     }
 
+    // MultiPolygon ---
+
+    protected com.vividsolutions.jts.geom.MultiPolygon toJtsMultiPolygon(MultiPolygon src) {
+        List<Polygon> polygons = src.polygons();
+        com.vividsolutions.jts.geom.Polygon[] jtsPolygons = new com.vividsolutions.jts.geom.Polygon[polygons.size()];
+        for (int i = 0; i < jtsPolygons.length; i++) {
+            jtsPolygons[i] = toJtsPolygon(polygons.get(i));
+        }
+        return this.geometryFactory.createMultiPolygon(jtsPolygons);
+    }
+
+    protected static MultiPolygon fromJtsMultiPolygon(com.vividsolutions.jts.geom.MultiPolygon src) {
+        return MultiPolygon.of(StreamSupport.stream(JtsPolygonIterable.of(src).spliterator(), false)
+                .map(AbstractJtsCodec::fromJtsPolygon));
+    }
+
+    // MultiLineString ---
+
+    protected com.vividsolutions.jts.geom.MultiLineString toJtsMultiLineString(MultiLineString src) {
+        List<LineString> lineStrings = src.lineStrings();
+        com.vividsolutions.jts.geom.LineString[] jtsLineStrings = new com.vividsolutions.jts.geom.LineString[lineStrings.size()];
+        for (int i = 0; i < jtsLineStrings.length; i++) {
+            jtsLineStrings[i] = toJtsLineString(lineStrings.get(i));
+        }
+        return this.geometryFactory.createMultiLineString(jtsLineStrings);
+    }
+
+    protected static MultiLineString fromJtsMultiLineString(com.vividsolutions.jts.geom.MultiLineString src) {
+        return MultiLineString.of(StreamSupport.stream(JtsLineStringIterable.of(src).spliterator(), false)
+                .map(AbstractJtsCodec::fromJtsLineString));
+    }
+
+    // MultiPoint ---
+
+    protected com.vividsolutions.jts.geom.MultiPoint toJtsMultiPoint(MultiPoint src) {
+        return this.geometryFactory.createMultiPoint(new PositionsCoordinateSequence(src.positions()));
+    }
+
+    protected static MultiPoint fromJtsMultiPoint(com.vividsolutions.jts.geom.MultiPoint src) {
+        PackedPositionsBuilder builder = new PackedPositionsBuilder(src.getNumGeometries());
+        for (int i = 0; i < src.getNumGeometries(); i++) {
+            Coordinate coordinate = ((com.vividsolutions.jts.geom.Point) src.getGeometryN(i)).getCoordinate();
+            builder.addPosition(coordinate.x, coordinate.y, coordinate.z);
+        }
+        return new MultiPoint((LinearPositions) builder.build(PackedPositionsBuilder.LINEAR_POSITIONS_DEPTH));
+    }
+
     // Polygon ---
 
 
@@ -123,11 +168,10 @@ public abstract class AbstractJtsCodec<S, T extends Geometry<?>> implements Code
     protected static Polygon fromJtsPolygon(com.vividsolutions.jts.geom.Polygon src) {
 
         return Polygon.of(
-                fromJtsLineString(src.getExteriorRing()).toLinearRing(),
+                fromJtsRing(src.getExteriorRing()),
                 StreamSupport
                         .stream(JtsLineStringIterable.forHolesOf(src).spliterator(), false)
-                        .map(AbstractJtsCodec::fromJtsLineString)
-                        .map(LinearGeometry::toLinearRing)::iterator
+                        .map(AbstractJtsCodec::fromJtsRing)::iterator
         );
     }
 
@@ -135,20 +179,16 @@ public abstract class AbstractJtsCodec<S, T extends Geometry<?>> implements Code
 
     protected com.vividsolutions.jts.geom.LinearRing toJtsLinearRing(LinearRing src) {
 
-        return this.geometryFactory.createLinearRing(
-                StreamSupport.stream(src.positions().children().spliterator(), false)
-                        .map(sp -> new Coordinate(sp.lon(), sp.lat(), sp.alt()))
-                        .toArray(Coordinate[]::new)
-
-        );
+        return this.geometryFactory.createLinearRing(new PositionsCoordinateSequence(src.positions()));
     }
 
 
     protected static LinearRing fromJtsLinearRing(com.vividsolutions.jts.geom.LinearRing src) {
-        return LinearRing.of(StreamSupport
-                .stream(JtsPointIterable.of(src).spliterator(), false)
-                .map(AbstractJtsCodec::fromJtsPoint)::iterator
-        );
+        return fromJtsRing(src);
+    }
+
+    private static LinearRing fromJtsRing(com.vividsolutions.jts.geom.LineString src) {
+        return new LinearRing(PositionsCoordinateSequence.toLinearPositions(src.getCoordinateSequence()));
     }
 
     // LineString ---
@@ -156,18 +196,11 @@ public abstract class AbstractJtsCodec<S, T extends Geometry<?>> implements Code
 
     protected com.vividsolutions.jts.geom.LineString toJtsLineString(LineString src) {
 
-        return this.geometryFactory.createLineString(
-                StreamSupport.stream(src.positions().children().spliterator(), false)
-                        .map(sp -> new Coordinate(sp.lon(), sp.lat(), sp.alt()))
-                        .toArray(Coordinate[]::new)
-
-        );
+        return this.geometryFactory.createLineString(new PositionsCoordinateSequence(src.positions()));
     }
 
     protected static LineString fromJtsLineString(com.vividsolutions.jts.geom.LineString src) {
-        return LineString.of(StreamSupport.stream(JtsPointIterable.of(src).spliterator(), false)
-                .map(AbstractJtsCodec::fromJtsPoint)
-        );
+        return new LineString(PositionsCoordinateSequence.toLinearPositions(src.getCoordinateSequence()));
     }
 
     // Point
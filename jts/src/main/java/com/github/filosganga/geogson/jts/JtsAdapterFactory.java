@@ -1,17 +1,11 @@
 package com.github.filosganga.geogson.jts;
 
-import com.github.filosganga.geogson.codec.CodecRegistry;
-import com.github.filosganga.geogson.model.Geometry;
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
 import com.vividsolutions.jts.geom.GeometryFactory;
 
-import java.io.IOException;
-
 /**
  * The JTS Gson TypeAdapterFactory.
  *
@@ -79,45 +73,3 @@ public class JtsAdapterFactory implements TypeAdapterFactory {
     }
 
 }
-
-class JtsGeometryAdapter extends TypeAdapter<com.vividsolutions.jts.geom.Geometry> {
-
-    private final Gson gson;
-
-    private final CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecRegistry;
-
-    public JtsGeometryAdapter(Gson gson, GeometryFactory geometryFactory) {
-        this.gson = gson;
-        this.codecRegistry = new CodecRegistry<>();
-        codecRegistry.addCodec(new PointCodec(geometryFactory));
-        codecRegistry.addCodec(new MultiPointCodec(geometryFactory));
-        codecRegistry.addCodec(new LineStringCodec(geometryFactory));
-        codecRegistry.addCodec(new LinearRingCodec(geometryFactory));
-        codecRegistry.addCodec(new MultiLineStringCodec(geometryFactory));
-        codecRegistry.addCodec(new PolygonCodec(geometryFactory));
-        codecRegistry.addCodec(new MultiPolygonCodec(geometryFactory));
-        codecRegistry.addCodec(new GeometryCollectionCodec(geometryFactory));
-    }
-
-    @Override
-    public void write(JsonWriter out, com.vividsolutions.jts.geom.Geometry value) throws IOException {
-        if (value == null || value.getCoordinates().length == 0) {
-            out.nullValue();
-            return;
-        }
-        Geometry<?> to = codecRegistry.toGeometry(value);
-
-        gson.getAdapter(new TypeToken<Geometry<?>>(){}).write(out, to);
-    }
-
-    @Override
-    public com.vividsolutions.jts.geom.Geometry read(JsonReader in) throws IOException {
-
-        Geometry<?> geometry = gson.getAdapter(new TypeToken<Geometry<?>>(){}).read(in);
-
-        if (geometry == null) {
-          return null;
-        }
-        return codecRegistry.fromGeometry(geometry);
-    }
-}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.GeometryCollection;
+import com.github.filosganga.geogson.model.LazyGeometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * Converts whole {@link FeatureCollection}s and {@link GeometryCollection}s from and to JTS. The same codec instance
+ * converts every geometry, and the collections with at least {@link #withParallelThreshold(int) a threshold} of
+ * members are split in chunks converted in parallel on a {@link ForkJoinPool}. The members keep their order.
+ *
+ * The JTS geometry of a Feature carries the Feature as user data, so that converting it back keeps the Feature id
+ * and properties.
+ *
+ * eg: {@code
+ *     List<com.vividsolutions.jts.geom.Geometry> parcels = new JtsConverter(geometryFactory).toJts(featureCollection);
+ * }
+ */
+public final class JtsConverter {
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * The number of chunks per thread of the pool, so that the threads can balance uneven chunks.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final GeometryCollectionCodec codec;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Create a converter with a default {@link GeometryFactory}.
+     */
+    public JtsConverter() {
+        this(new GeometryFactory());
+    }
+
+    /**
+     * Create a converter with a given {@link GeometryFactory}.
+     *
+     * @param geometryFactory a {@link GeometryFactory} defining a PrecisionModel and a SRID
+     */
+    public JtsConverter(GeometryFactory geometryFactory) {
+        this.codec = new GeometryCollectionCodec(geometryFactory);
+    }
+
+    /**
+     * Returns a copy of this converter converting on the given pool, the common pool by default.
+     *
+     * @param pool The ForkJoinPool to convert the collections on.
+     * @return a new JtsConverter.
+     */
+    public JtsConverter withPool(ForkJoinPool pool) {
+        JtsConverter copy = copy();
+        copy.pool = checkNotNull(pool, "The pool cannot be null");
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this converter converting in parallel the collections having at least the given number of
+     * members, 1024 by default.
+     *
+     * @param parallelThreshold The minimum number of members to convert in parallel.
+     * @return a new JtsConverter.
+     */
+    public JtsConverter withParallelThreshold(int parallelThreshold) {
+        JtsConverter copy = copy();
+        copy.parallelThreshold = checkArgument(parallelThreshold, x -> x > 0, "The parallel threshold must be positive");
+        return copy;
+    }
+
+    /**
+     * Converts a geometry to JTS.
+     *
+     * @param geometry The geogson Geometry.
+     * @return the JTS Geometry, null if the geometry is null.
+     */
+    public com.vividsolutions.jts.geom.Geometry toJts(Geometry<?> geometry) {
+        Geometry<?> source = geometry instanceof LazyGeometry ? ((LazyGeometry<?>) geometry).geometry() : geometry;
+        if (source instanceof GeometryCollection) {
+            List<com.vividsolutions.jts.geom.Geometry> geometries = convert(((GeometryCollection) source).getGeometries(), this::toJts);
+            return codec.getGeometryFactory().createGeometryCollection(geometries.toArray(new com.vividsolutions.jts.geom.Geometry[0]));
+        }
+        return source == null ? null : codec.toJtsGeometryCollection(source);
+    }
+
+    /**
+     * Converts a JTS geometry to geogson.
+     *
+     * @param geometry The JTS Geometry.
+     * @return the geogson Geometry, null if the geometry is null.
+     */
+    public Geometry<?> fromJts(com.vividsolutions.jts.geom.Geometry geometry) {
+        if (geometry != null && geometry.getClass() == com.vividsolutions.jts.geom.GeometryCollection.class) {
+            com.vividsolutions.jts.geom.Geometry[] members = new com.vividsolutions.jts.geom.Geometry[geometry.getNumGeometries()];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = geometry.getGeometryN(i);
+            }
+            return GeometryCollection.of(convert(Arrays.asList(members), this::fromJts));
+        }
+        return geometry == null ? null : codec.fromJtsGeometryCollection(geometry);
+    }
+
+    /**
+     * Converts the geometries of the features of a FeatureCollection to JTS. Each JTS geometry has its Feature as
+     * user data.
+     *
+     * @param featureCollection The FeatureCollection.
+     * @return the JTS geometries in the order of the features, null for the features without geometry.
+     */
+    public List<com.vividsolutions.jts.geom.Geometry> toJts(FeatureCollection featureCollection) {
+        return convert(checkNotNull(featureCollection, "The featureCollection cannot be null").features(), feature -> {
+            com.vividsolutions.jts.geom.Geometry geometry = toJts(feature.geometry());
+            if (geometry != null) {
+                geometry.setUserData(feature);
+            }
+            return geometry;
+        });
+    }
+
+    /**
+     * Converts JTS geometries to a FeatureCollection. The Feature carried as user data by a geometry, if any, gives
+     * the id and the properties of the converted Feature. A null geometry, as {@link #toJts(FeatureCollection)} gives
+     * for a Feature without geometry, is converted to a Feature without geometry.
+     *
+     * @param geometries The JTS geometries.
+     * @return the FeatureCollection, with a Feature per geometry in the same order.
+     */
+    public FeatureCollection fromJts(List<? extends com.vividsolutions.jts.geom.Geometry> geometries) {
+        return new FeatureCollection(convert(checkNotNull(geometries, "The geometries cannot be null"), geometry -> {
+            if (geometry == null) {
+                return Feature.builder().withoutGeometry().build();
+            }
+            Feature.Builder builder = geometry.getUserData() instanceof Feature
+                    ? Feature.builder((Feature) geometry.getUserData())
+                    : Feature.builder();
+            return builder.withGeometry(fromJts(geometry)).build();
+        }));
+    }
+
+    private <S, T> List<T> convert(List<? extends S> sources, Function<S, T> conversion) {
+        int size = sources.size();
+        if (size < parallelThreshold || ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            // Sequential, also within a parallel conversion that already uses the pool
+            List<T> converted = new ArrayList<>(size);
+            for (S source : sources) {
+                converted.add(conversion.apply(source));
+            }
+            return converted;
+        }
+
+        int chunkSize = Math.max(1, (size + pool.getParallelism() * CHUNKS_PER_THREAD - 1) / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            List<? extends S> chunk = sources.subList(from, Math.min(from + chunkSize, size));
+            tasks.add(pool.submit(() -> convert(chunk, conversion)));
+        }
+
+        List<T> converted = new ArrayList<>(size);
+        for (ForkJoinTask<List<T>> task : tasks) {
+            converted.addAll(task.join());
+        }
+        return converted;
+    }
+
+    private JtsConverter copy() {
+        JtsConverter copy = new JtsConverter(codec.getGeometryFactory());
+        copy.pool = pool;
+        copy.parallelThreshold = parallelThreshold;
+        return copy;
+    }
+}
@@ -0,0 +1,234 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.gson.PositionsAdapter;
+import com.github.filosganga.geogson.model.positions.AreaPositions;
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.github.filosganga.geogson.model.positions.MultiDimensionalPositions;
+import com.github.filosganga.geogson.model.positions.Positions;
+import com.github.filosganga.geogson.model.positions.SinglePosition;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryCollection;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.LineString;
+import com.vividsolutions.jts.geom.LinearRing;
+import com.vividsolutions.jts.geom.MultiLineString;
+import com.vividsolutions.jts.geom.MultiPoint;
+import com.vividsolutions.jts.geom.MultiPolygon;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.Polygon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Gson TypeAdapter reading and writing JTS geometries straight from and to GeoJson, without building the geogson
+ * geometries. The coordinates are read once into packed positions, that the JTS geometries view through
+ * {@link PositionsCoordinateSequence}s, and they are written walking the JTS coordinate sequences.
+ */
+class JtsGeometryAdapter extends TypeAdapter<Geometry> {
+
+    private static final String TYPE_NAME = "type";
+    private static final String COORDINATES_NAME = "coordinates";
+    private static final String GEOMETRIES_NAME = "geometries";
+
+    private final GeometryFactory geometryFactory;
+    private final TypeAdapter<Positions> positionsAdapter;
+    private final PositionsAdapter positionsWriter;
+
+    JtsGeometryAdapter(Gson gson, GeometryFactory geometryFactory) {
+        this.geometryFactory = geometryFactory;
+        this.positionsAdapter = gson.getAdapter(Positions.class);
+        this.positionsWriter = positionsAdapter instanceof PositionsAdapter ? (PositionsAdapter) positionsAdapter : new PositionsAdapter();
+    }
+
+    @Override
+    public void write(JsonWriter out, Geometry value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name(TYPE_NAME).value(typeOf(value).getValue());
+        if (value instanceof GeometryCollection && !isMulti(value)) {
+            out.name(GEOMETRIES_NAME);
+            out.beginArray();
+            for (int i = 0; i < value.getNumGeometries(); i++) {
+                write(out, value.getGeometryN(i));
+            }
+            out.endArray();
+        } else {
+            out.name(COORDINATES_NAME);
+            writeCoordinates(out, value);
+        }
+        out.endObject();
+    }
+
+    private void writeCoordinates(JsonWriter out, Geometry value) throws IOException {
+        if (value instanceof Point) {
+            writePosition(out, ((Point) value).getCoordinateSequence(), 0);
+        } else if (value instanceof LineString) {
+            writePositions(out, ((LineString) value).getCoordinateSequence());
+        } else if (value instanceof Polygon) {
+            Polygon polygon = (Polygon) value;
+            out.beginArray();
+            writePositions(out, polygon.getExteriorRing().getCoordinateSequence());
+            for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                writePositions(out, polygon.getInteriorRingN(i).getCoordinateSequence());
+            }
+            out.endArray();
+        } else if (value instanceof MultiPoint) {
+            out.beginArray();
+            for (int i = 0; i < value.getNumGeometries(); i++) {
+                writePosition(out, ((Point) value.getGeometryN(i)).getCoordinateSequence(), 0);
+            }
+            out.endArray();
+        } else {
+            // MultiLineString and MultiPolygon
+            out.beginArray();
+            for (int i = 0; i < value.getNumGeometries(); i++) {
+                writeCoordinates(out, value.getGeometryN(i));
+            }
+            out.endArray();
+        }
+    }
+
+    private void writePositions(JsonWriter out, CoordinateSequence sequence) throws IOException {
+        out.beginArray();
+        for (int i = 0; i < sequence.size(); i++) {
+            writePosition(out, sequence, i);
+        }
+        out.endArray();
+    }
+
+    private void writePosition(JsonWriter out, CoordinateSequence sequence, int index) throws IOException {
+        double alt = sequence.getDimension() > 2 ? sequence.getOrdinate(index, CoordinateSequence.Z) : Double.NaN;
+        positionsWriter.writePosition(out, sequence.getX(index), sequence.getY(index), alt);
+    }
+
+    private static boolean isMulti(Geometry value) {
+        return value instanceof MultiPoint || value instanceof MultiLineString || value instanceof MultiPolygon;
+    }
+
+    private static com.github.filosganga.geogson.model.Geometry.Type typeOf(Geometry value) {
+        if (value instanceof Point) {
+            return com.github.filosganga.geogson.model.Geometry.Type.POINT;
+        } else if (value instanceof LinearRing) {
+            return com.github.filosganga.geogson.model.Geometry.Type.LINEAR_RING;
+        } else if (value instanceof LineString) {
+            return com.github.filosganga.geogson.model.Geometry.Type.LINE_STRING;
+        } else if (value instanceof Polygon) {
+            return com.github.filosganga.geogson.model.Geometry.Type.POLYGON;
+        } else if (value instanceof MultiPoint) {
+            return com.github.filosganga.geogson.model.Geometry.Type.MULTI_POINT;
+        } else if (value instanceof MultiLineString) {
+            return com.github.filosganga.geogson.model.Geometry.Type.MULTI_LINE_STRING;
+        } else if (value instanceof MultiPolygon) {
+            return com.github.filosganga.geogson.model.Geometry.Type.MULTI_POLYGON;
+        } else if (value instanceof GeometryCollection) {
+            return com.github.filosganga.geogson.model.Geometry.Type.GEOMETRY_COLLECTION;
+        } else {
+            throw new IllegalArgumentException("Unsupported geometry type: " + value.getGeometryType());
+        }
+    }
+
+    @Override
+    public Geometry read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new IllegalArgumentException("The given json is not a valid Geometry: " + in.peek());
+        }
+
+        com.github.filosganga.geogson.model.Geometry.Type type = null;
+        Positions positions = null;
+        List<Geometry> geometries = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (TYPE_NAME.equals(name)) {
+                type = com.github.filosganga.geogson.model.Geometry.Type.forValue(in.nextString());
+            } else if (COORDINATES_NAME.equals(name)) {
+                positions = positionsAdapter.read(in);
+            } else if (GEOMETRIES_NAME.equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                geometries = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) {
+                    geometries.add(read(in));
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (type == null) {
+            throw new IllegalArgumentException("The given json is not a valid Geometry, the type is missing");
+        } else if (type == com.github.filosganga.geogson.model.Geometry.Type.GEOMETRY_COLLECTION) {
+            return geometryFactory.createGeometryCollection(geometries == null ? new Geometry[0] : geometries.toArray(new Geometry[0]));
+        } else if (positions == null) {
+            throw new IllegalArgumentException("The given json is not a valid Geometry, the coordinates are missing");
+        }
+        return buildGeometry(type, positions);
+    }
+
+    private Geometry buildGeometry(com.github.filosganga.geogson.model.Geometry.Type type, Positions positions) {
+        switch (type) {
+            case POINT:
+                SinglePosition position = (SinglePosition) positions;
+                return geometryFactory.createPoint(new Coordinate(position.lon(), position.lat(), position.alt()));
+            case MULTI_POINT:
+                if (positions instanceof SinglePosition) {
+                    return geometryFactory.createMultiPoint(new Point[]{(Point) buildGeometry(com.github.filosganga.geogson.model.Geometry.Type.POINT, positions)});
+                }
+                return geometryFactory.createMultiPoint(sequence(positions));
+            case LINE_STRING:
+            case LINEAR_RING:
+                return ((LinearPositions) positions).isClosed()
+                        ? geometryFactory.createLinearRing(sequence(positions))
+                        : geometryFactory.createLineString(sequence(positions));
+            case MULTI_LINE_STRING:
+                List<LinearPositions> lines = ((AreaPositions) positions).children();
+                LineString[] lineStrings = new LineString[lines.size()];
+                for (int i = 0; i < lineStrings.length; i++) {
+                    lineStrings[i] = geometryFactory.createLineString(sequence(lines.get(i)));
+                }
+                return geometryFactory.createMultiLineString(lineStrings);
+            case POLYGON:
+                return buildPolygon((AreaPositions) positions);
+            case MULTI_POLYGON:
+                List<AreaPositions> areas = ((MultiDimensionalPositions) positions).children();
+                Polygon[] polygons = new Polygon[areas.size()];
+                for (int i = 0; i < polygons.length; i++) {
+                    polygons[i] = buildPolygon(areas.get(i));
+                }
+                return geometryFactory.createMultiPolygon(polygons);
+            default:
+                throw new IllegalArgumentException("Cannot build a geometry for type: " + type);
+        }
+    }
+
+    private Polygon buildPolygon(AreaPositions positions) {
+        List<LinearPositions> rings = positions.children();
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = geometryFactory.createLinearRing(sequence(rings.get(i + 1)));
+        }
+        return geometryFactory.createPolygon(geometryFactory.createLinearRing(sequence(rings.get(0))), holes);
+    }
+
+    private static CoordinateSequence sequence(Positions positions) {
+        return new PositionsCoordinateSequence((LinearPositions) positions);
+    }
+}
@@ -3,8 +3,6 @@ package com.github.filosganga.geogson.jts;
 import com.github.filosganga.geogson.model.MultiLineString;
 import com.vividsolutions.jts.geom.GeometryFactory;
 
-import java.util.stream.StreamSupport;
-
 /**
  * A {@link com.github.filosganga.geogson.codec.Codec} for {@link com.vividsolutions.jts.geom.MultiLineString} and
  * {@link MultiLineString}.
@@ -23,16 +21,11 @@ public class MultiLineStringCodec extends AbstractJtsCodec<com.vividsolutions.jt
 
     @Override
     public MultiLineString toGeometry(com.vividsolutions.jts.geom.MultiLineString src) {
-        return MultiLineString.of(StreamSupport.stream(JtsLineStringIterable.of(src).spliterator(), false)
-                .map(AbstractJtsCodec::fromJtsLineString));
+        return fromJtsMultiLineString(src);
     }
 
     @Override
     public com.vividsolutions.jts.geom.MultiLineString fromGeometry(MultiLineString src) {
-        return this.geometryFactory.createMultiLineString(
-                StreamSupport.stream(src.lineStrings().spliterator(), false)
-                        .map(this::toJtsLineString)
-                        .toArray(com.vividsolutions.jts.geom.LineString[]::new)
-        );
+        return toJtsMultiLineString(src);
     }
 }
@@ -0,0 +1,181 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.github.filosganga.geogson.model.positions.PackedPositionsBuilder;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.Envelope;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * A JTS {@link CoordinateSequence} view over geogson {@link LinearPositions}, reading their packed coordinates
+ * without copying them and without creating a {@link Coordinate} per position. The altitude is the Z ordinate.
+ *
+ * The LinearPositions are immutable: the first {@link #setOrdinate(int, int, double)} copies the coordinates, and
+ * the sequence is no longer a view from then on.
+ */
+public final class PositionsCoordinateSequence implements CoordinateSequence, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DIMENSION = 3;
+
+    private final int size;
+
+    // The positions while the sequence is a view, null once it has been written
+    private LinearPositions positions;
+
+    // The lon, lat, alt triples once the sequence has been written, null while it is a view
+    private double[] coordinates;
+
+    /**
+     * Creates a view over the given LinearPositions.
+     *
+     * @param positions The LinearPositions to read the coordinates from.
+     */
+    public PositionsCoordinateSequence(LinearPositions positions) {
+        this.positions = checkNotNull(positions, "The positions cannot be null");
+        this.size = positions.size();
+    }
+
+    /**
+     * Creates a sequence owning the given lon, lat, alt triples.
+     */
+    PositionsCoordinateSequence(double[] coordinates) {
+        this.coordinates = coordinates;
+        this.size = coordinates.length / DIMENSION;
+    }
+
+    /**
+     * Returns the LinearPositions of the given sequence: the viewed ones if it is an unmodified
+     * PositionsCoordinateSequence, otherwise new ones, built from its X, Y and Z ordinates in a single pass without
+     * creating any Coordinate.
+     *
+     * @param sequence The CoordinateSequence to convert.
+     * @return LinearPositions
+     */
+    public static LinearPositions toLinearPositions(CoordinateSequence sequence) {
+        if (sequence instanceof PositionsCoordinateSequence) {
+            LinearPositions positions = ((PositionsCoordinateSequence) sequence).positions;
+            if (positions != null) {
+                return positions;
+            }
+        }
+        int size = sequence.size();
+        boolean hasZ = sequence.getDimension() > 2;
+        PackedPositionsBuilder builder = new PackedPositionsBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.addPosition(sequence.getX(i), sequence.getY(i), hasZ ? sequence.getOrdinate(i, Z) : Double.NaN);
+        }
+        return (LinearPositions) builder.build(PackedPositionsBuilder.LINEAR_POSITIONS_DEPTH);
+    }
+
+    @Override
+    public int getDimension() {
+        return DIMENSION;
+    }
+
+    @Override
+    public Coordinate getCoordinate(int i) {
+        return new Coordinate(getX(i), getY(i), getZ(i));
+    }
+
+    @Override
+    public Coordinate getCoordinateCopy(int i) {
+        return getCoordinate(i);
+    }
+
+    @Override
+    public void getCoordinate(int index, Coordinate coord) {
+        coord.x = getX(index);
+        coord.y = getY(index);
+        coord.z = getZ(index);
+    }
+
+    @Override
+    public double getX(int index) {
+        return positions == null ? coordinates[index * DIMENSION] : positions.lon(index);
+    }
+
+    @Override
+    public double getY(int index) {
+        return positions == null ? coordinates[index * DIMENSION + 1] : positions.lat(index);
+    }
+
+    private double getZ(int index) {
+        return positions == null ? coordinates[index * DIMENSION + 2] : positions.alt(index);
+    }
+
+    @Override
+    public double getOrdinate(int index, int ordinateIndex) {
+        switch (ordinateIndex) {
+            case X:
+                return getX(index);
+            case Y:
+                return getY(index);
+            case Z:
+                return getZ(index);
+            default:
+                return Double.NaN;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void setOrdinate(int index, int ordinateIndex, double value) {
+        if (ordinateIndex < X || ordinateIndex > Z) {
+            throw new IllegalArgumentException("Invalid ordinate index: " + ordinateIndex);
+        }
+        if (positions != null) {
+            coordinates = copyCoordinates();
+            positions = null;
+        }
+        coordinates[index * DIMENSION + ordinateIndex] = value;
+    }
+
+    @Override
+    public Coordinate[] toCoordinateArray() {
+        Coordinate[] array = new Coordinate[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = getCoordinate(i);
+        }
+        return array;
+    }
+
+    @Override
+    public Envelope expandEnvelope(Envelope env) {
+        for (int i = 0; i < size; i++) {
+            env.expandToInclude(getX(i), getY(i));
+        }
+        return env;
+    }
+
+    @Override
+    public Object clone() {
+        // The viewed positions are immutable, they can be shared
+        return positions == null ? new PositionsCoordinateSequence(coordinates.clone()) : new PositionsCoordinateSequence(positions);
+    }
+
+    private double[] copyCoordinates() {
+        double[] copy = new double[size * DIMENSION];
+        for (int i = 0; i < size; i++) {
+            copy[i * DIMENSION] = positions.lon(i);
+            copy[i * DIMENSION + 1] = positions.lat(i);
+            copy[i * DIMENSION + 2] = positions.alt(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "PositionsCoordinateSequence" + Arrays.toString(toCoordinateArray());
+    }
+}
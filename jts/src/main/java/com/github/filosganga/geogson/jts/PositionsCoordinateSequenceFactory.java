@@ -0,0 +1,67 @@
+package com.github.filosganga.geogson.jts;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.CoordinateSequenceFactory;
+
+import java.io.Serializable;
+
+/**
+ * A {@link CoordinateSequenceFactory} creating {@link PositionsCoordinateSequence}s. A GeometryFactory using it builds
+ * JTS geometries whose coordinates convert to geogson positions without being copied.
+ *
+ * eg: {@code
+ *     new GeometryFactory(new PrecisionModel(), 4326, PositionsCoordinateSequenceFactory.instance())
+ * }
+ */
+public final class PositionsCoordinateSequenceFactory implements CoordinateSequenceFactory, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final PositionsCoordinateSequenceFactory INSTANCE = new PositionsCoordinateSequenceFactory();
+
+    private PositionsCoordinateSequenceFactory() {
+    }
+
+    /**
+     * Returns the singleton instance of PositionsCoordinateSequenceFactory.
+     *
+     * @return PositionsCoordinateSequenceFactory
+     */
+    public static PositionsCoordinateSequenceFactory instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public CoordinateSequence create(Coordinate[] coordinates) {
+        Coordinate[] source = coordinates == null ? new Coordinate[0] : coordinates;
+        double[] packed = new double[source.length * 3];
+        for (int i = 0; i < source.length; i++) {
+            packed[i * 3] = source[i].x;
+            packed[i * 3 + 1] = source[i].y;
+            packed[i * 3 + 2] = source[i].z;
+        }
+        return new PositionsCoordinateSequence(packed);
+    }
+
+    @Override
+    public CoordinateSequence create(CoordinateSequence coordSeq) {
+        if (coordSeq instanceof PositionsCoordinateSequence) {
+            return (CoordinateSequence) coordSeq.clone();
+        }
+        return new PositionsCoordinateSequence(PositionsCoordinateSequence.toLinearPositions(coordSeq));
+    }
+
+    @Override
+    public CoordinateSequence create(int size, int dimension) {
+        double[] packed = new double[size * 3];
+        for (int i = 2; i < packed.length; i += 3) {
+            packed[i] = Double.NaN;
+        }
+        return new PositionsCoordinateSequence(packed);
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,301 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.LazyGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.github.filosganga.geogson.util.Preconditions.checkArgument;
+import static com.github.filosganga.geogson.util.Preconditions.checkNotNull;
+
+/**
+ * A bounded cache of the JTS {@link PreparedGeometry} of geogson geometries, so that the geometries looked up again
+ * skip both the conversion to JTS and the construction of the prepared indexes.
+ *
+ * A Feature is cached by its id, when it has one, otherwise by its geometry. A Geometry is cached by itself, as the
+ * geogson geometries are compared by content. The ids are assumed to identify the same geometry: a Feature whose
+ * geometry changes must be {@link #invalidate(String) invalidated}.
+ *
+ * The cache holds at most a number of entries and a total weight, the weight of an entry being the number of
+ * vertices of its geometry. The lookups do not lock: the entries are evicted by a CLOCK sweep, that gives a second
+ * chance to the entries looked up since the previous sweep. A PreparedGeometryCache is thread safe, and so are the
+ * returned PreparedGeometries.
+ *
+ * eg: {@code
+ *     PreparedGeometryCache fences = new PreparedGeometryCache(new JtsConverter(geometryFactory), 10_000, 50_000_000);
+ *     boolean inside = fences.get(fence).contains(position);
+ * }
+ */
+public final class PreparedGeometryCache {
+
+    private final JtsConverter converter;
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    // The CLOCK of the entries, in insertion order
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    // The invalidated entries still in the CLOCK
+    private final AtomicLong removedInClock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache converting the geometries with the given JtsConverter.
+     *
+     * @param converter The JtsConverter, with the GeometryFactory of the prepared geometries.
+     * @param maxEntries The maximum number of cached geometries.
+     * @param maxWeight The maximum total number of vertices of the cached geometries.
+     */
+    public PreparedGeometryCache(JtsConverter converter, int maxEntries, long maxWeight) {
+        this.converter = checkNotNull(converter, "The converter cannot be null");
+        this.maxEntries = checkArgument(maxEntries, x -> x > 0, "The max entries must be positive");
+        this.maxWeight = checkArgument(maxWeight, x -> x > 0, "The max weight must be positive");
+    }
+
+    /**
+     * Returns the PreparedGeometry of the geometry of the given Feature, cached by the Feature id if it has one, by
+     * its geometry otherwise.
+     *
+     * @param feature The Feature, that must have a geometry.
+     * @return PreparedGeometry
+     */
+    public PreparedGeometry get(Feature feature) {
+        Geometry<?> geometry = checkNotNull(checkNotNull(feature, "The feature cannot be null").geometry(), "The feature must have a geometry");
+        return get(feature.id().isPresent() ? feature.id().get() : key(geometry), geometry);
+    }
+
+    /**
+     * Returns the PreparedGeometry of the given geometry, cached by the geometry itself.
+     *
+     * @param geometry The Geometry.
+     * @return PreparedGeometry
+     */
+    public PreparedGeometry get(Geometry<?> geometry) {
+        return get(key(checkNotNull(geometry, "The geometry cannot be null")), geometry);
+    }
+
+    private PreparedGeometry get(Object key, Geometry<?> geometry) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.prepared;
+        }
+
+        // Prepared out of the map, so that the lookups of the other keys never wait for it
+        misses.increment();
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(converter.toJts(geometry));
+        int preparedWeight = prepared.getGeometry().getNumPoints();
+        if (preparedWeight > maxWeight) {
+            return prepared;
+        }
+
+        Entry created = new Entry(key, prepared, preparedWeight);
+        Entry existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.prepared;
+        }
+        clock.offer(created);
+        size.incrementAndGet();
+        weight.addAndGet(preparedWeight);
+        evictIfNeeded();
+        return prepared;
+    }
+
+    private static Object key(Geometry<?> geometry) {
+        return geometry instanceof LazyGeometry ? ((LazyGeometry<?>) geometry).geometry() : geometry;
+    }
+
+    /**
+     * Removes the geometry cached for the given Feature id.
+     *
+     * @param id The Feature id.
+     */
+    public void invalidate(String id) {
+        remove(id);
+    }
+
+    /**
+     * Removes the given geometry.
+     *
+     * @param geometry The Geometry.
+     */
+    public void invalidate(Geometry<?> geometry) {
+        remove(key(geometry));
+    }
+
+    /**
+     * Removes all the cached geometries.
+     */
+    public void invalidateAll() {
+        for (Object key : entries.keySet()) {
+            remove(key);
+        }
+    }
+
+    private void remove(Object key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            discard(entry);
+            removedInClock.incrementAndGet();
+            purgeIfNeeded();
+        }
+    }
+
+    /**
+     * Purges the invalidated entries from the CLOCK once they outnumber the cached ones, so that the CLOCK does not
+     * grow, nor keep the invalidated geometries, while the cache stays under its limits.
+     */
+    private void purgeIfNeeded() {
+        if (removedInClock.get() <= size.get()) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            long purged = 0;
+            for (Iterator<Entry> it = clock.iterator(); it.hasNext(); ) {
+                if (it.next().removed) {
+                    it.remove();
+                    purged++;
+                }
+            }
+            removedInClock.addAndGet(-purged);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (size.get() <= maxEntries && weight.get() <= maxWeight) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            while (size.get() > maxEntries || weight.get() > maxWeight) {
+                Entry entry = clock.poll();
+                if (entry == null) {
+                    return;
+                } else if (entry.removed) {
+                    // Invalidated, already discounted
+                    removedInClock.decrementAndGet();
+                } else if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.offer(entry);
+                } else if (entries.remove(entry.key, entry)) {
+                    discard(entry);
+                    evictions.increment();
+                } else {
+                    // Invalidated meanwhile
+                    removedInClock.decrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void discard(Entry entry) {
+        entry.removed = true;
+        size.decrementAndGet();
+        weight.addAndGet(-entry.weight);
+    }
+
+    /**
+     * The number of entries in the CLOCK, the cached ones and the invalidated ones not purged yet.
+     */
+    long clockSize() {
+        return clock.size();
+    }
+
+    /**
+     * The number of cached geometries.
+     *
+     * @return long
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * The total number of vertices of the cached geometries.
+     *
+     * @return long
+     */
+    public long weight() {
+        return weight.get();
+    }
+
+    /**
+     * The number of lookups that found their geometry in the cache.
+     *
+     * @return long
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of lookups that had to convert and prepare their geometry.
+     *
+     * @return long
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * The number of geometries evicted to respect the maximum entries and weight, not counting the invalidated ones.
+     *
+     * @return long
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedGeometryCache{" +
+                "size=" + size() +
+                ", weight=" + weight() +
+                ", hits=" + hitCount() +
+                ", misses=" + missCount() +
+                ", evictions=" + evictionCount() +
+                '}';
+    }
+
+    private static final class Entry {
+
+        private final Object key;
+        private final PreparedGeometry prepared;
+        private final int weight;
+
+        // Set by the lookups, cleared by the CLOCK sweep
+        private volatile boolean referenced = false;
+        private volatile boolean removed = false;
+
+        private Entry(Object key, PreparedGeometry prepared, int weight) {
+            this.key = key;
+            this.prepared = prepared;
+            this.weight = weight;
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.github.filosganga.geogson.jts;
 
 import com.github.filosganga.geogson.codec.CodecRegistry;
+import com.github.filosganga.geogson.gson.GeoJsonBytesReader;
+import com.github.filosganga.geogson.gson.GeometryAdapterFactory;
+import com.github.filosganga.geogson.model.Feature;
 import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.LazyGeometry;
+import com.github.filosganga.geogson.model.LineString;
 import com.github.filosganga.geogson.model.Point;
+import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.GeometryFactory;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class CodecRegistryTest {
 
+    private final GeometryFactory geometryFactory = new GeometryFactory();
+
     @Test
     public void testAddCodec() throws Exception {
         CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecs = new CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>>();
@@ -20,4 +32,65 @@ public class CodecRegistryTest {
 
         assertThat(value, instanceOf(com.vividsolutions.jts.geom.Point.class));
     }
+
+    @Test
+    public void addCodecWithClassesShouldConvert() throws Exception {
+        CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecs = new CodecRegistry<>();
+        codecs.addCodec(com.vividsolutions.jts.geom.Point.class, Point.class, new PointCodec(geometryFactory));
+
+        Geometry<?> value = codecs.toGeometry(geometryFactory.createPoint(new Coordinate(12.6, 43.6)));
+
+        assertThat(value, equalTo((Geometry<?>) Point.from(12.6, 43.6)));
+    }
+
+    @Test
+    public void subclassShouldBeConvertedByTheCodecOfItsSuperclass() throws Exception {
+        CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecs = new CodecRegistry<>();
+        codecs.addCodec(new LineStringCodec(geometryFactory));
+
+        com.vividsolutions.jts.geom.LinearRing ring = geometryFactory.createLinearRing(new Coordinate[]{
+                new Coordinate(1, 1), new Coordinate(2, 1), new Coordinate(2, 2), new Coordinate(1, 1)});
+
+        Geometry<?> value = codecs.toGeometry(ring);
+
+        assertThat(value, instanceOf(LineString.class));
+    }
+
+    @Test
+    public void mostSpecificCodecShouldWin() throws Exception {
+        CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecs = new CodecRegistry<>();
+        codecs.addCodec(new LineStringCodec(geometryFactory));
+
+        com.vividsolutions.jts.geom.LinearRing ring = geometryFactory.createLinearRing(new Coordinate[]{
+                new Coordinate(1, 1), new Coordinate(2, 1), new Coordinate(2, 2), new Coordinate(1, 1)});
+        codecs.toGeometry(ring);
+
+        codecs.addCodec(new LinearRingCodec(geometryFactory));
+
+        Geometry<?> value = codecs.toGeometry(ring);
+
+        assertThat(value, instanceOf(com.github.filosganga.geogson.model.LinearRing.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingCodecShouldThrowIllegalArgumentException() throws Exception {
+        CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecs = new CodecRegistry<>();
+        codecs.addCodec(new PointCodec(geometryFactory));
+
+        codecs.fromGeometry(LineString.of(Point.from(1, 1), Point.from(2, 2)));
+    }
+
+    @Test
+    public void lazyGeometryShouldBeConvertedByTheCodecOfItsGeometry() throws Exception {
+        CodecRegistry<com.vividsolutions.jts.geom.Geometry, Geometry<?>> codecs = new CodecRegistry<>();
+        codecs.addCodec(new LineStringCodec(geometryFactory));
+        String json = "{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[1,1],[2,2]]}}";
+
+        Feature feature = new GeoJsonBytesReader(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), new GeometryAdapterFactory().withLazyGeometry())
+                .readFeature();
+        com.vividsolutions.jts.geom.Geometry value = codecs.fromGeometry(feature.geometry());
+
+        assertThat(feature.geometry(), instanceOf(LazyGeometry.class));
+        assertThat(value, equalTo(geometryFactory.createLineString(new Coordinate[]{new Coordinate(1, 1), new Coordinate(2, 2)})));
+    }
 }
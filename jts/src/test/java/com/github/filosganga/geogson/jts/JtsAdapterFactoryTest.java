@@ -2108,4 +2108,33 @@ public class JtsAdapterFactoryTest {
         assertThat(parsed.getPrecisionModel(), is(not(equalTo(source.getPrecisionModel()))));
         assertThat(parsed.getSRID(), is(not(equalTo(source.getSRID()))));
     }
+
+    @Test
+    public void shouldReadTheCoordinatesIntoPositionsSequences() {
+
+        LineString parsed = toTest.fromJson("{\"type\":\"LineString\",\"coordinates\":[[1,2,3],[4,5,6]]}", LineString.class);
+
+        assertThat(parsed.getCoordinateSequence(), instanceOf(PositionsCoordinateSequence.class));
+        assertThat(parsed.getCoordinateN(1).z, is(6.0));
+    }
+
+    @Test
+    public void shouldWriteTheAltitudes() {
+
+        LineString source = gf.createLineString(new Coordinate[]{new Coordinate(1, 2, 3), new Coordinate(4, 5)});
+
+        assertThat(toTest.toJson(source), is("{\"type\":\"LineString\",\"coordinates\":[[1.0,2.0,3.0],[4.0,5.0]]}"));
+    }
+
+    @Test
+    public void shouldWriteWithTheCoordinatePrecision() {
+        Gson rounding = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeometryAdapterFactory().withCoordinatePrecision(2))
+                .registerTypeAdapterFactory(new JtsAdapterFactory(gf))
+                .create();
+
+        Point source = gf.createPoint(new Coordinate(1.23456, 2.34567));
+
+        assertThat(rounding.toJson(source), is("{\"type\":\"Point\",\"coordinates\":[1.23,2.35]}"));
+    }
 }
@@ -0,0 +1,92 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.FeatureCollection;
+import com.github.filosganga.geogson.model.Geometry;
+import com.github.filosganga.geogson.model.GeometryCollection;
+import com.github.filosganga.geogson.model.LineString;
+import com.github.filosganga.geogson.model.LinearRing;
+import com.github.filosganga.geogson.model.MultiPoint;
+import com.github.filosganga.geogson.model.Point;
+import com.github.filosganga.geogson.model.Polygon;
+import com.google.gson.JsonPrimitive;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.PrecisionModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class JtsConverterTest {
+
+    private static final GeometryFactory gf = new GeometryFactory(new PrecisionModel(PrecisionModel.FLOATING), 4326);
+
+    private final JtsConverter toTest = new JtsConverter(gf).withParallelThreshold(2).withPool(new ForkJoinPool(4));
+
+    @Test
+    public void shouldConvertTheFeaturesInOrder() {
+        List<Feature> features = IntStream.range(0, 100)
+                .mapToObj(i -> Feature.builder().withGeometry(Point.from(i, i)).withId("f" + i).withProperty("n", new JsonPrimitive(i)).build())
+                .collect(Collectors.toList());
+        FeatureCollection collection = new FeatureCollection(features);
+
+        List<com.vividsolutions.jts.geom.Geometry> converted = toTest.toJts(collection);
+
+        assertThat(converted.size(), is(100));
+        assertThat(converted.get(42), equalTo(gf.createPoint(new Coordinate(42, 42))));
+        assertThat(converted.get(42).getUserData(), sameInstance(features.get(42)));
+        assertThat(toTest.fromJts(converted), equalTo(collection));
+    }
+
+    @Test
+    public void shouldConvertTheFeaturesWithoutGeometry() {
+        Feature feature = Feature.builder().withoutGeometry().withId("empty").build();
+
+        List<com.vividsolutions.jts.geom.Geometry> converted = toTest.toJts(FeatureCollection.of(feature));
+
+        assertThat(converted.get(0), nullValue());
+    }
+
+    @Test
+    public void shouldConvertBackTheFeaturesWithoutGeometry() {
+        List<Feature> features = IntStream.range(0, 10)
+                .mapToObj(i -> i % 3 == 0
+                        ? Feature.builder().withoutGeometry().build()
+                        : Feature.builder().withGeometry(Point.from(i, i)).withId("f" + i).build())
+                .collect(Collectors.toList());
+        FeatureCollection collection = new FeatureCollection(features);
+
+        FeatureCollection converted = toTest.fromJts(toTest.toJts(collection));
+
+        assertThat(converted, equalTo(collection));
+        assertThat(converted.features().get(3).geometry(), nullValue());
+    }
+
+    @Test
+    public void shouldConvertLargeGeometryCollections() {
+        List<Geometry<?>> members = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            members.add(Point.from(i, i));
+            members.add(LineString.of(Point.from(i, 0), Point.from(0, i + 1)));
+            members.add(MultiPoint.of(Point.from(i, 1), Point.from(1, i)));
+            members.add(Polygon.of(LinearRing.of(Point.from(0, 0), Point.from(i + 1, 0), Point.from(i + 1, i + 1), Point.from(0, 0))));
+        }
+        GeometryCollection collection = GeometryCollection.of(members);
+
+        com.vividsolutions.jts.geom.Geometry converted = toTest.toJts(collection);
+
+        assertThat(converted.getNumGeometries(), is(200));
+        assertThat(converted.getGeometryN(5), equalTo(gf.createLineString(new Coordinate[]{new Coordinate(1, 0), new Coordinate(0, 2)})));
+        assertThat(toTest.fromJts(converted), equalTo(collection));
+    }
+}
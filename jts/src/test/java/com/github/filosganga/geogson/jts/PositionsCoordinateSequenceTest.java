@@ -0,0 +1,74 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.model.LineString;
+import com.github.filosganga.geogson.model.Point;
+import com.github.filosganga.geogson.model.positions.LinearPositions;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.PrecisionModel;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PositionsCoordinateSequenceTest {
+
+    private static final GeometryFactory gf = new GeometryFactory(new PrecisionModel(PrecisionModel.FLOATING), 4326);
+
+    private final LinearPositions positions = LineString.of(Point.from(1, 2), Point.from(3, 4, 5), Point.from(6, 7)).positions();
+
+    @Test
+    public void shouldReadThePositionsCoordinates() {
+        CoordinateSequence sequence = new PositionsCoordinateSequence(positions);
+
+        assertThat(sequence.size(), is(3));
+        assertThat(sequence.getX(1), is(3.0));
+        assertThat(sequence.getY(1), is(4.0));
+        assertThat(sequence.getOrdinate(1, CoordinateSequence.Z), is(5.0));
+        assertThat(sequence.getCoordinate(0), equalTo(new Coordinate(1, 2)));
+        assertThat(Double.isNaN(sequence.getOrdinate(0, CoordinateSequence.Z)), is(true));
+    }
+
+    @Test
+    public void shouldReturnTheViewedPositions() {
+        assertThat(PositionsCoordinateSequence.toLinearPositions(new PositionsCoordinateSequence(positions)), sameInstance(positions));
+    }
+
+    @Test
+    public void shouldCopyOnWrite() {
+        PositionsCoordinateSequence sequence = new PositionsCoordinateSequence(positions);
+        CoordinateSequence clone = (CoordinateSequence) sequence.clone();
+
+        sequence.setOrdinate(0, CoordinateSequence.X, 10);
+
+        assertThat(sequence.getX(0), is(10.0));
+        assertThat(clone.getX(0), is(1.0));
+        assertThat(positions.lon(0), is(1.0));
+        assertThat(PositionsCoordinateSequence.toLinearPositions(sequence).lon(0), is(10.0));
+    }
+
+    @Test
+    public void shouldBuildThePositionsOfAnySequence() {
+        CoordinateSequence sequence = gf.getCoordinateSequenceFactory().create(
+                new Coordinate[]{new Coordinate(1, 2), new Coordinate(3, 4, 5), new Coordinate(6, 7)});
+
+        assertThat(PositionsCoordinateSequence.toLinearPositions(sequence), equalTo(positions));
+    }
+
+    @Test
+    public void shouldConvertTheLineStringsWithTheFactorySequences() {
+        GeometryFactory factory = new GeometryFactory(new PrecisionModel(), 4326, PositionsCoordinateSequenceFactory.instance());
+        LineStringCodec codec = new LineStringCodec(factory);
+        com.vividsolutions.jts.geom.LineString jts = factory.createLineString(
+                new Coordinate[]{new Coordinate(1, 2), new Coordinate(3, 4, 5), new Coordinate(6, 7)});
+
+        LineString converted = codec.toGeometry(jts);
+
+        assertThat(converted.positions(), equalTo(positions));
+        assertThat(codec.fromGeometry(converted), equalTo(jts));
+        assertThat(((com.vividsolutions.jts.geom.LineString) codec.fromGeometry(converted).reverse()).getCoordinateN(0), equalTo(new Coordinate(6, 7)));
+    }
+}
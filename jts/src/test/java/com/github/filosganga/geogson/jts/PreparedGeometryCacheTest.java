@@ -0,0 +1,111 @@
+package com.github.filosganga.geogson.jts;
+
+import com.github.filosganga.geogson.model.Feature;
+import com.github.filosganga.geogson.model.LinearRing;
+import com.github.filosganga.geogson.model.Point;
+import com.github.filosganga.geogson.model.Polygon;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PreparedGeometryCacheTest {
+
+    private static final GeometryFactory gf = new GeometryFactory();
+
+    private static Polygon square(double size) {
+        return Polygon.of(LinearRing.of(Point.from(0, 0), Point.from(size, 0), Point.from(size, size), Point.from(0, size), Point.from(0, 0)));
+    }
+
+    @Test
+    public void shouldReturnTheCachedPreparedGeometry() {
+        PreparedGeometryCache toTest = new PreparedGeometryCache(new JtsConverter(gf), 10, 1000);
+
+        PreparedGeometry prepared = toTest.get(square(10));
+
+        assertThat(prepared.contains(gf.createPoint(new Coordinate(5, 5))), is(true));
+        assertThat(toTest.get(square(10)), sameInstance(prepared));
+        assertThat(toTest.hitCount(), is(1L));
+        assertThat(toTest.missCount(), is(1L));
+        assertThat(toTest.weight(), is(5L));
+    }
+
+    @Test
+    public void shouldCacheTheFeaturesByTheirId() {
+        PreparedGeometryCache toTest = new PreparedGeometryCache(new JtsConverter(gf), 10, 1000);
+        Feature fence = Feature.builder().withGeometry(square(10)).withId("fence").build();
+
+        PreparedGeometry prepared = toTest.get(fence);
+
+        assertThat(toTest.get(Feature.builder().withGeometry(square(20)).withId("fence").build()), sameInstance(prepared));
+        toTest.invalidate("fence");
+        assertThat(toTest.size(), is(0L));
+        assertThat(toTest.get(fence), not(sameInstance(prepared)));
+    }
+
+    @Test
+    public void shouldPurgeTheInvalidatedEntriesUnderTheLimits() {
+        PreparedGeometryCache toTest = new PreparedGeometryCache(new JtsConverter(gf), 100, 100_000);
+        for (int i = 0; i < 10; i++) {
+            toTest.get(Feature.builder().withGeometry(square(i + 1)).withId("fence-" + i).build());
+        }
+
+        for (int night = 0; night < 1000; night++) {
+            String id = "fence-" + (night % 10);
+            toTest.invalidate(id);
+            toTest.get(Feature.builder().withGeometry(square(night + 1)).withId(id).build());
+        }
+
+        assertThat(toTest.size(), is(10L));
+        assertThat(toTest.evictionCount(), is(0L));
+        assertThat(toTest.clockSize(), lessThanOrEqualTo(21L));
+
+        toTest.invalidateAll();
+        assertThat(toTest.size(), is(0L));
+        assertThat(toTest.clockSize(), lessThanOrEqualTo(1L));
+    }
+
+    @Test
+    public void shouldEvictByNumberOfEntries() {
+        PreparedGeometryCache toTest = new PreparedGeometryCache(new JtsConverter(gf), 2, 1000);
+
+        PreparedGeometry first = toTest.get(square(1));
+        toTest.get(square(2));
+        // The first is referenced, the second is evicted
+        toTest.get(square(1));
+        toTest.get(square(3));
+
+        assertThat(toTest.size(), is(2L));
+        assertThat(toTest.evictionCount(), is(1L));
+        assertThat(toTest.get(square(1)), sameInstance(first));
+    }
+
+    @Test
+    public void shouldEvictByWeight() {
+        PreparedGeometryCache toTest = new PreparedGeometryCache(new JtsConverter(gf), 10, 12);
+
+        toTest.get(square(1));
+        toTest.get(square(2));
+        toTest.get(square(3));
+
+        assertThat(toTest.size(), is(2L));
+        assertThat(toTest.weight(), is(10L));
+        assertThat(toTest.evictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldNotCacheTheGeometriesHeavierThanTheMaxWeight() {
+        PreparedGeometryCache toTest = new PreparedGeometryCache(new JtsConverter(gf), 10, 4);
+
+        toTest.get(square(1));
+
+        assertThat(toTest.size(), is(0L));
+        assertThat(toTest.evictionCount(), is(0L));
+    }
+}